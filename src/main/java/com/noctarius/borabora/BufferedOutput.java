@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+abstract class BufferedOutput
+        implements StreamingOutput {
+
+    private final ByteBuffer buffer;
+
+    private boolean closed;
+
+    BufferedOutput(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer must not be null");
+        this.buffer = buffer;
+    }
+
+    @Override
+    public long write(long offset, byte value) {
+        ensureRemaining(1);
+        buffer.put(value);
+        return ++offset;
+    }
+
+    @Override
+    public long write(byte[] bytes, long offset, int length) {
+        Objects.requireNonNull(bytes, "bytes must not be null");
+        if (length > bytes.length) {
+            throw new NoSuchByteException(offset, "Length " + length + " larger than writable data");
+        }
+        if (length > buffer.capacity()) {
+            // Large payloads bypass the staging buffer and are written directly from the source
+            drain();
+            writeThrough(bytes, length);
+        } else {
+            ensureRemaining(length);
+            buffer.put(bytes, 0, length);
+        }
+        return length;
+    }
+
+    @Override
+    public long writeShort(long offset, short value) {
+        ensureRemaining(2);
+        buffer.putShort(value);
+        return offset + 2;
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        ensureRemaining(4);
+        buffer.putInt(value);
+        return offset + 4;
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        ensureRemaining(8);
+        buffer.putLong(value);
+        return offset + 8;
+    }
+
+    @Override
+    public void flush() {
+        ensureOpen();
+        drain();
+        flushSink();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            closed = true;
+            closeSink();
+        }
+    }
+
+    abstract void writeBuffer(ByteBuffer buffer);
+
+    abstract void writeThrough(byte[] bytes, int length);
+
+    abstract void flushSink();
+
+    abstract void closeSink();
+
+    private void ensureRemaining(int length) {
+        ensureOpen();
+        if (buffer.remaining() < length) {
+            drain();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Output already closed");
+        }
+    }
+
+    private void drain() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            writeBuffer(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+}
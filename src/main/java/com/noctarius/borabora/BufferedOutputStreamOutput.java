@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+final class BufferedOutputStreamOutput
+        extends BufferedOutput {
+
+    // Smallest buffer size able to stage any primitive value in one piece
+    private static final int MIN_BUFFER_SIZE = 8;
+
+    private final OutputStream out;
+
+    BufferedOutputStreamOutput(OutputStream out, int bufferSize) {
+        super(ByteBuffer.allocate(checkBufferSize(bufferSize)));
+        Objects.requireNonNull(out, "out must not be null");
+        this.out = out;
+    }
+
+    @Override
+    void writeBuffer(ByteBuffer buffer) {
+        try {
+            out.write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    void writeThrough(byte[] bytes, int length) {
+        try {
+            out.write(bytes, 0, length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    void flushSink() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    void closeSink() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static int checkBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be larger than 0");
+        }
+        return Math.max(bufferSize, MIN_BUFFER_SIZE);
+    }
+
+}
@@ -16,16 +16,20 @@
  */
 package com.noctarius.borabora;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 final class ByteArrayInput
         implements Input {
 
     private final byte[] bytes;
+    // Big-endian view, absolute gets are intrinsified to a single (unaligned) load
+    private final ByteBuffer view;
 
     ByteArrayInput(byte[] bytes) {
         Objects.requireNonNull(bytes, "bytes must not be null");
         this.bytes = bytes;
+        this.view = ByteBuffer.wrap(bytes);
     }
 
     @Override
@@ -62,9 +66,41 @@ final class ByteArrayInput
         return l;
     }
 
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        return view.getShort(checkedOffset(offset, 2));
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        return view.getInt(checkedOffset(offset, 4));
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        return view.getLong(checkedOffset(offset, 8));
+    }
+
     @Override
     public boolean offsetValid(long offset) {
         return offset < bytes.length;
     }
 
+    private int checkedOffset(long offset, int length) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ByteArrayInput can only handle offsets up to Integer.MAX_VALUE");
+        }
+        if (offset < 0 || offset + length > bytes.length) {
+            throw new NoSuchByteException(offset,
+                    "Offset " + offset + " outside of available data (length: " + bytes.length + ", identity: " + this + ")");
+        }
+        return (int) offset;
+    }
+
 }
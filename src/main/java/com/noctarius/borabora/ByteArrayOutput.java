@@ -16,16 +16,20 @@
  */
 package com.noctarius.borabora;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 final class ByteArrayOutput
         implements Output {
 
     private final byte[] bytes;
+    // Big-endian view, absolute puts are intrinsified to a single (unaligned) store
+    private final ByteBuffer view;
 
     ByteArrayOutput(byte[] bytes) {
         Objects.requireNonNull(bytes, "bytes must not be null");
         this.bytes = bytes;
+        this.view = ByteBuffer.wrap(bytes);
     }
 
     @Override
@@ -55,4 +59,32 @@ final class ByteArrayOutput
         return l;
     }
 
+    @Override
+    public long writeShort(long offset, short value) {
+        view.putShort(checkedOffset(offset, 2), value);
+        return offset + 2;
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        view.putInt(checkedOffset(offset, 4), value);
+        return offset + 4;
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        view.putLong(checkedOffset(offset, 8), value);
+        return offset + 8;
+    }
+
+    private int checkedOffset(long offset, int length) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ByteArrayOutput can only handle offsets up to Integer.MAX_VALUE");
+        }
+        if (offset < 0 || offset + length > bytes.length) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
+        }
+        return (int) offset;
+    }
+
 }
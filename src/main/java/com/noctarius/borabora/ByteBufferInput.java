@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+final class ByteBufferInput
+        implements Input {
+
+    // Private big-endian slice, the caller's buffer position, limit and order are never touched
+    private final ByteBuffer buffer;
+    private final int limit;
+
+    ByteBufferInput(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer must not be null");
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        this.limit = this.buffer.limit();
+    }
+
+    @Override
+    public byte read(long offset)
+            throws NoSuchByteException {
+
+        return buffer.get(checkedOffset(offset, 1));
+    }
+
+    @Override
+    public long read(byte[] bytes, long offset, int length)
+            throws NoSuchByteException {
+
+        Objects.requireNonNull(bytes, "bytes must not be null");
+        if (length > bytes.length) {
+            throw new NoSuchByteException(offset, "Length " + length + " larger than writable data");
+        }
+        int index = checkedOffset(offset, length);
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + index, bytes, 0, length);
+        } else {
+            // No absolute bulk get before Java 9, a private duplicate keeps concurrent reads safe
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(index);
+            duplicate.get(bytes, 0, length);
+        }
+        return length;
+    }
+
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        return buffer.getShort(checkedOffset(offset, 2));
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        return buffer.getInt(checkedOffset(offset, 4));
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        return buffer.getLong(checkedOffset(offset, 8));
+    }
+
+    @Override
+    public boolean offsetValid(long offset) {
+        return offset < limit;
+    }
+
+    private int checkedOffset(long offset, int length) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ByteBufferInput can only handle offsets up to Integer.MAX_VALUE");
+        }
+        if (offset < 0 || length < 0 || offset + length > limit) {
+            throw new NoSuchByteException(offset,
+                    "Offset " + offset + " outside of available data (length: " + limit + ", identity: " + this + ")");
+        }
+        return (int) offset;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+final class ByteBufferOutput
+        implements Output {
+
+    // Private big-endian slice, the caller's buffer position, limit and order are never touched
+    private final ByteBuffer buffer;
+    private final int limit;
+
+    ByteBufferOutput(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer must not be null");
+        if (buffer.isReadOnly()) {
+            throw new IllegalArgumentException("buffer must not be read-only");
+        }
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        this.limit = this.buffer.limit();
+    }
+
+    @Override
+    public long write(long offset, byte value) {
+        buffer.put(checkedOffset(offset, 1), value);
+        return ++offset;
+    }
+
+    @Override
+    public long write(byte[] array, long offset, int length) {
+        Objects.requireNonNull(array, "array must not be null");
+        if (length > array.length) {
+            throw new NoSuchByteException(offset, "Length " + length + " larger than readable data");
+        }
+        int index = checkedOffset(offset, length);
+        if (buffer.hasArray()) {
+            System.arraycopy(array, 0, buffer.array(), buffer.arrayOffset() + index, length);
+        } else {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(index);
+            duplicate.put(array, 0, length);
+        }
+        return length;
+    }
+
+    @Override
+    public long writeShort(long offset, short value) {
+        buffer.putShort(checkedOffset(offset, 2), value);
+        return offset + 2;
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        buffer.putInt(checkedOffset(offset, 4), value);
+        return offset + 4;
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        buffer.putLong(checkedOffset(offset, 8), value);
+        return offset + 8;
+    }
+
+    private int checkedOffset(long offset, int length) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ByteBufferOutput can only handle offsets up to Integer.MAX_VALUE");
+        }
+        if (offset < 0 || length < 0 || offset + length > limit) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of writable data");
+        }
+        return (int) offset;
+    }
+
+}
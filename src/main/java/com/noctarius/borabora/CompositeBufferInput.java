@@ -58,9 +58,40 @@ final class CompositeBufferInput
         return l;
     }
 
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 2);
+        return compositeBuffer.readShort(offset);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 4);
+        return compositeBuffer.readInt(offset);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 8);
+        return compositeBuffer.readLong(offset);
+    }
+
     @Override
     public boolean offsetValid(long offset) {
         return compositeBuffer.offsetValid(offset);
     }
 
+    private void checkOffset(long offset, int length) {
+        if (offset < 0 || offset + length > compositeBuffer.size()) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data (length: " //
+                    + compositeBuffer.size() + ", identity: " + this + ")");
+        }
+    }
+
 }
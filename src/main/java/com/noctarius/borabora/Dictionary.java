@@ -97,6 +97,50 @@ public interface Dictionary
      */
     Value get(Predicate<Value> predicate);
 
+    /**
+     * <p>Returns the value of the entry with a string key exactly matching the given <tt>key</tt>, otherwise
+     * <tt>null</tt>.</p>
+     * <p>Implementations are free to build an index of the keys on the first exact-match lookup, to answer
+     * this and further exact-match lookups in constant time. The default implementation is equivalent to
+     * <pre>get(Predicates.matchString(key))</pre>.</p>
+     *
+     * @param key the string key to match
+     * @return the value if the key is found, otherwise <tt>null</tt>
+     * @throws NullPointerException if key is null
+     */
+    default Value get(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+        return get(Predicates.matchString(key));
+    }
+
+    /**
+     * <p>Returns the value of the entry with an integer key exactly matching the given <tt>key</tt>,
+     * otherwise <tt>null</tt>.</p>
+     * <p>Implementations are free to build an index of the keys on the first exact-match lookup, to answer
+     * this and further exact-match lookups in constant time. The default implementation is equivalent to
+     * <pre>get(Predicates.matchInt(key))</pre>.</p>
+     *
+     * @param key the integer key to match
+     * @return the value if the key is found, otherwise <tt>null</tt>
+     */
+    default Value get(long key) {
+        return get(Predicates.matchInt(key));
+    }
+
+    /**
+     * <p>Returns the value of the entry with a floating point key exactly matching the given <tt>key</tt>,
+     * otherwise <tt>null</tt>.</p>
+     * <p>Implementations are free to build an index of the keys on the first exact-match lookup, to answer
+     * this and further exact-match lookups in constant time. The default implementation is equivalent to
+     * <pre>get(Predicates.matchFloat(key))</pre>.</p>
+     *
+     * @param key the floating point key to match
+     * @return the value if the key is found, otherwise <tt>null</tt>
+     */
+    default Value get(double key) {
+        return get(Predicates.matchFloat(key));
+    }
+
     /**
      * <p>Returns a lazy evaluating {@link Iterable} implementation to traverse all keys in the dictionary
      * represented by this instance. Also the {@link java.util.Iterator} returned from
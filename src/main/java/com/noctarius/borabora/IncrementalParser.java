@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.util.function.Consumer;
+
+/**
+ * The <tt>IncrementalParser</tt> interface defines a push-based parser for CBOR streams which
+ * are received in arbitrary chunks, for example from a network socket. Chunks are passed to
+ * {@link #feed(byte[], int, int)} as they arrive and every top-level item, as soon as it is
+ * completely available, is evaluated against the bound {@link Query}. Matching values are passed
+ * to the bound consumer, exactly as {@link Parser#read(Input, Query, Consumer)} would.
+ * <p>The query is evaluated against each complete top-level item in isolation, stream indexes
+ * therefore are relative to the single item and <tt>#</tt> as well as <tt>#0</tt> select the item
+ * itself. Bytes of a partially received trailing item are kept buffered and the item is evaluated
+ * once the missing bytes are fed. Values passed to the consumer stay valid after the call returns.</p>
+ * <p>Instances are retrieved using {@link Parser#newIncrementalParser(Query, Consumer)} and, in
+ * contrast to the Parser itself, are <b>not</b> thread-safe.</p>
+ *
+ * @see Parser#newIncrementalParser(Query, Consumer)
+ */
+public interface IncrementalParser {
+
+    /**
+     * Appends the given chunk of bytes to the stream and evaluates all top-level items which were
+     * completed by this chunk.
+     *
+     * @param bytes  the byte-array containing the chunk
+     * @param offset the offset of the chunk inside the byte-array
+     * @param length the number of bytes of the chunk
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    void feed(byte[] bytes, int offset, int length);
+
+    /**
+     * Appends the given byte-array to the stream and evaluates all top-level items which were
+     * completed by it. This method is a shorthand for <pre>feed(bytes, 0, bytes.length)</pre>.
+     *
+     * @param bytes the byte-array containing the chunk
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    default void feed(byte[] bytes) {
+        feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns the number of top-level items which were completely received and evaluated so far.
+     *
+     * @return the number of evaluated top-level items
+     */
+    long itemCount();
+
+    /**
+     * Returns the number of buffered bytes of a partially received trailing item.
+     *
+     * @return the number of buffered bytes
+     */
+    int bufferedBytes();
+
+    /**
+     * Signals the end of the stream. If a partially received trailing item is still buffered a
+     * {@link NoSuchByteException} is thrown.
+     *
+     * @throws NoSuchByteException if the stream ends inside a top-level item
+     */
+    void finish();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.util.Objects;
+
+final class IndexedInput
+        implements Input {
+
+    private final Input input;
+    private final StreamIndex streamIndex;
+
+    IndexedInput(Input input, StreamIndex streamIndex) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(streamIndex, "streamIndex must not be null");
+        this.input = input;
+        this.streamIndex = streamIndex;
+    }
+
+    @Override
+    public byte read(long offset)
+            throws NoSuchByteException {
+
+        return input.read(offset);
+    }
+
+    @Override
+    public long read(byte[] bytes, long offset, int length)
+            throws NoSuchByteException {
+
+        return input.read(bytes, offset, length);
+    }
+
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        return input.readShort(offset);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        return input.readInt(offset);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        return input.readLong(offset);
+    }
+
+    @Override
+    public boolean offsetValid(long offset) {
+        return input.offsetValid(offset);
+    }
+
+    @Override
+    public StreamIndex streamIndex() {
+        return streamIndex;
+    }
+
+}
@@ -18,6 +18,10 @@ package com.noctarius.borabora;
 
 import com.noctarius.borabora.spi.io.CompositeBuffer;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
 /**
  * An <tt>Input</tt> instance represents a source for readable data. Input implementations are
  * stateless and thread-safe by design. They also have to support random access based on offsets.
@@ -73,6 +77,87 @@ public interface Input {
      */
     boolean offsetValid(long offset);
 
+    /**
+     * Reads a big-endian 16 bit value at the given <tt>offset</tt> from the underlying stream. If
+     * any of the two bytes is outside the readable area a {@link NoSuchByteException} is thrown.
+     * The default implementation assembles the value from single byte reads, implementations are
+     * encouraged to override it with a single memory access.
+     *
+     * @param offset the offset to read from
+     * @return the 16 bit value at the given offset
+     * @throws NoSuchByteException if offset or offset+1 is outside the readable area
+     */
+    default short readShort(long offset)
+            throws NoSuchByteException {
+
+        int b1 = read(offset) & 0xff;
+        int b2 = read(offset + 1) & 0xff;
+        return (short) ((b1 << 8) | b2);
+    }
+
+    /**
+     * Reads a big-endian 32 bit value at the given <tt>offset</tt> from the underlying stream. If
+     * any of the four bytes is outside the readable area a {@link NoSuchByteException} is thrown.
+     * The default implementation assembles the value from single byte reads, implementations are
+     * encouraged to override it with a single memory access.
+     *
+     * @param offset the offset to read from
+     * @return the 32 bit value at the given offset
+     * @throws NoSuchByteException if offset to offset+3 is outside the readable area
+     */
+    default int readInt(long offset)
+            throws NoSuchByteException {
+
+        int b1 = read(offset) & 0xff;
+        int b2 = read(offset + 1) & 0xff;
+        int b3 = read(offset + 2) & 0xff;
+        int b4 = read(offset + 3) & 0xff;
+        return (b1 << 24) | (b2 << 16) | (b3 << 8) | b4;
+    }
+
+    /**
+     * Reads a big-endian 64 bit value at the given <tt>offset</tt> from the underlying stream. If
+     * any of the eight bytes is outside the readable area a {@link NoSuchByteException} is thrown.
+     * The default implementation assembles the value from single byte reads, implementations are
+     * encouraged to override it with a single memory access.
+     *
+     * @param offset the offset to read from
+     * @return the 64 bit value at the given offset
+     * @throws NoSuchByteException if offset to offset+7 is outside the readable area
+     */
+    default long readLong(long offset)
+            throws NoSuchByteException {
+
+        long high = readInt(offset) & 0xffffffffL;
+        long low = readInt(offset + 4) & 0xffffffffL;
+        return (high << 32) | low;
+    }
+
+    /**
+     * Returns the {@link StreamIndex} bound to this input or <tt>null</tt> if no index is bound. The
+     * default implementation returns <tt>null</tt>, an index is bound using
+     * {@link #withStreamIndex(Input, StreamIndex)}.
+     *
+     * @return the bound stream index or null
+     */
+    default StreamIndex streamIndex() {
+        return null;
+    }
+
+    /**
+     * Returns an <tt>Input</tt> instance reading from the given <tt>input</tt> and bound to the given
+     * <tt>streamIndex</tt>. Stream index queries (<tt>#n</tt>) against the returned instance resolve the
+     * offset of the requested top-level item from the index, instead of skipping all preceding items.
+     *
+     * @param input       the input to read from
+     * @param streamIndex the index of the input's top-level items
+     * @return the new input instance bound to the given stream index
+     * @see StreamIndex
+     */
+    static Input withStreamIndex(Input input, StreamIndex streamIndex) {
+        return new IndexedInput(input, streamIndex);
+    }
+
     /**
      * Returns an <tt>Input</tt> instance backed by the provided <tt>bytes</tt> byte-array. The instance
      * returned <b>does not</b> handle offsets larger than {@link Integer#MAX_VALUE} due to the limitation
@@ -102,11 +187,11 @@ public interface Input {
 
     /**
      * Returns an <tt>Input</tt> instance backed by the provided <tt>compositeBuffer</tt>. The
-     * {@link CompositeBuffer} is implemented as a linked list of byte-array's called chunks. The buffer
-     * is automatically growing and prevents recreation and copying of internal byte-arrays. This makes
-     * it fast for writing, however the single linked list design makes random access read access slow.
-     * That said, a CompositeBuffer is good for writing if the resulting stream size is unknown but
-     * should only be used for reading in rare cases.
+     * {@link CompositeBuffer} is implemented as an indexed directory of byte-array's called chunks. The
+     * buffer is automatically growing and prevents recreation and copying of internal byte-arrays. This
+     * makes it fast for writing, while random access reads resolve the chunk directly from the offset in
+     * constant time. That said, a CompositeBuffer is a good fit if the resulting stream size is unknown
+     * and the data is queried in place afterwards.
      *
      * @param compositeBuffer the CompositeBuffer to read from
      * @return the new input instance backed by the given compositeBuffer
@@ -116,4 +201,46 @@ public interface Input {
         return new CompositeBufferInput(compositeBuffer);
     }
 
+    /**
+     * Returns an <tt>Input</tt> instance backed by the provided heap or direct <tt>buffer</tt>. The
+     * readable area is the buffer's content between its position and limit at the time of the call and
+     * offset <tt>0</tt> refers to the current position. The data is not copied and all reads use
+     * absolute access, therefore the buffer's position, limit and byte order are never changed.
+     *
+     * @param buffer the buffer to read from
+     * @return the new input instance backed by the given buffer
+     */
+    static Input fromByteBuffer(ByteBuffer buffer) {
+        return new ByteBufferInput(buffer);
+    }
+
+    /**
+     * Returns a {@link MappedInput} instance backed by the memory-mapped file at the given <tt>path</tt>.
+     * The file is mapped read-only in windows of up to 1 GB and supports 64 bit offsets, therefore
+     * files of many gigabytes can be queried without copying them onto the heap. The file itself is
+     * not kept open, however the mapped memory is held until {@link MappedInput#close()} is called.
+     *
+     * @param path the path of the file to map
+     * @return the new input instance backed by the mapped file
+     * @throws IllegalStateException if the file cannot be opened or mapped
+     */
+    static MappedInput fromFile(Path path) {
+        return MappedFileInput.fromFile(path);
+    }
+
+    /**
+     * Returns a {@link MappedInput} instance backed by the memory-mapped content of the given
+     * <tt>fileChannel</tt>. The channel is mapped read-only in windows of up to 1 GB and supports
+     * 64 bit offsets. The channel is not closed by this input and can be closed right after this call,
+     * the mapped memory is held until {@link MappedInput#close()} is called. Data appended to the file
+     * after the call is not visible to the returned instance.
+     *
+     * @param fileChannel the file channel to map
+     * @return the new input instance backed by the mapped file
+     * @throws IllegalStateException if the channel cannot be mapped
+     */
+    static MappedInput fromFileChannel(FileChannel fileChannel) {
+        return new MappedFileInput(fileChannel, MappedFileInput.DEFAULT_WINDOW_SHIFT);
+    }
+
 }
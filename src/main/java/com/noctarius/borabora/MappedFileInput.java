@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+final class MappedFileInput
+        implements MappedInput {
+
+    // 1 GB windows, the largest power of two a single MappedByteBuffer can span
+    static final int DEFAULT_WINDOW_SHIFT = 30;
+
+    private static final Method INVOKE_CLEANER = findInvokeCleaner();
+
+    private final long size;
+    private final int windowShift;
+    private final long windowMask;
+
+    private MappedByteBuffer[] windows;
+
+    MappedFileInput(FileChannel channel, int windowShift) {
+        Objects.requireNonNull(channel, "channel must not be null");
+        if (windowShift < 3 || windowShift > DEFAULT_WINDOW_SHIFT) {
+            throw new IllegalArgumentException("windowShift must be between 3 and " + DEFAULT_WINDOW_SHIFT);
+        }
+        try {
+            this.size = channel.size();
+            this.windowShift = windowShift;
+            this.windowMask = (1L << windowShift) - 1;
+            this.windows = map(channel, size, windowShift);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public byte read(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 1);
+        return window(offset).get((int) (offset & windowMask));
+    }
+
+    @Override
+    public long read(byte[] bytes, long offset, int length)
+            throws NoSuchByteException {
+
+        Objects.requireNonNull(bytes, "bytes must not be null");
+        if (length > bytes.length) {
+            throw new NoSuchByteException(offset, "Length " + length + " larger than writable data");
+        }
+        checkOffset(offset, length);
+
+        int position = 0;
+        while (position < length) {
+            long current = offset + position;
+            ByteBuffer window = window(current).duplicate();
+            int windowOffset = (int) (current & windowMask);
+            int l = Math.min(length - position, window.limit() - windowOffset);
+            window.position(windowOffset);
+            window.get(bytes, position, l);
+            position += l;
+        }
+        return length;
+    }
+
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 2);
+        int windowOffset = (int) (offset & windowMask);
+        MappedByteBuffer window = window(offset);
+        if (windowOffset + 2 > window.limit()) {
+            return MappedInput.super.readShort(offset);
+        }
+        return window.getShort(windowOffset);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 4);
+        int windowOffset = (int) (offset & windowMask);
+        MappedByteBuffer window = window(offset);
+        if (windowOffset + 4 > window.limit()) {
+            return MappedInput.super.readInt(offset);
+        }
+        return window.getInt(windowOffset);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 8);
+        int windowOffset = (int) (offset & windowMask);
+        MappedByteBuffer window = window(offset);
+        if (windowOffset + 8 > window.limit()) {
+            return MappedInput.super.readLong(offset);
+        }
+        return window.getLong(windowOffset);
+    }
+
+    @Override
+    public boolean offsetValid(long offset) {
+        return offset < size;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        MappedByteBuffer[] windows = this.windows;
+        if (windows == null) {
+            return;
+        }
+        this.windows = null;
+        for (MappedByteBuffer window : windows) {
+            unmap(window);
+        }
+    }
+
+    private MappedByteBuffer window(long offset) {
+        MappedByteBuffer[] windows = this.windows;
+        if (windows == null) {
+            throw new IllegalStateException("MappedInput already closed");
+        }
+        return windows[(int) (offset >>> windowShift)];
+    }
+
+    private void checkOffset(long offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new NoSuchByteException(offset,
+                    "Offset " + offset + " outside of available data (length: " + size + ", identity: " + this + ")");
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, long size, int windowShift)
+            throws IOException {
+
+        long windowSize = 1L << windowShift;
+        int windowCount = (int) ((size + windowSize - 1) >>> windowShift);
+        MappedByteBuffer[] windows = new MappedByteBuffer[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            long position = (long) i << windowShift;
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+        }
+        return windows;
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invoke(UnsafeUtils.getUnsafe(), buffer);
+            } else {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Exception e) {
+            // Unmapping is best effort, otherwise the mapping is released on garbage collection
+        }
+    }
+
+    private static Method findInvokeCleaner() {
+        try {
+            // Java 9 and later
+            return UnsafeUtils.getUnsafe().getClass().getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    static MappedInput fromFile(Path path) {
+        Objects.requireNonNull(path, "path must not be null");
+        // Mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedFileInput(channel, DEFAULT_WINDOW_SHIFT);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
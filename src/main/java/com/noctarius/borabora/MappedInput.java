@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.io.Closeable;
+
+/**
+ * A <tt>MappedInput</tt> is an {@link Input} backed by a memory-mapped file. The file is
+ * mapped in windows which are addressed by the full 64 bit offset, so files larger than
+ * {@link Integer#MAX_VALUE} bytes can be read without copying them onto the heap.
+ * <p>Mapped memory is held until {@link #close()} is called, which unmaps all windows.
+ * Afterwards any read operation throws an {@link IllegalStateException}. Closing a
+ * <tt>MappedInput</tt> while other threads are still reading from it is not supported.</p>
+ *
+ * @see Input#fromFile(java.nio.file.Path)
+ * @see Input#fromFileChannel(java.nio.channels.FileChannel)
+ */
+public interface MappedInput
+        extends Input, Closeable {
+
+    /**
+     * Returns the number of bytes of the mapped file.
+     *
+     * @return the size of the mapped file
+     */
+    long size();
+
+    /**
+     * Unmaps all mapped windows of the file. Calling this method more than once has no
+     * further effect.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.impl.mapper.ObjectMapperImpl;
+
+/**
+ * The <tt>ObjectMapper</tt> interface writes Java objects into CBOR streams and reads them
+ * back. Besides the scalar types supported by {@link ValueBuilder}, it maps arrays,
+ * {@link java.util.Collection}s and {@link java.util.Map}s to sequences and dictionaries,
+ * enums to their names and plain Java objects to dictionaries with one entry per property.
+ * <p>Properties of plain Java objects are their non-static, non-transient fields, including
+ * inherited ones, and are read using the class' no-argument constructor. Records (Java 16+)
+ * are mapped by their components and are read using the canonical constructor. Property
+ * names and strings are written as definite text strings.</p>
+ * <p>Codecs are generated once per class, based on {@link java.lang.invoke.MethodHandle}s,
+ * and are cached by the mapper instance. Reading walks the dictionaries and sequences of the
+ * given {@link Value} in place and does not build intermediate object trees. Reading from an
+ * {@link Input} uses {@link Parser#decode(Input, long, Class)} to decode directly from the
+ * stream. Unknown properties are ignored while reading, missing properties keep their default
+ * value.</p>
+ * <p>ObjectMapper instances are thread-safe and should be reused to benefit from the cached
+ * codecs.</p>
+ * <pre>
+ * ObjectMapper objectMapper = ObjectMapper.newObjectMapper();
+ * objectMapper.write( person, output );
+ * Person person = objectMapper.read( Input.fromByteArray( bytes ), Person.class );
+ * </pre>
+ */
+public interface ObjectMapper {
+
+    /**
+     * Writes the given <tt>value</tt> into the given <tt>builder</tt> and returns the builder.
+     * This method can be used to write objects as part of a larger graph, for example as
+     * elements of a sequence.
+     *
+     * @param value   the value to write, might be null
+     * @param builder the builder to write to
+     * @param <B>     the builder's type
+     * @return the given builder
+     * @throws IllegalArgumentException if the value's class cannot be mapped
+     */
+    <B> B write(Object value, ValueBuilder<B> builder);
+
+    /**
+     * Writes the given <tt>value</tt> as a new stream into the given <tt>output</tt>, using
+     * a new {@link GraphBuilder} of the configured {@link Writer}.
+     *
+     * @param value  the value to write, might be null
+     * @param output the output to write to
+     * @throws IllegalArgumentException if the value's class cannot be mapped
+     */
+    void write(Object value, Output output);
+
+    /**
+     * Reads an instance of the given <tt>type</tt> from the given <tt>value</tt>. If the
+     * value represents <tt>null</tt>, <tt>null</tt> is returned.
+     *
+     * @param value the value to read from
+     * @param type  the type to create
+     * @param <T>   the type to create
+     * @return the created instance or null
+     * @throws WrongTypeException       if the value doesn't match the expected data item
+     * @throws IllegalArgumentException if the type cannot be mapped
+     */
+    <T> T read(Value value, Class<T> type);
+
+    /**
+     * Reads an instance of the given <tt>type</tt> from the first data item of the given
+     * <tt>input</tt>, using the configured {@link Parser}. This method is a shorthand for
+     * <pre>read( input, 0, type )</pre> and the result is equivalent.
+     *
+     * @param input the input to read from
+     * @param type  the type to create
+     * @param <T>   the type to create
+     * @return the created instance or null
+     * @throws WrongTypeException       if the value doesn't match the expected data item
+     * @throws IllegalArgumentException if the type cannot be mapped
+     */
+    <T> T read(Input input, Class<T> type);
+
+    /**
+     * Reads an instance of the given <tt>type</tt> from the data item at the given <tt>offset</tt>
+     * of the given <tt>input</tt>, decoding directly from the stream using
+     * {@link Parser#decode(Input, long, Class)} of the configured {@link Parser}.
+     *
+     * @param input  the input to read from
+     * @param offset the offset of the data item inside the stream
+     * @param type   the type to create
+     * @param <T>    the type to create
+     * @return the created instance or null
+     * @throws WrongTypeException       if the data item doesn't match the expected type
+     * @throws IllegalArgumentException if the type cannot be mapped
+     */
+    <T> T read(Input input, long offset, Class<T> type);
+
+    /**
+     * Creates a new <tt>ObjectMapper</tt> instance using the given <tt>writer</tt> and
+     * <tt>parser</tt> for stream based operations.
+     *
+     * @param writer the writer to create graph builders
+     * @param parser the parser to read input streams
+     * @return a new ObjectMapper instance
+     */
+    static ObjectMapper newObjectMapper(Writer writer, Parser parser) {
+        return new ObjectMapperImpl(writer, parser);
+    }
+
+    /**
+     * Creates a new <tt>ObjectMapper</tt> instance with a default {@link Writer} and {@link Parser}.
+     *
+     * @return a new ObjectMapper instance
+     */
+    static ObjectMapper newObjectMapper() {
+        return newObjectMapper(Writer.newWriter(), Parser.newParser());
+    }
+
+}
@@ -20,6 +20,8 @@ import com.noctarius.borabora.builder.encoder.GraphBuilder;
 import com.noctarius.borabora.spi.io.CompositeBuffer;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * An <tt>Output</tt> instance represents a target sink for writeable data. Output implementations
@@ -67,13 +69,56 @@ public interface Output {
      */
     long write(byte[] array, long offset, int length);
 
+    /**
+     * Writes a big-endian 16 bit value to the given <tt>offset</tt> and the underlying sink. If
+     * any of the two bytes is outside the writable area a {@link NoSuchByteException} is thrown.
+     * The default implementation writes the value byte by byte, implementations are encouraged
+     * to override it with a single memory access.
+     *
+     * @param offset the offset to write to
+     * @param value  the value to write
+     * @return the new offset after writing
+     */
+    default long writeShort(long offset, short value) {
+        offset = write(offset, (byte) (value >> 8));
+        return write(offset, (byte) value);
+    }
+
+    /**
+     * Writes a big-endian 32 bit value to the given <tt>offset</tt> and the underlying sink. If
+     * any of the four bytes is outside the writable area a {@link NoSuchByteException} is thrown.
+     * The default implementation writes the value byte by byte, implementations are encouraged
+     * to override it with a single memory access.
+     *
+     * @param offset the offset to write to
+     * @param value  the value to write
+     * @return the new offset after writing
+     */
+    default long writeInt(long offset, int value) {
+        offset = writeShort(offset, (short) (value >> 16));
+        return writeShort(offset, (short) value);
+    }
+
+    /**
+     * Writes a big-endian 64 bit value to the given <tt>offset</tt> and the underlying sink. If
+     * any of the eight bytes is outside the writable area a {@link NoSuchByteException} is thrown.
+     * The default implementation writes the value byte by byte, implementations are encouraged
+     * to override it with a single memory access.
+     *
+     * @param offset the offset to write to
+     * @param value  the value to write
+     * @return the new offset after writing
+     */
+    default long writeLong(long offset, long value) {
+        offset = writeInt(offset, (int) (value >> 32));
+        return writeInt(offset, (int) value);
+    }
+
     /**
      * Returns an <tt>Output</tt> instance backed by the provided <tt>compositeBuffer</tt>. The
-     * {@link CompositeBuffer} is implemented as a linked list of byte-array's called chunks. The buffer
-     * is automatically growing and prevents recreation and copying of internal byte-arrays. This makes
-     * it fast for writing, however the single linked list design makes random access read access slow.
-     * That said, a CompositeBuffer is good for writing if the resulting stream size is unknown but
-     * should only be used for reading in rare cases.
+     * {@link CompositeBuffer} is implemented as an indexed directory of byte-array's called chunks. The
+     * buffer is automatically growing and prevents recreation and copying of internal byte-arrays. This
+     * makes it fast for writing if the resulting stream size is unknown.
      *
      * @param compositeBuffer the CompositeBuffer to write to
      * @return the new output instance backed by the given compositeBuffer
@@ -95,6 +140,21 @@ public interface Output {
         return new ByteArrayOutput(bytes);
     }
 
+    /**
+     * Returns an <tt>Output</tt> instance backed by the provided heap or direct <tt>buffer</tt>. The
+     * writable area is the buffer's content between its position and limit at the time of the call and
+     * offset <tt>0</tt> refers to the current position. All writes use absolute access, therefore the
+     * buffer's position, limit and byte order are never changed and have to be advanced by the caller
+     * if necessary.
+     *
+     * @param buffer the buffer to write to
+     * @return the new output instance backed by the given buffer
+     * @throws IllegalArgumentException if the buffer is read-only
+     */
+    static Output toByteBuffer(ByteBuffer buffer) {
+        return new ByteBufferOutput(buffer);
+    }
+
     /**
      * Returns an <tt>Output</tt> instance backed by the provided <tt>address</tt> which represents a
      * native memory address and the given <tt>size</tt> for the number of available bytes. The instance
@@ -123,4 +183,39 @@ public interface Output {
         return new OutputStreamOutput(out);
     }
 
+    /**
+     * Returns a {@link StreamingOutput} instance backed by the provided <tt>out</tt> {@link OutputStream}
+     * instance. Written bytes are staged in a reusable heap buffer of <tt>bufferSize</tt> bytes and
+     * transferred to the stream whenever the buffer is full, payloads larger than the buffer are written
+     * to the stream directly. Pending bytes are only written after {@link StreamingOutput#flush()} or
+     * {@link StreamingOutput#close()} are called. This is the recommended sink for streaming generated
+     * data using {@link Writer#newGraphBuilder(Output)}.
+     *
+     * @param out        the output stream instance to write to
+     * @param bufferSize the size of the staging buffer in bytes, sizes below 8 bytes are rounded up
+     * @return the new streaming output instance backed by the given output stream
+     * @throws IllegalArgumentException if bufferSize is not positive
+     */
+    static StreamingOutput toOutputStream(OutputStream out, int bufferSize) {
+        return new BufferedOutputStreamOutput(out, bufferSize);
+    }
+
+    /**
+     * Returns a {@link StreamingOutput} instance backed by the provided <tt>channel</tt>
+     * {@link WritableByteChannel} instance. Written bytes are staged in a reusable buffer of
+     * <tt>bufferSize</tt> bytes, which is allocated off-heap if <tt>directBuffer</tt> is <tt>true</tt>,
+     * and transferred to the channel whenever the buffer is full. Payloads larger than the buffer are
+     * written to the channel directly. Pending bytes are only written after
+     * {@link StreamingOutput#flush()} or {@link StreamingOutput#close()} are called.
+     *
+     * @param channel      the channel instance to write to
+     * @param bufferSize   the size of the staging buffer in bytes, sizes below 8 bytes are rounded up
+     * @param directBuffer true to allocate the staging buffer as a direct buffer, otherwise false
+     * @return the new streaming output instance backed by the given channel
+     * @throws IllegalArgumentException if bufferSize is not positive
+     */
+    static StreamingOutput toChannel(WritableByteChannel channel, int bufferSize, boolean directBuffer) {
+        return new WritableByteChannelOutput(channel, bufferSize, directBuffer);
+    }
+
 }
@@ -24,6 +24,7 @@ final class OutputStreamOutput
         implements Output {
 
     private final OutputStream out;
+    private final byte[] scratch = new byte[8];
 
     OutputStreamOutput(OutputStream out) {
         Objects.requireNonNull(out, "out must not be null");
@@ -54,4 +55,38 @@ final class OutputStreamOutput
         }
     }
 
+    @Override
+    public long writeShort(long offset, short value) {
+        scratch[0] = (byte) (value >> 8);
+        scratch[1] = (byte) value;
+        return writeScratch(offset, 2);
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        scratch[0] = (byte) (value >> 24);
+        scratch[1] = (byte) (value >> 16);
+        scratch[2] = (byte) (value >> 8);
+        scratch[3] = (byte) value;
+        return writeScratch(offset, 4);
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            scratch[i] = (byte) value;
+            value >>>= 8;
+        }
+        return writeScratch(offset, 8);
+    }
+
+    private long writeScratch(long offset, int length) {
+        try {
+            out.write(scratch, 0, length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return offset + length;
+    }
+
 }
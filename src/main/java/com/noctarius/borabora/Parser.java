@@ -21,6 +21,8 @@ import com.noctarius.borabora.builder.query.QueryBuilder;
 import com.noctarius.borabora.builder.query.StreamQueryBuilder;
 import com.noctarius.borabora.impl.ParserBuilderImpl;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 /**
@@ -83,6 +85,45 @@ public interface Parser {
      */
     Value read(Input input, String query);
 
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>long</tt> using {@link Value#longValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive long
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    long readLong(Input input, Query query);
+
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>double</tt> using {@link Value#doubleValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive double
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    double readDouble(Input input, Query query);
+
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>boolean</tt> using {@link Value#booleanValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive boolean
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    boolean readBoolean(Input input, Query query);
+
     /**
      * <p>Reads a {@link Value} from the given {@link Input} instance, representing the
      * the CBOR encoded input stream and returns the {@link Value} instance at the given offset.
@@ -98,6 +139,26 @@ public interface Parser {
      */
     Value read(Input input, long offset);
 
+    /**
+     * <p>Decodes the data item at the given offset of the given {@link Input} directly into an
+     * instance of the given <tt>type</tt>, without creating intermediate {@link Value} instances.
+     * Dictionaries are walked once, keys are matched against the property names on their raw bytes
+     * and primitive properties are assigned without boxing. Supported types and mapping rules are
+     * the same as for the {@link ObjectMapper}. If the data item represents <tt>null</tt>,
+     * <tt>null</tt> is returned.</p>
+     * <p>The method is completely thread-safe and the same parser instance can be used concurrently
+     * from multiple threads. Codecs are generated once per type and cached by the parser instance.</p>
+     *
+     * @param input  the input stream instance to parse
+     * @param offset the offset of the data item inside the CBOR stream
+     * @param type   the type to create
+     * @param <T>    the type to create
+     * @return the created instance or null
+     * @throws WrongTypeException       if the data item doesn't match the expected type
+     * @throws IllegalArgumentException if the type cannot be mapped
+     */
+    <T> T decode(Input input, long offset, Class<T> type);
+
     /**
      * <p>Searches and reads {@link Value}s from the given {@link Input} instance, representing the
      * the CBOR encoded input stream, and tries to search and match elements against the given
@@ -137,6 +198,48 @@ public interface Parser {
      */
     void read(Input input, String query, Consumer<Value> consumer);
 
+    /**
+     * <p>Searches and reads {@link Value}s from the given {@link Input} instance, representing a
+     * multi-stream CBOR input (a sequence of concatenated top-level items), and evaluates the given
+     * multi-stream {@link Query} (<tt>$</tt>) in parallel using the {@link ForkJoinPool#commonPool()}.
+     * This method is a shorthand for
+     * <pre>readParallel(input, query, consumer, ordered, ForkJoinPool.commonPool())</pre>.</p>
+     *
+     * @param input    the input stream instance to parse
+     * @param query    the multi-stream query instance to execute against the input stream
+     * @param consumer the consumer to receive all matching values
+     * @param ordered  true to receive the values in stream order, otherwise false
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     * @see #readParallel(Input, Query, Consumer, boolean, Executor)
+     */
+    void readParallel(Input input, Query query, Consumer<Value> consumer, boolean ordered);
+
+    /**
+     * <p>Searches and reads {@link Value}s from the given {@link Input} instance, representing a
+     * multi-stream CBOR input (a sequence of concatenated top-level items), and evaluates the given
+     * multi-stream {@link Query} (<tt>$</tt>) in parallel using the given <tt>executor</tt>.</p>
+     * <p>The calling thread splits the stream into segments at top-level item boundaries and submits
+     * each segment for evaluation as soon as its end is found. Each segment is evaluated with its own
+     * query context. If <tt>ordered</tt> is <tt>true</tt>, matching values are passed to the
+     * <tt>consumer</tt> in stream order from the calling thread, otherwise values are passed as soon as
+     * they are found, possibly from executor threads. Calls to the consumer are never concurrent.
+     * The method returns after all segments have been evaluated.</p>
+     * <p>Queries which do not select all top-level items of the stream are evaluated sequentially on
+     * the calling thread, exactly as {@link #read(Input, Query, Consumer)} would.</p>
+     * <p>The method is completely thread-safe and the same parser instance can be used concurrently
+     * from multiple threads.</p>
+     *
+     * @param input    the input stream instance to parse
+     * @param query    the multi-stream query instance to execute against the input stream
+     * @param consumer the consumer to receive all matching values
+     * @param ordered  true to receive the values in stream order, otherwise false
+     * @param executor the executor to evaluate the segments on
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    void readParallel(Input input, Query query, Consumer<Value> consumer, boolean ordered, Executor executor);
+
     /**
      * <p>Searches and extracts a {@link Value} from the given {@link Input} instance, representing the
      * the CBOR encoded input stream, and tries to search and match a single element against the given
@@ -191,6 +294,41 @@ public interface Parser {
      */
     byte[] extract(Input input, long offset);
 
+    /**
+     * <p>Returns a new {@link IncrementalParser} instance which evaluates the given {@link Query}
+     * against every top-level item of a CBOR stream that is pushed to it in arbitrary chunks. Each
+     * matching value is passed to the <tt>consumer</tt> as soon as its top-level item is completely
+     * available.</p>
+     * <p>The returned instance is <b>not</b> thread-safe and should only be used by a single
+     * thread, whereas this parser can still be used concurrently.</p>
+     *
+     * @param query    the query instance to execute against each top-level item
+     * @param consumer the consumer to receive all matching values
+     * @return the new IncrementalParser instance bound to the given query and consumer
+     */
+    IncrementalParser newIncrementalParser(Query query, Consumer<Value> consumer);
+
+    /**
+     * <p>Returns a new {@link QueryBatch} instance which evaluates all given {@link Query} instances
+     * against the same input in a single walk, sharing the evaluation of common query prefixes.</p>
+     * <p>The returned instance is thread-safe and can be used concurrently by multiple threads.</p>
+     *
+     * @param queries the query instances to evaluate together
+     * @return the new QueryBatch instance for the given queries
+     * @throws NullPointerException if any query instance is null
+     */
+    QueryBatch newQueryBatch(Query... queries);
+
+    /**
+     * <p>Returns a new {@link QueryReader} instance which evaluates queries using this parser's
+     * configuration, but reuses its query context and value instances between evaluations.</p>
+     * <p>The returned instance is <b>not</b> thread-safe and should only be used by a single
+     * thread, whereas this parser can still be used concurrently.</p>
+     *
+     * @return the new QueryReader instance
+     */
+    QueryReader newReader();
+
     /**
      * Parses and prepares a given query string into a {@link Query} instance. The returned query
      * instance is fully thread-safe and stateless and can be stored and shared by multiple threads.
@@ -213,6 +351,15 @@ public interface Parser {
      */
     StreamQueryBuilder newQueryBuilder();
 
+    /**
+     * Returns the {@link QueryCacheStatistics} of the prepared query cache of this parser instance.
+     * If no query cache was configured using {@link ParserBuilder#withQueryCache(int)}, all counters
+     * of the returned instance stay at <tt>0</tt>.
+     *
+     * @return the query cache statistics of this parser
+     */
+    QueryCacheStatistics queryCacheStatistics();
+
     /**
      * Creates a new {@link ParserBuilder} instance to fluently configure and create a {@link Parser}
      * instance.
@@ -19,13 +19,13 @@ package com.noctarius.borabora;
 import com.noctarius.borabora.builder.query.QueryTokenBuilder;
 import com.noctarius.borabora.spi.io.Decoder;
 import com.noctarius.borabora.spi.io.Encoder;
+import com.noctarius.borabora.spi.query.ConstantKeyPredicate;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.QueryContextAware;
 
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -64,11 +64,10 @@ public final class Predicates {
     }
 
     /**
-     * Matches strings against the provided <tt>value</tt> with ignored case sensitivity. Anyhow
-     * as an optimization, the given value at first is tried to be matched in a case sensitive mode
-     * in case the stream actually matches directly (see {@link #matchString(String)} for further
-     * details). Only afterwards the string from the stream is actually deserialized and matched
-     * using {@link String#equalsIgnoreCase(String)}.
+     * Matches strings against the provided <tt>value</tt> with ignored case sensitivity. As an
+     * optimization, strings from the CBOR stream are not deserialized but matched character by
+     * character against their encoded bytes using {@link Utf8View#equalsIgnoreCase(CharSequence)},
+     * following the same rules as {@link String#equalsIgnoreCase(String)}.
      *
      * @param value the value to match
      * @return true is the value in the CBOR stream matches the given value, otherwise false
@@ -80,6 +79,10 @@ public final class Predicates {
                 return false;
             }
 
+            // Stream values are matched without deserializing the string
+            if (v instanceof QueryContextAware) {
+                return v.stringView().equalsIgnoreCase(value);
+            }
             return v.string().equalsIgnoreCase(value);
         };
     }
@@ -96,6 +99,10 @@ public final class Predicates {
      */
     public static Predicate<Value> matchString(String value) {
         Objects.requireNonNull(value, "value must not be null");
+        return new ConstantKeyMatcher(value, matchString1(value));
+    }
+
+    private static Predicate<Value> matchString1(String value) {
         Predicate<Value> slowPathPredicate = matchString0(value);
 
         // For more than 1024 chars we use the slow path for now
@@ -160,7 +167,7 @@ public final class Predicates {
      * @return true is the value in the CBOR stream matches the given value, otherwise false
      */
     public static Predicate<Value> matchFloat(double value) {
-        return (v) -> {
+        return new ConstantKeyMatcher(value, (v) -> {
             if (!v.valueType().matches(ValueTypes.Float)) {
                 return false;
             }
@@ -169,7 +176,7 @@ public final class Predicates {
                 return n.equals(BigDecimal.valueOf(value));
             }
             return Double.compare(value, n.doubleValue()) == 0;
-        };
+        });
     }
 
     /**
@@ -181,7 +188,7 @@ public final class Predicates {
      * @return true is the value in the CBOR stream matches the given value, otherwise false
      */
     public static Predicate<Value> matchInt(long value) {
-        return (v) -> {
+        return new ConstantKeyMatcher(value, (v) -> {
             if (!v.valueType().matches(ValueTypes.Int)) {
                 return false;
             }
@@ -190,7 +197,7 @@ public final class Predicates {
                 return n.equals(BigInteger.valueOf(value));
             }
             return value == n.longValue();
-        };
+        });
     }
 
     private static byte[] buildStringMatcherByteArray(String value, StringPreencoder preencoder) {
@@ -213,9 +220,13 @@ public final class Predicates {
                 return false;
             }
 
-            byte[] data = new byte[expectedLength];
-            input.read(data, offset, expectedLength);
-            return Arrays.equals(expected, data);
+            // Compare in place to not copy the stream data
+            for (int i = 0; i < expectedLength; i++) {
+                if (input.read(offset + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
         };
     }
 
@@ -233,4 +244,31 @@ public final class Predicates {
         void apply(String value, int offset, Output output);
     }
 
+    private static final class ConstantKeyMatcher
+            implements ConstantKeyPredicate {
+
+        private final Object key;
+        private final Predicate<Value> predicate;
+
+        private ConstantKeyMatcher(Object key, Predicate<Value> predicate) {
+            this.key = key;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public Object key() {
+            return key;
+        }
+
+        @Override
+        public boolean test(Value value) {
+            return predicate.test(value);
+        }
+
+        @Override
+        public String toString() {
+            return "match(" + key + ")";
+        }
+    }
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.util.List;
+
+/**
+ * A <tt>QueryBatch</tt> evaluates a fixed set of {@link Query} instances against the same
+ * {@link Input} in a single walk. Queries are merged by their common prefixes, for example
+ * <tt>#{'user'}{'id'}</tt> and <tt>#{'user'}{'name'}</tt> resolve the <tt>user</tt>
+ * dictionary only once and look up both keys in a single scan over its entries. Extracting
+ * many fields from the same document therefore costs roughly one scan instead of one per
+ * query.
+ * <p>Queries which are not a single path, like projections or multi-stream queries, are
+ * evaluated one after another, exactly as {@link Parser#read(Input, Query)} would.</p>
+ * <p>A <tt>QueryBatch</tt> is immutable and thread-safe, a single instance can be used
+ * concurrently by multiple threads.</p>
+ * <pre>
+ * QueryBatch queryBatch = parser.newQueryBatch( idQuery, nameQuery, tagQuery );
+ * List&lt;Value&gt; values = queryBatch.read( input );
+ * </pre>
+ *
+ * @see Parser#newQueryBatch(Query...)
+ */
+public interface QueryBatch {
+
+    /**
+     * Returns the number of queries in this batch.
+     *
+     * @return the number of queries
+     */
+    int size();
+
+    /**
+     * Evaluates all queries of this batch against the given <tt>input</tt> and returns the first,
+     * or only matched value of each query, in the order the queries were given. For queries without
+     * a match {@link Value#NULL_VALUE} is returned at the query's position.
+     *
+     * @param input the input stream instance to parse
+     * @return the values of all queries in the order of the queries
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    List<Value> read(Input input);
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.ParserBuilder;
+
+/**
+ * The <tt>QueryCacheStatistics</tt> interface provides access to the counters of a
+ * {@link Parser}'s prepared query cache. The cache is opt-in and is configured using
+ * {@link ParserBuilder#withQueryCache(int)}. If the cache is not enabled all counters
+ * return <tt>0</tt>.
+ * <p>Counters are updated concurrently, therefore values read from different methods
+ * are not guaranteed to represent a consistent snapshot.</p>
+ *
+ * @see Parser#queryCacheStatistics()
+ */
+public interface QueryCacheStatistics {
+
+    /**
+     * Returns the number of query string lookups which were answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    long hits();
+
+    /**
+     * Returns the number of query string lookups which had to be parsed and prepared.
+     *
+     * @return the number of cache misses
+     */
+    long misses();
+
+    /**
+     * Returns the number of prepared queries which were evicted from the cache to stay
+     * inside the configured maximum size.
+     *
+     * @return the number of cache evictions
+     */
+    long evictions();
+
+    /**
+     * Returns the number of currently cached prepared queries.
+     *
+     * @return the current cache size
+     */
+    int size();
+
+    /**
+     * Returns the configured maximum number of cached prepared queries or <tt>0</tt>
+     * if the cache is disabled.
+     *
+     * @return the maximum cache size
+     */
+    int maxSize();
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.util.function.Consumer;
+
+/**
+ * A <tt>QueryReader</tt> evaluates {@link Query} instances like the {@link Parser} does, but reuses
+ * a single query context and a single flyweight {@link Value} instance for all evaluations. After
+ * warmup, reading scalar values does not allocate any objects.
+ * <p>Since the returned values are reused, a value is only valid until the next read call on the
+ * same reader. Values passed to a consumer are only valid during the callback. Values which need
+ * to be kept have to be copied or extracted before.</p>
+ * <p>A <tt>QueryReader</tt> is <b>not</b> thread-safe and should be used by a single thread,
+ * for example by keeping one instance per thread, whereas the parser can still be used
+ * concurrently.</p>
+ *
+ * @see Parser#newReader()
+ */
+public interface QueryReader {
+
+    /**
+     * Searches and reads a {@link Value} from the given {@link Input} instance, exactly like
+     * {@link Parser#read(Input, Query)}. If no matching value is found {@link Value#NULL_VALUE}
+     * is returned. The returned instance is reused by the next read call on this reader.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    Value read(Input input, Query query);
+
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>long</tt> using {@link Value#longValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive long
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    long readLong(Input input, Query query);
+
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>double</tt> using {@link Value#doubleValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive double
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    double readDouble(Input input, Query query);
+
+    /**
+     * Searches and reads a single value, like {@link #read(Input, Query)}, and returns it as a primitive
+     * <tt>boolean</tt> using {@link Value#booleanValue()}, decoding the value without boxing it.
+     *
+     * @param input the input stream instance to parse
+     * @param query the query instance to execute against the input stream
+     * @return the first, or only matched value as a primitive boolean
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing, or
+     *                               if no value was matched or the matched value is null
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     */
+    boolean readBoolean(Input input, Query query);
+
+    /**
+     * Searches and reads {@link Value}s from the given {@link Input} instance, exactly like
+     * {@link Parser#read(Input, Query, Consumer)}. The value instance passed to the <tt>consumer</tt>
+     * is reused for every match and only valid during the callback.
+     *
+     * @param input    the input stream instance to parse
+     * @param query    the query instance to execute against the input stream
+     * @param consumer the consumer to receive all matching values
+     * @throws IllegalStateException is thrown whenever an illegal state has occurred while parsing
+     * @throws WrongTypeException    is thrown whenever an unexpected type was found while parsing
+     */
+    void read(Input input, Query query, Consumer<Value> consumer);
+
+}
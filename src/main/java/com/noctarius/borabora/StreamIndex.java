@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.nio.file.Path;
+
+/**
+ * A <tt>StreamIndex</tt> stores the offsets of all top-level items of a multi-stream CBOR
+ * input (a sequence of concatenated top-level items). It is built once per {@link Input} by
+ * scanning the item boundaries and can be persisted to, and loaded from, a sidecar file.
+ * <p>An index is bound to an input using {@link Input#withStreamIndex(Input, StreamIndex)}. Stream
+ * index queries (<tt>#n</tt>) against the returned input resolve the requested top-level item
+ * directly from the index, instead of skipping all preceding items on every query.</p>
+ * <p>The index is not validated against the input it is bound to, binding an index built from
+ * other data results in undefined query results. Instances are immutable and thread-safe.</p>
+ * <p>A common basic example for the usage of <tt>StreamIndex</tt> looks like:</p>
+ * <pre>
+ *     MappedInput mappedInput = Input.fromFile( path );
+ *     StreamIndex streamIndex = StreamIndex.build( mappedInput );
+ *     Input input = Input.withStreamIndex( mappedInput, streamIndex );
+ *     Value value = parser.read( input, parser.newQueryBuilder().stream( 12345 ).build() );
+ * </pre>
+ */
+public interface StreamIndex {
+
+    /**
+     * Returns the number of indexed top-level items.
+     *
+     * @return the number of top-level items
+     */
+    long size();
+
+    /**
+     * Returns the offset of the top-level item with the given <tt>itemIndex</tt>.
+     *
+     * @param itemIndex the index of the top-level item
+     * @return the offset of the top-level item
+     * @throws IndexOutOfBoundsException if itemIndex is negative or not smaller than {@link #size()}
+     */
+    long offset(long itemIndex);
+
+    /**
+     * Persists the index to the file at the given <tt>path</tt>. An existing file is overwritten.
+     *
+     * @param path the path of the sidecar file
+     * @throws IllegalStateException if the file cannot be written
+     */
+    void writeTo(Path path);
+
+    /**
+     * Builds a new <tt>StreamIndex</tt> by scanning all top-level items of the given <tt>input</tt>,
+     * starting at offset <tt>0</tt> until the end of the readable area.
+     *
+     * @param input the input to index
+     * @return the new index of the input's top-level items
+     */
+    static StreamIndex build(Input input) {
+        return StreamIndexImpl.build(input);
+    }
+
+    /**
+     * Loads a <tt>StreamIndex</tt> previously persisted using {@link #writeTo(Path)} from the
+     * file at the given <tt>path</tt>.
+     *
+     * @param path the path of the sidecar file
+     * @return the loaded index
+     * @throws IllegalStateException if the file cannot be read or is not a stream index file
+     */
+    static StreamIndex readFrom(Path path) {
+        return StreamIndexImpl.readFrom(path);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.spi.io.Decoder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+final class StreamIndexImpl
+        implements StreamIndex {
+
+    // "BSIX" followed by the file format version
+    private static final int MAGIC = 0x42534958;
+    private static final int VERSION = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long[] offsets;
+    private final int size;
+
+    private StreamIndexImpl(long[] offsets, int size) {
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long offset(long itemIndex) {
+        if (itemIndex < 0 || itemIndex >= size) {
+            throw new IndexOutOfBoundsException("Item index " + itemIndex + " outside of indexed items (size: " + size + ")");
+        }
+        return offsets[(int) itemIndex];
+    }
+
+    @Override
+    public void writeTo(Path path) {
+        Objects.requireNonNull(path, "path must not be null");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(offsets[i]);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static StreamIndex build(Input input) {
+        Objects.requireNonNull(input, "input must not be null");
+        long[] offsets = new long[INITIAL_CAPACITY];
+        int size = 0;
+        long offset = 0;
+        while (input.offsetValid(offset)) {
+            if (size == offsets.length) {
+                if (size == Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Too many top-level items to be indexed");
+                }
+                offsets = Arrays.copyOf(offsets, (int) Math.min(Integer.MAX_VALUE - 8, (long) size << 1));
+            }
+            offsets[size++] = offset;
+            offset = Decoder.skip(input, offset);
+        }
+        return new StreamIndexImpl(offsets, size);
+    }
+
+    static StreamIndex readFrom(Path path) {
+        Objects.requireNonNull(path, "path must not be null");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("File " + path + " is not a stream index file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported stream index file version " + version);
+            }
+            int size = in.readInt();
+            long[] offsets = new long[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new StreamIndexImpl(offsets, size);
+
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
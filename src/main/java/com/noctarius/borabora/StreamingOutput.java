@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.io.Closeable;
+import java.io.Flushable;
+
+/**
+ * A <tt>StreamingOutput</tt> is an {@link Output} which stages written bytes in an internal,
+ * reusable buffer before handing them to an underlying stream or channel. Small writes, like
+ * heads and primitive values, are collected and transferred in batches, whereas payloads not
+ * fitting into the buffer are written straight through without an additional copy.
+ * <p>Staged data is only guaranteed to reach the underlying sink after calling {@link #flush()}
+ * or {@link #close()}. Closing the instance flushes all pending bytes and closes the underlying
+ * stream or channel. Any {@link java.io.IOException} is rethrown as an
+ * {@link IllegalStateException}.</p>
+ * <p>A common basic example for the usage of <tt>StreamingOutput</tt> looks like:</p>
+ * <pre>
+ *     try (StreamingOutput output = Output.toOutputStream( out, 8192 )) {
+ *         GraphBuilder graphBuilder = writer.newGraphBuilder( output );
+ *         // generate the actual data stream
+ *         graphBuilder.finishStream();
+ *     }
+ * </pre>
+ *
+ * @see Output#toOutputStream(java.io.OutputStream, int)
+ * @see Output#toChannel(java.nio.channels.WritableByteChannel, int, boolean)
+ */
+public interface StreamingOutput
+        extends Output, Flushable, Closeable {
+
+    /**
+     * Transfers all currently staged bytes to the underlying sink and flushes it.
+     *
+     * @throws IllegalStateException if the underlying sink fails to write or flush
+     */
+    @Override
+    void flush();
+
+    /**
+     * Flushes all currently staged bytes and closes the underlying sink. Calling this method
+     * more than once has no further effect.
+     *
+     * @throws IllegalStateException if the underlying sink fails to write or close
+     */
+    @Override
+    void close();
+
+}
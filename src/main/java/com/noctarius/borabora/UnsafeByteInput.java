@@ -18,12 +18,14 @@ package com.noctarius.borabora;
 
 import sun.misc.Unsafe;
 
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 final class UnsafeByteInput
         implements Input {
 
     private static final Unsafe UNSAFE = UnsafeUtils.getUnsafe();
+    private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
 
     private final long size;
     private final long address;
@@ -58,9 +60,42 @@ final class UnsafeByteInput
         return l;
     }
 
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 2);
+        short value = UNSAFE.getShort(address + offset);
+        return BIG_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 4);
+        int value = UNSAFE.getInt(address + offset);
+        return BIG_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        checkOffset(offset, 8);
+        long value = UNSAFE.getLong(address + offset);
+        return BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
     @Override
     public boolean offsetValid(long offset) {
         return offset < size;
     }
 
+    private void checkOffset(long offset, int length) {
+        if (offset < 0 || offset + length > size) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
+        }
+    }
+
 }
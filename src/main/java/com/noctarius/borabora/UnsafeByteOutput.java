@@ -18,12 +18,14 @@ package com.noctarius.borabora;
 
 import sun.misc.Unsafe;
 
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 final class UnsafeByteOutput
         implements Output {
 
     private static final Unsafe UNSAFE = UnsafeUtils.getUnsafe();
+    private static final boolean BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
 
     private final long size;
     private final long address;
@@ -54,4 +56,31 @@ final class UnsafeByteOutput
         return l;
     }
 
+    @Override
+    public long writeShort(long offset, short value) {
+        checkOffset(offset, 2);
+        UNSAFE.putShort(address + offset, BIG_ENDIAN ? value : Short.reverseBytes(value));
+        return offset + 2;
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        checkOffset(offset, 4);
+        UNSAFE.putInt(address + offset, BIG_ENDIAN ? value : Integer.reverseBytes(value));
+        return offset + 4;
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        checkOffset(offset, 8);
+        UNSAFE.putLong(address + offset, BIG_ENDIAN ? value : Long.reverseBytes(value));
+        return offset + 8;
+    }
+
+    private void checkOffset(long offset, int length) {
+        if (offset < 0 || offset + length > size) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
+        }
+    }
+
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A <tt>Utf8View</tt> instance is a {@link CharSequence} view over an UTF-8 encoded string, backed by
+ * a range of an {@link Input}. Views returned by {@link Value#stringView()} for stream based values
+ * read the string data in place, without copying it into a byte-array or decoding it into a Java
+ * {@link String}.
+ * <p>Comparisons, hashing, prefix and suffix matching and case insensitive matching are executed
+ * directly against the encoded bytes. A <tt>String</tt> is only materialized when
+ * {@link #toString()} is called, or when {@link #charAt(int)} or {@link #subSequence(int, int)} are
+ * used on strings containing non-ASCII characters. The materialized string is cached.</p>
+ * <p>Two views are equal if their encoded bytes are equal, views are never equal to other
+ * <tt>CharSequence</tt> types, use {@link #contentEquals(CharSequence)} instead. The hash code is
+ * the same as the one of the materialized string. Results for malformed UTF-8 data are undefined.</p>
+ *
+ * @see Value#stringView()
+ */
+public final class Utf8View
+        implements CharSequence, Comparable<Utf8View> {
+
+    private static final int REPLACEMENT_CHARACTER = 0xfffd;
+
+    private final Input input;
+    private final long offset;
+    private final long byteLength;
+
+    // Lazily calculated, -1 if not yet calculated
+    private int length = -1;
+    private boolean ascii;
+
+    private int hash;
+    private String string;
+
+    private Utf8View(Input input, long offset, long byteLength) {
+        this.input = input;
+        this.offset = offset;
+        this.byteLength = byteLength;
+    }
+
+    /**
+     * Returns the number of bytes of the encoded string.
+     *
+     * @return the number of encoded bytes
+     */
+    public long byteLength() {
+        return byteLength;
+    }
+
+    @Override
+    public int length() {
+        if (length == -1) {
+            calculateLength();
+        }
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (length() == byteLength && ascii) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + " outside of string length " + length);
+            }
+            return (char) input.read(offset + index);
+        }
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (length() == byteLength && ascii) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+            }
+            // ASCII characters are single bytes, the sub sequence is still backed by the input
+            return new Utf8View(input, offset + start, end - start);
+        }
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the characters of this view are equal to the given
+     * <tt>charSequence</tt>, otherwise <tt>false</tt>.
+     *
+     * @param charSequence the character sequence to compare to
+     * @return true if the content is equal, otherwise false
+     */
+    public boolean contentEquals(CharSequence charSequence) {
+        Objects.requireNonNull(charSequence, "charSequence must not be null");
+        return matches(offset, charSequence, false);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the characters of this view are equal to the given
+     * <tt>charSequence</tt> ignoring case considerations, otherwise <tt>false</tt>. Characters
+     * are compared the same way as by {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param charSequence the character sequence to compare to
+     * @return true if the content is equal ignoring case, otherwise false
+     */
+    public boolean equalsIgnoreCase(CharSequence charSequence) {
+        Objects.requireNonNull(charSequence, "charSequence must not be null");
+        return matches(offset, charSequence, true);
+    }
+
+    /**
+     * Returns <tt>true</tt> if this view starts with the given <tt>prefix</tt>, otherwise
+     * <tt>false</tt>.
+     *
+     * @param prefix the prefix to test
+     * @return true if the view starts with the prefix, otherwise false
+     */
+    public boolean startsWith(CharSequence prefix) {
+        Objects.requireNonNull(prefix, "prefix must not be null");
+        long prefixByteLength = utf8Length(prefix);
+        return prefixByteLength <= byteLength && matches(offset, offset + prefixByteLength, prefix, false);
+    }
+
+    /**
+     * Returns <tt>true</tt> if this view ends with the given <tt>suffix</tt>, otherwise
+     * <tt>false</tt>.
+     *
+     * @param suffix the suffix to test
+     * @return true if the view ends with the suffix, otherwise false
+     */
+    public boolean endsWith(CharSequence suffix) {
+        Objects.requireNonNull(suffix, "suffix must not be null");
+        long suffixByteLength = utf8Length(suffix);
+        return suffixByteLength <= byteLength && matches(offset + byteLength - suffixByteLength, suffix, false);
+    }
+
+    /**
+     * Compares two views lexicographically by their encoded bytes, which equals the ordering of
+     * the unicode code points. This ordering may differ from {@link String#compareTo(String)} for
+     * supplementary characters.
+     *
+     * @param other the view to compare to
+     * @return a negative integer, zero, or a positive integer as this view is less than, equal to,
+     * or greater than the other view
+     */
+    @Override
+    public int compareTo(Utf8View other) {
+        long limit = Math.min(byteLength, other.byteLength);
+        for (long i = 0; i < limit; i++) {
+            int b1 = input.read(offset + i) & 0xff;
+            int b2 = other.input.read(other.offset + i) & 0xff;
+            if (b1 != b2) {
+                return b1 - b2;
+            }
+        }
+        return Long.compare(byteLength, other.byteLength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Utf8View)) {
+            return false;
+        }
+
+        Utf8View that = (Utf8View) o;
+        if (byteLength != that.byteLength) {
+            return false;
+        }
+        for (long i = 0; i < byteLength; i++) {
+            if (input.read(offset + i) != that.input.read(that.offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+        if (hash == 0 && byteLength > 0) {
+            long end = offset + byteLength;
+            for (long position = offset; position < end; ) {
+                int sequenceLength = sequenceLength(position, end);
+                int codePoint = codePointAt(position, sequenceLength);
+                if (Character.isBmpCodePoint(codePoint)) {
+                    hash = 31 * hash + codePoint;
+                } else {
+                    hash = 31 * hash + Character.highSurrogate(codePoint);
+                    hash = 31 * hash + Character.lowSurrogate(codePoint);
+                }
+                position += sequenceLength;
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        String string = this.string;
+        if (string == null) {
+            if (byteLength > Integer.MAX_VALUE) {
+                throw new IllegalStateException("String too large to be materialized");
+            }
+            if (byteLength == 0) {
+                string = "";
+            } else {
+                byte[] data = new byte[(int) byteLength];
+                input.read(data, offset, data.length);
+                string = new String(data, StandardCharsets.UTF_8);
+            }
+            this.string = string;
+        }
+        return string;
+    }
+
+    private void calculateLength() {
+        long end = offset + byteLength;
+        boolean ascii = true;
+        long length = 0;
+        for (long position = offset; position < end; ) {
+            int sequenceLength = sequenceLength(position, end);
+            if (sequenceLength == 4) {
+                // Supplementary characters are represented as surrogate pairs
+                length += 2;
+            } else {
+                length++;
+            }
+            ascii &= input.read(position) >= 0;
+            position += sequenceLength;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("String too large to be represented as CharSequence");
+        }
+        this.ascii = ascii;
+        this.length = (int) length;
+    }
+
+    private boolean matches(long position, CharSequence charSequence, boolean ignoreCase) {
+        return matches(position, offset + byteLength, charSequence, ignoreCase);
+    }
+
+    private boolean matches(long position, long end, CharSequence charSequence, boolean ignoreCase) {
+        int index = 0;
+        int length = charSequence.length();
+        while (position < end) {
+            int sequenceLength = sequenceLength(position, end);
+            int codePoint = codePointAt(position, sequenceLength);
+            position += sequenceLength;
+
+            if (Character.isBmpCodePoint(codePoint)) {
+                if (index == length || !charEquals((char) codePoint, charSequence.charAt(index++), ignoreCase)) {
+                    return false;
+                }
+            } else {
+                if (index + 1 >= length //
+                        || charSequence.charAt(index++) != Character.highSurrogate(codePoint) //
+                        || charSequence.charAt(index++) != Character.lowSurrogate(codePoint)) {
+                    return false;
+                }
+            }
+        }
+        return index == length;
+    }
+
+    private int sequenceLength(long position, long end) {
+        byte lead = input.read(position);
+        int sequenceLength;
+        if (lead >= 0) {
+            return 1;
+        } else if ((lead & 0xe0) == 0xc0) {
+            sequenceLength = 2;
+        } else if ((lead & 0xf0) == 0xe0) {
+            sequenceLength = 3;
+        } else if ((lead & 0xf8) == 0xf0) {
+            sequenceLength = 4;
+        } else {
+            // Malformed, single replacement character
+            return 1;
+        }
+        if (position + sequenceLength > end) {
+            return 1;
+        }
+        for (int i = 1; i < sequenceLength; i++) {
+            if ((input.read(position + i) & 0xc0) != 0x80) {
+                return 1;
+            }
+        }
+        return sequenceLength;
+    }
+
+    private int codePointAt(long position, int sequenceLength) {
+        int lead = input.read(position);
+        switch (sequenceLength) {
+            case 2:
+                return ((lead & 0x1f) << 6) | (input.read(position + 1) & 0x3f);
+            case 3:
+                return ((lead & 0x0f) << 12) | ((input.read(position + 1) & 0x3f) << 6) //
+                        | (input.read(position + 2) & 0x3f);
+            case 4:
+                return ((lead & 0x07) << 18) | ((input.read(position + 1) & 0x3f) << 12) //
+                        | ((input.read(position + 2) & 0x3f) << 6) | (input.read(position + 3) & 0x3f);
+            default:
+                return lead >= 0 ? lead : REPLACEMENT_CHARACTER;
+        }
+    }
+
+    private static boolean charEquals(char c1, char c2, boolean ignoreCase) {
+        if (c1 == c2) {
+            return true;
+        }
+        if (!ignoreCase) {
+            return false;
+        }
+        // Same rules as String::equalsIgnoreCase
+        char u1 = Character.toUpperCase(c1);
+        char u2 = Character.toUpperCase(c2);
+        return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+    }
+
+    private static long utf8Length(CharSequence charSequence) {
+        long utf8Length = 0;
+        int length = charSequence.length();
+        for (int i = 0; i < length; i++) {
+            char c = charSequence.charAt(i);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(charSequence.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        return utf8Length;
+    }
+
+    /**
+     * Returns a <tt>Utf8View</tt> instance over the UTF-8 encoded string data of <tt>byteLength</tt>
+     * bytes, starting at the given <tt>offset</tt> of the <tt>input</tt>. The offset must point to the
+     * first data byte, not to the CBOR header of the string item.
+     *
+     * @param input      the input to read from
+     * @param offset     the offset of the first data byte
+     * @param byteLength the number of data bytes
+     * @return the new view over the given input range
+     */
+    public static Utf8View of(Input input, long offset, long byteLength) {
+        Objects.requireNonNull(input, "input must not be null");
+        if (offset < 0 || byteLength < 0) {
+            throw new IllegalArgumentException("offset and byteLength must not be negative");
+        }
+        return new Utf8View(input, offset, byteLength);
+    }
+
+    /**
+     * Returns a <tt>Utf8View</tt> instance over the UTF-8 encoded representation of the given
+     * <tt>value</tt>.
+     *
+     * @param value the string value to encode
+     * @return the new view over the encoded value
+     */
+    public static Utf8View of(String value) {
+        Objects.requireNonNull(value, "value must not be null");
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        Utf8View utf8View = new Utf8View(Input.fromByteArray(data), 0, data.length);
+        utf8View.string = value;
+        return utf8View;
+    }
+
+}
@@ -101,6 +101,19 @@ public interface Value {
      */
     String string();
 
+    /**
+     * Extracts the given Value as a {@link Utf8View} instance. If the represented value is not possible to be
+     * represented as string, a {@link WrongTypeException} is thrown. Stream based implementations return a
+     * view reading the string data in place, instead of decoding it into a {@link String}. The default
+     * implementation wraps the result of {@link #string()}.
+     *
+     * @return the extracted value
+     */
+    default Utf8View stringView() {
+        String value = string();
+        return value == null ? null : Utf8View.of(value);
+    }
+
     /**
      * Extracts the given Value as a <tt>boolean</tt>. If the represented value is not possible to be
      * represented as a boolean, a {@link WrongTypeException} is thrown.
@@ -109,6 +122,63 @@ public interface Value {
      */
     Boolean bool();
 
+    /**
+     * Returns <tt>true</tt> if the represented value is a null value, otherwise <tt>false</tt>. This
+     * includes {@link #NULL_VALUE} which is returned for non-existing values.
+     *
+     * @return true if the value is null, otherwise false
+     */
+    default boolean isNull() {
+        return valueType() == ValueTypes.Null;
+    }
+
+    /**
+     * Extracts the given Value as a primitive <tt>long</tt>. Values not fitting into a long are narrowed
+     * the same way as {@link Number#longValue()}. If the represented value is null or not possible to be
+     * represented as a number, a {@link WrongTypeException} is thrown. Stream based implementations
+     * decode integers directly, without boxing the value.
+     *
+     * @return the extracted value
+     */
+    default long longValue() {
+        Number number = number();
+        if (number == null) {
+            throw new WrongTypeException(offset(), "Requested a primitive long but the value is null");
+        }
+        return number.longValue();
+    }
+
+    /**
+     * Extracts the given Value as a primitive <tt>double</tt>, the same way as {@link Number#doubleValue()}.
+     * If the represented value is null or not possible to be represented as a number, a
+     * {@link WrongTypeException} is thrown. Stream based implementations decode integers and floating
+     * point values directly, without boxing the value.
+     *
+     * @return the extracted value
+     */
+    default double doubleValue() {
+        Number number = number();
+        if (number == null) {
+            throw new WrongTypeException(offset(), "Requested a primitive double but the value is null");
+        }
+        return number.doubleValue();
+    }
+
+    /**
+     * Extracts the given Value as a primitive <tt>boolean</tt>. If the represented value is null or not
+     * possible to be represented as a boolean, a {@link WrongTypeException} is thrown. Stream based
+     * implementations decode the value directly, without boxing the value.
+     *
+     * @return the extracted value
+     */
+    default boolean booleanValue() {
+        Boolean bool = bool();
+        if (bool == null) {
+            throw new WrongTypeException(offset(), "Requested a primitive boolean but the value is null");
+        }
+        return bool;
+    }
+
     /**
      * Returns the given Value as a <tt>byte[]</tt>. If the represented value is not possible to be
      * represented as a byte-array (not a ByteString (MajorType 2)), a {@link WrongTypeException} is thrown.
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import static com.noctarius.borabora.BufferedOutputStreamOutput.checkBufferSize;
+
+final class WritableByteChannelOutput
+        extends BufferedOutput {
+
+    private final WritableByteChannel channel;
+
+    WritableByteChannelOutput(WritableByteChannel channel, int bufferSize, boolean directBuffer) {
+        super(directBuffer ? ByteBuffer.allocateDirect(checkBufferSize(bufferSize))
+                : ByteBuffer.allocate(checkBufferSize(bufferSize)));
+        Objects.requireNonNull(channel, "channel must not be null");
+        this.channel = channel;
+    }
+
+    @Override
+    void writeBuffer(ByteBuffer buffer) {
+        writeFully(buffer);
+    }
+
+    @Override
+    void writeThrough(byte[] bytes, int length) {
+        writeFully(ByteBuffer.wrap(bytes, 0, length));
+    }
+
+    @Override
+    void flushSink() {
+        // Channels do not buffer on their own
+    }
+
+    @Override
+    void closeSink() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) {
+        try {
+            // Non-blocking channels may accept only parts of the buffer
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
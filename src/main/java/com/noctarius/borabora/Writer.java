@@ -30,6 +30,12 @@ import com.noctarius.borabora.impl.WriterBuilderImpl;
  * instances are <b>not</b> considered to be thread-safe and should only be used
  * by a single thread. The Writer instance can be configured once and used
  * concurrently though.</p>
+ * <p>To stream generated data to a file, socket or other stream, the buffered
+ * {@link StreamingOutput} implementations created by
+ * {@link Output#toOutputStream(java.io.OutputStream, int)} and
+ * {@link Output#toChannel(java.nio.channels.WritableByteChannel, int, boolean)} are
+ * recommended over unbuffered sinks. They have to be flushed or closed after the
+ * stream was finished.</p>
  */
 public interface Writer {
 
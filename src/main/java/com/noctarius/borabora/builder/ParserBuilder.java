@@ -172,6 +172,45 @@ public interface ParserBuilder {
      */
     ParserBuilder withQueryOptimizerStrategyFactory(QueryOptimizerStrategyFactory queryOptimizerStrategyFactory);
 
+    /**
+     * Configures the {@link Parser} configuration to cache prepared {@link com.noctarius.borabora.Query}
+     * instances by their query string. The cache is used by all query string based methods of the parser
+     * and holds up to <tt>maxSize</tt> queries, evicting the least recently used query when full. By
+     * default no cache is configured. Cache counters are available through
+     * {@link Parser#queryCacheStatistics()}.
+     *
+     * @param maxSize the maximum number of prepared queries to cache
+     * @return this builder instance
+     * @throws IllegalArgumentException if maxSize is not positive
+     */
+    ParserBuilder withQueryCache(int maxSize);
+
+    /**
+     * Configures the {@link Parser} configuration to decode strings through a shared
+     * {@link com.noctarius.borabora.spi.io.StringCache} of the given <tt>capacity</tt>. Repeated strings of
+     * up to {@link com.noctarius.borabora.spi.io.StringCache#DEFAULT_MAX_STRING_LENGTH} encoded bytes, like
+     * dictionary keys, are returned as canonical instances instead of decoding them over and over again. By
+     * default no string cache is configured. The cache is provided by the default {@link QueryContextFactory},
+     * therefore it cannot be combined with {@link #withQueryContextFactory(QueryContextFactory)}.
+     *
+     * @param capacity the number of cache slots, rounded up to the next power of two
+     * @return this builder instance
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    ParserBuilder withStringCache(int capacity);
+
+    /**
+     * Configures the {@link Parser} configuration to decode strings through a shared
+     * {@link com.noctarius.borabora.spi.io.StringCache} of the given <tt>capacity</tt>, caching strings of
+     * up to <tt>maxStringLength</tt> encoded bytes. See {@link #withStringCache(int)} for further details.
+     *
+     * @param capacity        the number of cache slots, rounded up to the next power of two
+     * @param maxStringLength the maximum number of encoded bytes of cached strings
+     * @return this builder instance
+     * @throws IllegalArgumentException if capacity or maxStringLength is not positive
+     */
+    ParserBuilder withStringCache(int capacity, int maxStringLength);
+
     /**
      * Returns a new {@link Parser} instance based on the internal configuration. The returned parser
      * is fully thread-safe and stateless and can be stored and shared by multiple threads.
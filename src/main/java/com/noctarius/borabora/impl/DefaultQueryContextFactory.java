@@ -18,6 +18,7 @@ package com.noctarius.borabora.impl;
 
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.StringCache;
 import com.noctarius.borabora.spi.query.ProjectionStrategy;
 import com.noctarius.borabora.spi.query.QueryConsumer;
 import com.noctarius.borabora.spi.query.QueryContext;
@@ -28,16 +29,19 @@ import java.util.List;
 public class DefaultQueryContextFactory
         implements QueryContextFactory {
 
-    public static final QueryContextFactory INSTANCE = new DefaultQueryContextFactory();
+    public static final QueryContextFactory INSTANCE = new DefaultQueryContextFactory(null);
 
-    private DefaultQueryContextFactory() {
+    private final StringCache stringCache;
+
+    DefaultQueryContextFactory(StringCache stringCache) {
+        this.stringCache = stringCache;
     }
 
     @Override
     public QueryContext newQueryContext(Input input, QueryConsumer queryConsumer, List<TagStrategy> tagStrategies,
                                         ProjectionStrategy projectionStrategy) {
 
-        return new QueryContextImpl(input, queryConsumer, tagStrategies, projectionStrategy, this);
+        return new QueryContextImpl(input, queryConsumer, tagStrategies, projectionStrategy, this, stringCache);
     }
 
 }
@@ -19,6 +19,7 @@ package com.noctarius.borabora.impl;
 import com.noctarius.borabora.Dictionary;
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Predicates;
 import com.noctarius.borabora.Value;
 import com.noctarius.borabora.ValueType;
 import com.noctarius.borabora.spi.RelocatableStreamValue;
@@ -41,14 +42,15 @@ public final class DictionaryImpl
 
     private final long size;
     private final Input input;
-    private final long[][] elementIndexes;
+    private final long elementsOffset;
     private final QueryContext queryContext;
 
-    private DictionaryImpl(long size, long[][] elementIndexes, QueryContext queryContext) {
-        Objects.requireNonNull(elementIndexes, "elementIndexes must not be null");
+    private volatile DictionaryKeyIndex keyIndex;
+
+    private DictionaryImpl(long size, long elementsOffset, QueryContext queryContext) {
         Objects.requireNonNull(queryContext, "queryContext must not be null");
         this.size = size;
-        this.elementIndexes = elementIndexes;
+        this.elementsOffset = elementsOffset;
         this.queryContext = queryContext;
         this.input = queryContext.input();
     }
@@ -79,17 +81,48 @@ public final class DictionaryImpl
     public Value get(Predicate<Value> predicate) {
         Objects.requireNonNull(predicate, "predicate must not be null");
         long keyOffset = findValueByPredicate(predicate, false);
-        return get(keyOffset);
+        return readValueByKeyOffset(keyOffset);
+    }
+
+    @Override
+    public Value get(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+        DictionaryKeyIndex keyIndex = keyIndex();
+        long valueOffset = keyIndex.findString(key);
+        if (valueOffset == DictionaryKeyIndex.NOT_FOUND && keyIndex.hasUnindexedKeys()) {
+            return get(Predicates.matchString(key));
+        }
+        return readIndexedValue(valueOffset);
+    }
+
+    @Override
+    public Value get(long key) {
+        DictionaryKeyIndex keyIndex = keyIndex();
+        long valueOffset = keyIndex.findInt(key);
+        if (valueOffset == DictionaryKeyIndex.NOT_FOUND && keyIndex.hasUnindexedKeys()) {
+            return get(Predicates.matchInt(key));
+        }
+        return readIndexedValue(valueOffset);
+    }
+
+    @Override
+    public Value get(double key) {
+        DictionaryKeyIndex keyIndex = keyIndex();
+        long valueOffset = keyIndex.findFloat(key);
+        if (valueOffset == DictionaryKeyIndex.NOT_FOUND && keyIndex.hasUnindexedKeys()) {
+            return get(Predicates.matchFloat(key));
+        }
+        return readIndexedValue(valueOffset);
     }
 
     @Override
     public StreamableIterable<Value> keys() {
-        return new DictionaryIterable(0);
+        return new DictionaryIterable(false);
     }
 
     @Override
     public StreamableIterable<Value> values() {
-        return new DictionaryIterable(1);
+        return new DictionaryIterable(true);
     }
 
     @Override
@@ -105,10 +138,8 @@ public final class DictionaryImpl
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[");
-        for (long i = 0; i < size * 2; i += 2) {
-            Value key = Decoder.readValue(calculateArrayIndex(i), queryContext);
-            Value value = Decoder.readValue(calculateArrayIndex(i + 1), queryContext);
-            sb.append(key).append('=').append(value).append(", ");
+        for (Map.Entry<Value, Value> entry : this) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append(", ");
         }
         return sb.deleteCharAt(sb.length() - 1).deleteCharAt(sb.length() - 1).append(']').toString();
     }
@@ -116,10 +147,8 @@ public final class DictionaryImpl
     @Override
     public String asString() {
         StringBuilder sb = new StringBuilder("[");
-        for (long i = 0; i < size * 2; i += 2) {
-            Value key = Decoder.readValue(calculateArrayIndex(i), queryContext);
-            Value value = Decoder.readValue(calculateArrayIndex(i + 1), queryContext);
-            sb.append(key.asString()).append('=').append(value.asString()).append(", ");
+        for (Map.Entry<Value, Value> entry : this) {
+            sb.append(entry.getKey().asString()).append('=').append(entry.getValue().asString()).append(", ");
         }
         return sb.deleteCharAt(sb.length() - 1).deleteCharAt(sb.length() - 1).append(']').toString();
     }
@@ -129,7 +158,7 @@ public final class DictionaryImpl
         return false;
     }
 
-    private Value get(long keyOffset) {
+    private Value readValueByKeyOffset(long keyOffset) {
         if (keyOffset == -1) {
             return null;
         }
@@ -137,10 +166,30 @@ public final class DictionaryImpl
         return Decoder.readValue(valueOffset, queryContext);
     }
 
+    private Value readIndexedValue(long valueOffset) {
+        if (valueOffset == DictionaryKeyIndex.NOT_FOUND) {
+            return null;
+        }
+        return Decoder.readValue(valueOffset, queryContext);
+    }
+
+    private DictionaryKeyIndex keyIndex() {
+        DictionaryKeyIndex keyIndex = this.keyIndex;
+        if (keyIndex == null) {
+            // Racing threads might build the index twice, both results are equal
+            keyIndex = DictionaryKeyIndex.buildIndex(input, elementsOffset, size);
+            this.keyIndex = keyIndex;
+        }
+        return keyIndex;
+    }
+
     private long findValueByPredicate(Predicate<Value> predicate, boolean findValue) {
+        if (size == 0) {
+            return -1;
+        }
         RelocatableStreamValue streamValue = new RelocatableStreamValue();
-        for (long i = findValue ? 1 : 0; i < size * 2; i = i + 2) {
-            long offset = calculateArrayIndex(i);
+        long offset = findValue ? Decoder.skip(input, elementsOffset) : elementsOffset;
+        for (long i = 0; i < size; i++) {
             short head = readUInt8(input, offset);
             MajorType majorType = MajorType.findMajorType(head);
             ValueType valueType = queryContext.valueType(offset);
@@ -149,14 +198,15 @@ public final class DictionaryImpl
             if (predicate.test(streamValue)) {
                 return offset;
             }
+            if (i + 1 < size) {
+                offset = skipEntry(offset);
+            }
         }
         return -1;
     }
 
-    private long calculateArrayIndex(long offset) {
-        int baseIndex = (int) (offset / Integer.MAX_VALUE);
-        int elementIndex = (int) (offset % Integer.MAX_VALUE);
-        return elementIndexes[baseIndex][elementIndex];
+    private long skipEntry(long offset) {
+        return Decoder.skip(input, Decoder.skip(input, offset));
     }
 
     public static Dictionary readDictionary(long offset, QueryContext queryContext) {
@@ -164,8 +214,7 @@ public final class DictionaryImpl
         Input input = queryContext.input();
         long headByteSize = ByteSizes.headByteSize(input, offset);
         long size = ElementCounts.dictionaryElementCount(input, offset);
-        long[][] elementIndexes = Decoder.readElementIndexes(input, offset + headByteSize, size * 2);
-        return new DictionaryImpl(size, elementIndexes, queryContext);
+        return new DictionaryImpl(size, offset + headByteSize, queryContext);
     }
 
     private class DictionaryEntryIterable
@@ -180,43 +229,48 @@ public final class DictionaryImpl
     private class DictionaryIterable
             implements StreamableIterable<Value> {
 
-        private final long initialArrayIndex;
+        private final boolean values;
 
-        private DictionaryIterable(long initialArrayIndex) {
-            this.initialArrayIndex = initialArrayIndex;
+        private DictionaryIterable(boolean values) {
+            this.values = values;
         }
 
         @Override
         public Iterator<Value> iterator() {
-            return new DictionaryIterator(initialArrayIndex);
+            return new DictionaryIterator(values);
         }
     }
 
     private class DictionaryIterator
             implements Iterator<Value> {
 
-        private long arrayIndex;
+        private final boolean values;
+
+        private long entryIndex = 0;
+        private long offset = elementsOffset;
 
-        private DictionaryIterator(long initialArrayIndex) {
-            this.arrayIndex = initialArrayIndex;
+        private DictionaryIterator(boolean values) {
+            this.values = values;
         }
 
         @Override
         public boolean hasNext() {
-            return arrayIndex < size * 2;
+            return entryIndex < size;
         }
 
         @Override
         public Value next() {
             try {
-                if (arrayIndex >= size * 2) {
+                if (entryIndex >= size) {
                     throw new NoSuchElementException("No further element available");
                 }
-                long offset = calculateArrayIndex(arrayIndex);
-                return Decoder.readValue(offset, queryContext);
+                long keyOffset = offset;
+                long valueOffset = Decoder.skip(input, keyOffset);
+                offset = Decoder.skip(input, valueOffset);
+                return Decoder.readValue(values ? valueOffset : keyOffset, queryContext);
 
             } finally {
-                arrayIndex += 2;
+                entryIndex++;
             }
         }
     }
@@ -224,25 +278,27 @@ public final class DictionaryImpl
     private class EntriesIterator
             implements Iterator<Map.Entry<Value, Value>> {
 
-        private long arrayIndex = 0;
+        private long entryIndex = 0;
+        private long offset = elementsOffset;
 
         @Override
         public boolean hasNext() {
-            return arrayIndex < size * 2;
+            return entryIndex < size;
         }
 
         @Override
         public Map.Entry<Value, Value> next() {
             try {
-                if (arrayIndex >= size * 2) {
+                if (entryIndex >= size) {
                     throw new NoSuchElementException("No further element available");
                 }
-                long keyIndex = calculateArrayIndex(arrayIndex);
-                long valueIndex = calculateArrayIndex(arrayIndex + 1);
+                long keyIndex = offset;
+                long valueIndex = Decoder.skip(input, keyIndex);
+                offset = Decoder.skip(input, valueIndex);
                 return new SimpleEntry(keyIndex, valueIndex);
 
             } finally {
-                arrayIndex += 2;
+                entryIndex++;
             }
         }
     }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.spi.io.ByteSizes;
+import com.noctarius.borabora.spi.io.Bytes;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Decoder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Open addressing hash index of the keys of a definite or indefinite dictionary. Keys are
+ * hashed and compared on their raw stream representation, string keys are never decoded
+ * into Java strings. Only untagged, definite text strings, integers fitting into a long and
+ * floating point values are indexed, all other keys are reported by
+ * {@link #hasUnindexedKeys()} so callers can fall back to a linear scan.
+ */
+final class DictionaryKeyIndex
+        implements Constants {
+
+    static final long NOT_FOUND = -1;
+
+    private static final byte KIND_EMPTY = 0;
+    private static final byte KIND_STRING = 1;
+    private static final byte KIND_INT = 2;
+    private static final byte KIND_FLOAT = 3;
+
+    private static final int FNV_OFFSET_BASIS = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final Input input;
+    private final int mask;
+
+    private final byte[] kinds;
+    private final int[] hashes;
+    // int value, float bits or string data length
+    private final long[] keyBits;
+    // string data offset
+    private final long[] keyPositions;
+    private final long[] valueOffsets;
+
+    private boolean unindexedKeys;
+
+    private DictionaryKeyIndex(Input input, long size) {
+        if (size > (1 << 29)) {
+            throw new IllegalStateException("Dictionary too large to be indexed");
+        }
+        int capacity = Integer.highestOneBit((int) Math.max(2, size) * 2 - 1) << 1;
+        this.input = input;
+        this.mask = capacity - 1;
+        this.kinds = new byte[capacity];
+        this.hashes = new int[capacity];
+        this.keyBits = new long[capacity];
+        this.keyPositions = new long[capacity];
+        this.valueOffsets = new long[capacity];
+    }
+
+    boolean hasUnindexedKeys() {
+        return unindexedKeys;
+    }
+
+    long findString(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hashBytes(data);
+        for (int slot = hash & mask; kinds[slot] != KIND_EMPTY; slot = (slot + 1) & mask) {
+            if (kinds[slot] == KIND_STRING && hashes[slot] == hash && keyBits[slot] == data.length
+                    && dataEquals(keyPositions[slot], data)) {
+
+                return valueOffsets[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    long findInt(long key) {
+        return findPrimitive(KIND_INT, key);
+    }
+
+    long findFloat(double key) {
+        return findPrimitive(KIND_FLOAT, Double.doubleToLongBits(key));
+    }
+
+    private long findPrimitive(byte kind, long bits) {
+        int hash = hashLong(bits);
+        for (int slot = hash & mask; kinds[slot] != KIND_EMPTY; slot = (slot + 1) & mask) {
+            if (kinds[slot] == kind && keyBits[slot] == bits) {
+                return valueOffsets[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private void add(long keyOffset, long valueOffset) {
+        short head = Bytes.readUInt8(input, keyOffset);
+        MajorType majorType = MajorType.findMajorType(head);
+        int addInfo = Decoder.additionalInfo(head);
+        switch (majorType) {
+            case TextString:
+                if (addInfo == ADD_INFO_INDEFINITE) {
+                    unindexedKeys = true;
+                    return;
+                }
+                long dataSize = ByteSizes.stringDataSize(input, keyOffset);
+                long dataOffset = keyOffset + ByteSizes.headByteSize(input, keyOffset);
+                insert(KIND_STRING, hashData(dataOffset, dataSize), dataSize, dataOffset, valueOffset);
+                return;
+
+            case UnsignedInteger:
+            case NegativeInteger:
+                long uint = readUInt(keyOffset, addInfo);
+                if (uint < 0) {
+                    // BigInteger range
+                    unindexedKeys = true;
+                    return;
+                }
+                long value = majorType == MajorType.UnsignedInteger ? uint : -1 - uint;
+                insert(KIND_INT, hashLong(value), value, 0, valueOffset);
+                return;
+
+            case FloatingPointOrSimple:
+                long bits;
+                switch (addInfo) {
+                    case FP_VALUE_HALF_PRECISION:
+                        bits = Double.doubleToLongBits(Decoder.readHalfFloatValue(input, keyOffset + 1).doubleValue());
+                        break;
+                    case FP_VALUE_SINGLE_PRECISION:
+                        bits = Double.doubleToLongBits(Decoder.readSinglePrecisionFloat(input, keyOffset + 1));
+                        break;
+                    case FP_VALUE_DOUBLE_PRECISION:
+                        bits = Double.doubleToLongBits(Decoder.readDoublePrecisionFloat(input, keyOffset + 1));
+                        break;
+                    default:
+                        // Simple values can never match a lookup key
+                        return;
+                }
+                insert(KIND_FLOAT, hashLong(bits), bits, 0, valueOffset);
+                return;
+
+            default:
+                unindexedKeys = true;
+        }
+    }
+
+    private void insert(byte kind, int hash, long bits, long position, long valueOffset) {
+        int slot = hash & mask;
+        for (; kinds[slot] != KIND_EMPTY; slot = (slot + 1) & mask) {
+            if (kinds[slot] == kind && hashes[slot] == hash && keyBits[slot] == bits) {
+                // Duplicate keys, the first occurrence wins as for linear scans
+                if (kind != KIND_STRING || dataEquals(keyPositions[slot], position, bits)) {
+                    return;
+                }
+            }
+        }
+        kinds[slot] = kind;
+        hashes[slot] = hash;
+        keyBits[slot] = bits;
+        keyPositions[slot] = position;
+        valueOffsets[slot] = valueOffset;
+    }
+
+    private long readUInt(long offset, int addInfo) {
+        switch (addInfo) {
+            case ADD_INFO_ONE_BYTE:
+                return Bytes.readUInt8(input, offset + 1);
+            case ADD_INFO_TWO_BYTES:
+                return Bytes.readUInt16(input, offset + 1);
+            case ADD_INFO_FOUR_BYTES:
+                return Bytes.readUInt32(input, offset + 1);
+            case ADD_INFO_EIGHT_BYTES:
+                return Bytes.readUInt64Long(input, offset + 1);
+            default:
+                return addInfo;
+        }
+    }
+
+    private boolean dataEquals(long position, byte[] data) {
+        for (int i = 0; i < data.length; i++) {
+            if (input.read(position + i) != data[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean dataEquals(long position1, long position2, long length) {
+        for (long i = 0; i < length; i++) {
+            if (input.read(position1 + i) != input.read(position2 + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashData(long position, long length) {
+        int hash = FNV_OFFSET_BASIS;
+        for (long i = 0; i < length; i++) {
+            hash = (hash ^ (input.read(position + i) & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static int hashBytes(byte[] data) {
+        int hash = FNV_OFFSET_BASIS;
+        for (byte b : data) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static int hashLong(long value) {
+        return mix((int) (value ^ (value >>> 32)));
+    }
+
+    private static int mix(int hash) {
+        // Spread higher bits to the lower ones used for slot selection
+        return hash ^ (hash >>> 16);
+    }
+
+    static DictionaryKeyIndex buildIndex(Input input, long elementsOffset, long size) {
+        DictionaryKeyIndex keyIndex = new DictionaryKeyIndex(input, size);
+        long offset = elementsOffset;
+        for (long i = 0; i < size; i++) {
+            long valueOffset = Decoder.skip(input, offset);
+            keyIndex.add(offset, valueOffset);
+            if (i + 1 < size) {
+                offset = Decoder.skip(input, valueOffset);
+            }
+        }
+        return keyIndex;
+    }
+
+}
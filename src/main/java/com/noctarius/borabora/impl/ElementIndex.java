@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.spi.io.Decoder;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lazily indexes the stream offsets of the elements of a sequence or dictionary. Elements
+ * are only scanned up to the highest element index requested so far, offsets are kept in
+ * fixed size chunks of primitive longs.
+ */
+final class ElementIndex {
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int INITIAL_DIRECTORY_SIZE = 4;
+
+    private final Input input;
+    private final long elementCount;
+
+    private long[][] chunks = new long[INITIAL_DIRECTORY_SIZE][];
+    private long nextPosition;
+
+    // Written after chunks are populated, safely publishes indexed offsets to readers
+    private volatile long indexed;
+
+    ElementIndex(Input input, long position, long elementCount) {
+        Objects.requireNonNull(input, "input must not be null");
+        this.input = input;
+        this.elementCount = elementCount;
+        this.nextPosition = position;
+    }
+
+    long offset(long elementIndex) {
+        if (elementIndex < 0 || elementIndex >= elementCount) {
+            throw new IndexOutOfBoundsException("Element index " + elementIndex + " outside of available elements");
+        }
+        if (elementIndex >= indexed) {
+            indexUpTo(elementIndex);
+        }
+        return chunks[(int) (elementIndex >>> CHUNK_SHIFT)][(int) (elementIndex & CHUNK_MASK)];
+    }
+
+    private synchronized void indexUpTo(long elementIndex) {
+        long indexed = this.indexed;
+        long position = nextPosition;
+        long[][] chunks = this.chunks;
+        while (indexed <= elementIndex) {
+            int chunkIndex = (int) (indexed >>> CHUNK_SHIFT);
+            if (chunkIndex == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length << 1);
+            }
+            long[] chunk = chunks[chunkIndex];
+            if (chunk == null) {
+                chunk = chunks[chunkIndex] = new long[CHUNK_SIZE];
+            }
+
+            // Store element position and skip elements content to next element
+            chunk[(int) (indexed & CHUNK_MASK)] = position;
+            position = Decoder.skip(input, position);
+            indexed++;
+        }
+        this.chunks = chunks;
+        this.nextPosition = position;
+        this.indexed = indexed;
+    }
+
+}
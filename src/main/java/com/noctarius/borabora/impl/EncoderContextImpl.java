@@ -16,10 +16,13 @@
  */
 package com.noctarius.borabora.impl;
 
+import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Output;
 import com.noctarius.borabora.WrongTypeException;
 import com.noctarius.borabora.spi.builder.EncoderContext;
 import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Encoder;
 
 import java.util.Map;
 import java.util.Objects;
@@ -28,15 +31,23 @@ public class EncoderContextImpl
         implements EncoderContext {
 
     private final Map<Class<?>, TagStrategy> tagStrategies;
+    private final TagEncoderDispatcher tagEncoderDispatcher;
     private final Output output;
 
     private long offset;
 
     public EncoderContextImpl(Output output, Map<Class<?>, TagStrategy> tagStrategies) {
+        this(output, tagStrategies, new TagEncoderDispatcher(
+                Objects.requireNonNull(tagStrategies, "tagStrategies must not be null").values()));
+    }
+
+    EncoderContextImpl(Output output, Map<Class<?>, TagStrategy> tagStrategies, TagEncoderDispatcher tagEncoderDispatcher) {
         Objects.requireNonNull(output, "output must not be null");
         Objects.requireNonNull(tagStrategies, "tagStrategies must not be null");
+        Objects.requireNonNull(tagEncoderDispatcher, "tagEncoderDispatcher must not be null");
         this.output = output;
         this.tagStrategies = tagStrategies;
+        this.tagEncoderDispatcher = tagEncoderDispatcher;
     }
 
     @Override
@@ -54,13 +65,77 @@ public class EncoderContextImpl
         this.offset = offset;
     }
 
+    @Override
+    public void encodeNull() {
+        offset = Encoder.putNull(offset, output);
+    }
+
+    @Override
+    public void putLong(long value) {
+        offset = Encoder.putNumber(value, offset, output);
+    }
+
+    @Override
+    public void putFloat(float value) {
+        offset = Encoder.putFloat(value, offset, output);
+    }
+
+    @Override
+    public void putDouble(double value) {
+        offset = Encoder.putDouble(value, offset, output);
+    }
+
+    @Override
+    public void putHalfPrecision(float value) {
+        offset = Encoder.putHalfPrecision(value, offset, output);
+    }
+
+    @Override
+    public void putBoolean(boolean value) {
+        offset = Encoder.putBoolean(value, offset, output);
+    }
+
+    @Override
+    public void putString(String value) {
+        offset = Encoder.putString(value, offset, output);
+    }
+
+    @Override
+    public void putAsciiString(String value) {
+        offset = Encoder.putAsciiString(value, offset, output);
+    }
+
+    @Override
+    public void putTextString(String value) {
+        offset = Encoder.putTextString(value, offset, output);
+    }
+
+    @Override
+    public void putByteString(byte[] value) {
+        offset = Encoder.putByteString(value, offset, output);
+    }
+
+    @Override
+    public void putHead(MajorType majorType, long length) {
+        offset = Encoder.encodeLengthAndValue(majorType, length, offset, output);
+    }
+
+    @Override
+    public void putSemanticTag(int tagId) {
+        offset = Encoder.putSemanticTag(tagId, offset, output);
+    }
+
+    @Override
+    public void putBreak() {
+        offset = output.write(offset, (byte) Constants.OPCODE_BREAK_MASK);
+    }
+
     @Override
     public long applyEncoder(Object value, long offset) {
         Objects.requireNonNull(value, "value must not be null");
-        for (TagStrategy tagStrategy : tagStrategies.values()) {
-            if (tagStrategy.handles(value)) {
-                return tagStrategy.process(value, offset, this);
-            }
+        TagStrategy tagStrategy = tagEncoderDispatcher.find(value);
+        if (tagStrategy != null) {
+            return tagStrategy.process(value, offset, this);
         }
         throw new WrongTypeException(offset, "Found non-encodeable type: " + value.getClass().getName());
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.IncrementalParser;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.NoSuchByteException;
+import com.noctarius.borabora.Parser;
+import com.noctarius.borabora.Query;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.spi.io.Decoder;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+final class IncrementalParserImpl
+        implements IncrementalParser {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private final Parser parser;
+    private final Query query;
+    private final Consumer<Value> consumer;
+
+    // Bytes before end are never changed once written, emitted values can
+    // keep referencing the array while new chunks are appended behind them
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int start;
+    private int end;
+
+    // Minimal end offset of the pending item, if already known from its head
+    private long required;
+    private long itemCount;
+
+    IncrementalParserImpl(Parser parser, Query query, Consumer<Value> consumer) {
+        Objects.requireNonNull(parser, "parser must not be null");
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        this.parser = parser;
+        this.query = query;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void feed(byte[] bytes, int offset, int length) {
+        Objects.requireNonNull(bytes, "bytes must not be null");
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset and length outside of the given byte-array");
+        }
+        append(bytes, offset, length);
+        while (end > start && end >= required) {
+            long itemEnd = completeItemEnd();
+            if (itemEnd == -1) {
+                return;
+            }
+            int itemStart = start;
+            start = (int) itemEnd;
+            required = 0;
+            itemCount++;
+
+            Input input = Input.fromByteBuffer(ByteBuffer.wrap(buffer, itemStart, start - itemStart));
+            parser.read(input, query, consumer);
+        }
+    }
+
+    @Override
+    public long itemCount() {
+        return itemCount;
+    }
+
+    @Override
+    public int bufferedBytes() {
+        return end - start;
+    }
+
+    @Override
+    public void finish() {
+        if (end > start) {
+            throw new NoSuchByteException(end, "Stream ended inside of a top-level item");
+        }
+    }
+
+    private long completeItemEnd() {
+        // Only the pending item is scanned, completed items are never visited again
+        Input input = Input.fromByteBuffer(ByteBuffer.wrap(buffer, start, end - start));
+        try {
+            long itemEnd = start + Decoder.skip(input, 0);
+            if (itemEnd <= end) {
+                return itemEnd;
+            }
+            // Definite length content not yet received, no need to scan again before
+            required = itemEnd;
+
+        } catch (NoSuchByteException e) {
+            // Item header or nested items not yet received
+        }
+        return -1;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (end + length > buffer.length) {
+            // Never compact in place, the old array might still be referenced by emitted values
+            int pending = end - start;
+            int capacity = Math.max(INITIAL_BUFFER_SIZE, Integer.highestOneBit(pending + length - 1) << 1);
+            byte[] newBuffer = new byte[capacity];
+            System.arraycopy(buffer, start, newBuffer, 0, pending);
+            required -= start;
+            buffer = newBuffer;
+            start = 0;
+            end = pending;
+        }
+        System.arraycopy(bytes, offset, buffer, end, length);
+        end += length;
+    }
+
+}
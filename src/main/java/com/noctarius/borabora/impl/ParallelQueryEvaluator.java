@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.StreamIndex;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.impl.query.stages.BaseQueryStage;
+import com.noctarius.borabora.impl.query.stages.MultiStreamElementQueryStage;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryConsumer;
+import com.noctarius.borabora.spi.query.QueryContext;
+import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
+import com.noctarius.borabora.spi.query.pipeline.QueryPipeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates a multi-stream query over segments of top-level items. The calling thread scans
+ * item boundaries using {@link Decoder#skip(Input, long)} and submits every segment as soon
+ * as its end is known, so scanning overlaps with evaluation. If a {@link StreamIndex} is bound
+ * to the input, segments are taken from the index without scanning. The number of segments
+ * in flight is bounded by a small multiple of the executor's parallelism, the calling thread
+ * waits for the head segment when the limit is reached.
+ */
+final class ParallelQueryEvaluator {
+
+    // A segment is closed once either limit is reached
+    private static final int SEGMENT_MAX_ITEMS = 1024;
+    private static final long SEGMENT_MAX_BYTES = 256 * 1024;
+
+    // Segments in flight per thread of the executor
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    private final Object consumerLock = new Object();
+    private final Queue<CompletableFuture<List<Value>>> pending = new ArrayDeque<>();
+
+    // Set under the consumer lock, no value is delivered once the evaluation failed
+    private volatile boolean cancelled;
+
+    private final QueryPipeline queryPipeline;
+    private final Consumer<Value> consumer;
+    private final boolean ordered;
+    private final Executor executor;
+    private final ParserImpl parser;
+    private final int maxPendingSegments;
+
+    ParallelQueryEvaluator(QueryPipeline queryPipeline, Consumer<Value> consumer, boolean ordered, Executor executor,
+                           ParserImpl parser) {
+
+        Objects.requireNonNull(queryPipeline, "queryPipeline must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        Objects.requireNonNull(executor, "executor must not be null");
+        Objects.requireNonNull(parser, "parser must not be null");
+        this.queryPipeline = queryPipeline;
+        this.consumer = consumer;
+        this.ordered = ordered;
+        this.executor = executor;
+        this.parser = parser;
+        this.maxPendingSegments = parallelism(executor) * SEGMENTS_PER_THREAD;
+    }
+
+    void evaluate(Input input) {
+        try {
+            StreamIndex streamIndex = input.streamIndex();
+            if (streamIndex != null) {
+                submitIndexed(input, streamIndex);
+                drain(true);
+                return;
+            }
+
+            long segmentStart = 0;
+            long offset = 0;
+            int items = 0;
+            while (input.offsetValid(offset)) {
+                offset = Decoder.skip(input, offset);
+                if (++items == SEGMENT_MAX_ITEMS || offset - segmentStart >= SEGMENT_MAX_BYTES) {
+                    submit(input, segmentStart, offset);
+                    segmentStart = offset;
+                    items = 0;
+                    // Hand out finished head segments early to keep buffered results small
+                    drain(false);
+                }
+            }
+            if (items > 0) {
+                submit(input, segmentStart, offset);
+            }
+            drain(true);
+
+        } catch (RuntimeException | Error e) {
+            // Running segments cannot be interrupted but stop at their next value
+            synchronized (consumerLock) {
+                cancelled = true;
+            }
+            for (CompletableFuture<List<Value>> future : pending) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+    }
+
+    private void submitIndexed(Input input, StreamIndex streamIndex) {
+        // Item boundaries are already known, no scanning necessary
+        long size = streamIndex.size();
+        for (long item = 0; item < size; item += SEGMENT_MAX_ITEMS) {
+            long start = streamIndex.offset(item);
+            long next = item + SEGMENT_MAX_ITEMS;
+            long end = next < size ? streamIndex.offset(next) : Long.MAX_VALUE;
+            submit(input, start, end);
+        }
+    }
+
+    private void submit(Input input, long start, long end) {
+        // Backpressure, the scanning thread must not run arbitrarily far ahead of the workers
+        while (pending.size() >= maxPendingSegments) {
+            drainHead();
+        }
+        pending.add(CompletableFuture.supplyAsync(() -> evaluateSegment(input, start, end), executor));
+    }
+
+    private void drain(boolean wait) {
+        CompletableFuture<List<Value>> future;
+        while ((future = pending.peek()) != null && (wait || future.isDone())) {
+            drainHead();
+        }
+    }
+
+    private void drainHead() {
+        List<Value> values = join(pending.poll());
+        for (Value value : values) {
+            consumer.accept(value);
+        }
+    }
+
+    private List<Value> evaluateSegment(Input input, long start, long end) {
+        List<Value> values;
+        QueryConsumer queryConsumer;
+        if (ordered) {
+            List<Value> segmentValues = new ArrayList<>();
+            queryConsumer = (value) -> !cancelled && segmentValues.add(value);
+            values = segmentValues;
+        } else {
+            queryConsumer = (value) -> {
+                synchronized (consumerLock) {
+                    if (cancelled) {
+                        return false;
+                    }
+                    consumer.accept(value);
+                }
+                return true;
+            };
+            values = Collections.emptyList();
+        }
+
+        QueryContext queryContext = parser.newQueryContext(new SegmentInput(input, end), queryConsumer);
+        queryContext.offset(start);
+        queryPipeline.evaluate(queryContext);
+        return values;
+    }
+
+    private static List<Value> join(CompletableFuture<List<Value>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int parallelism(Executor executor) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            // Unbounded pools cannot run more segments concurrently than there are processors
+            return Math.max(1, Math.min(processors, ((ThreadPoolExecutor) executor).getMaximumPoolSize()));
+        }
+        return processors;
+    }
+
+    static boolean isParallelizable(QueryPipeline queryPipeline) {
+        // Only a plain multi-stream query evaluates each top-level item independently
+        PipelineStage rootPipelineStage = queryPipeline.rootPipelineStage();
+        if (!(rootPipelineStage.stage() instanceof BaseQueryStage)) {
+            return false;
+        }
+        PipelineStage streamPipelineStage = rootPipelineStage.left();
+        return streamPipelineStage.stage() instanceof MultiStreamElementQueryStage
+                && streamPipelineStage.right() == PipelineStage.NIL;
+    }
+
+}
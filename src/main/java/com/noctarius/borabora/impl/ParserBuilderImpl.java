@@ -21,6 +21,7 @@ import com.noctarius.borabora.builder.ParserBuilder;
 import com.noctarius.borabora.impl.query.BTreeFactories;
 import com.noctarius.borabora.spi.codec.TagStrategies;
 import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.StringCache;
 import com.noctarius.borabora.spi.query.BinaryProjectionStrategy;
 import com.noctarius.borabora.spi.query.ObjectProjectionStrategy;
 import com.noctarius.borabora.spi.query.ProjectionStrategy;
@@ -47,6 +48,9 @@ public final class ParserBuilderImpl
     private PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
     private QueryPipelineFactory queryPipelineFactory = BTreeFactories.newQueryPipelineFactory();
     private QueryOptimizerStrategyFactory queryOptimizerStrategyFactory = BTreeFactories.newQueryOptimizerStrategyFactory();
+    private int queryCacheSize = QueryCache.DISABLED;
+    private int stringCacheCapacity = 0;
+    private int stringCacheMaxStringLength = StringCache.DEFAULT_MAX_STRING_LENGTH;
 
     @Override
     public ParserBuilder addTagStrategy(TagStrategy tagStrategy) {
@@ -157,6 +161,33 @@ public final class ParserBuilderImpl
         return this;
     }
 
+    @Override
+    public ParserBuilder withQueryCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.queryCacheSize = maxSize;
+        return this;
+    }
+
+    @Override
+    public ParserBuilder withStringCache(int capacity) {
+        return withStringCache(capacity, StringCache.DEFAULT_MAX_STRING_LENGTH);
+    }
+
+    @Override
+    public ParserBuilder withStringCache(int capacity, int maxStringLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (maxStringLength <= 0) {
+            throw new IllegalArgumentException("maxStringLength must be positive");
+        }
+        this.stringCacheCapacity = capacity;
+        this.stringCacheMaxStringLength = maxStringLength;
+        return this;
+    }
+
     @Override
     public ParserBuilder asBinaryProjectionStrategy() {
         projectionStrategy = BinaryProjectionStrategy.INSTANCE;
@@ -171,8 +202,16 @@ public final class ParserBuilderImpl
 
     @Override
     public Parser build() {
+        QueryContextFactory queryContextFactory = this.queryContextFactory;
+        if (stringCacheCapacity > 0) {
+            if (queryContextFactory != DefaultQueryContextFactory.INSTANCE) {
+                throw new IllegalStateException("A string cache cannot be used with a custom QueryContextFactory");
+            }
+            StringCache stringCache = new StringCache(stringCacheCapacity, stringCacheMaxStringLength);
+            queryContextFactory = new DefaultQueryContextFactory(stringCache);
+        }
         return new ParserImpl(tagStrategies, projectionStrategy, queryContextFactory, queryPipelineFactory, pipelineStageFactory,
-                queryOptimizerStrategyFactory, Collections.unmodifiableList(queryOptimizers));
+                queryOptimizerStrategyFactory, Collections.unmodifiableList(queryOptimizers), new QueryCache(queryCacheSize));
     }
 
 }
@@ -16,13 +16,21 @@
  */
 package com.noctarius.borabora.impl;
 
+import com.noctarius.borabora.IncrementalParser;
 import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Parser;
 import com.noctarius.borabora.Query;
+import com.noctarius.borabora.QueryBatch;
+import com.noctarius.borabora.QueryCacheStatistics;
 import com.noctarius.borabora.QueryParserException;
+import com.noctarius.borabora.QueryReader;
 import com.noctarius.borabora.Value;
+import com.noctarius.borabora.WrongTypeException;
 import com.noctarius.borabora.builder.query.QueryBuilder;
 import com.noctarius.borabora.builder.query.StreamQueryBuilder;
+import com.noctarius.borabora.impl.mapper.TypedDecoder;
+import com.noctarius.borabora.spi.RelocatableStreamValue;
 import com.noctarius.borabora.spi.codec.TagStrategy;
 import com.noctarius.borabora.spi.io.Constants;
 import com.noctarius.borabora.spi.io.Decoder;
@@ -39,6 +47,8 @@ import com.noctarius.borabora.spi.query.pipeline.QueryPipelineFactory;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 final class ParserImpl
@@ -51,10 +61,13 @@ final class ParserImpl
     private final PipelineStageFactory pipelineStageFactory;
     private final QueryOptimizerStrategyFactory queryOptimizerStrategyFactory;
     private final List<QueryOptimizer> queryOptimizers;
+    private final QueryCache queryCache;
+    private final TypedDecoder typedDecoder = new TypedDecoder();
 
     ParserImpl(List<TagStrategy> tagStrategies, ProjectionStrategy projectionStrategy, QueryContextFactory queryContextFactory,
                QueryPipelineFactory queryPipelineFactory, PipelineStageFactory pipelineStageFactory,
-               QueryOptimizerStrategyFactory queryOptimizerStrategyFactory, List<QueryOptimizer> queryOptimizers) {
+               QueryOptimizerStrategyFactory queryOptimizerStrategyFactory, List<QueryOptimizer> queryOptimizers,
+               QueryCache queryCache) {
 
         Objects.requireNonNull(tagStrategies, "tagStrategies must not be null");
         Objects.requireNonNull(queryContextFactory, "queryContextFactory must not be null");
@@ -63,6 +76,7 @@ final class ParserImpl
         Objects.requireNonNull(pipelineStageFactory, "pipelineStageFactory must not be null");
         Objects.requireNonNull(queryOptimizerStrategyFactory, "queryOptimizerStrategyFactory must not be null");
         Objects.requireNonNull(queryOptimizers, "queryOptimizers must not be null");
+        Objects.requireNonNull(queryCache, "queryCache must not be null");
         this.tagStrategies = tagStrategies;
         this.queryContextFactory = queryContextFactory;
         this.projectionStrategy = projectionStrategy;
@@ -70,6 +84,7 @@ final class ParserImpl
         this.pipelineStageFactory = pipelineStageFactory;
         this.queryOptimizerStrategyFactory = queryOptimizerStrategyFactory;
         this.queryOptimizers = queryOptimizers;
+        this.queryCache = queryCache;
     }
 
     @Override
@@ -92,6 +107,21 @@ final class ParserImpl
         return read(input, prepareQuery(query));
     }
 
+    @Override
+    public long readLong(Input input, Query query) {
+        return readPrimitive(input, query).longValue();
+    }
+
+    @Override
+    public double readDouble(Input input, Query query) {
+        return readPrimitive(input, query).doubleValue();
+    }
+
+    @Override
+    public boolean readBoolean(Input input, Query query) {
+        return readPrimitive(input, query).booleanValue();
+    }
+
     @Override
     public Value read(Input input, long offset) {
         Objects.requireNonNull(input, "input must not be null");
@@ -99,6 +129,14 @@ final class ParserImpl
         return Decoder.readValue(offset, queryContext);
     }
 
+    @Override
+    public <T> T decode(Input input, long offset, Class<T> type) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(type, "type must not be null");
+        QueryContext queryContext = newQueryContext(input, Constants.EMPTY_QUERY_CONSUMER, projectionStrategy);
+        return typedDecoder.decode(offset, queryContext, type);
+    }
+
     @Override
     public void read(Input input, Query query, Consumer<Value> consumer) {
         read(input, query, consumer, true);
@@ -112,6 +150,26 @@ final class ParserImpl
         read(input, prepareQuery(query), consumer, true);
     }
 
+    @Override
+    public void readParallel(Input input, Query query, Consumer<Value> consumer, boolean ordered) {
+        readParallel(input, query, consumer, ordered, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public void readParallel(Input input, Query query, Consumer<Value> consumer, boolean ordered, Executor executor) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        Objects.requireNonNull(executor, "executor must not be null");
+        QueryPipeline queryPipeline = query.newQueryPipeline();
+        if (!ParallelQueryEvaluator.isParallelizable(queryPipeline)) {
+            read(input, query, consumer, true);
+            return;
+        }
+        ParallelQueryEvaluator evaluator = new ParallelQueryEvaluator(queryPipeline, consumer, ordered, executor, this);
+        evaluator.evaluate(input);
+    }
+
     @Override
     public byte[] extract(Input input, Query query) {
         Objects.requireNonNull(input, "input must not be null");
@@ -133,9 +191,40 @@ final class ParserImpl
         return read(input, offset).raw();
     }
 
+    @Override
+    public IncrementalParser newIncrementalParser(Query query, Consumer<Value> consumer) {
+        return new IncrementalParserImpl(this, query, consumer);
+    }
+
+    @Override
+    public QueryBatch newQueryBatch(Query... queries) {
+        Objects.requireNonNull(queries, "queries must not be null");
+        return new QueryBatchImpl(this, queries);
+    }
+
+    @Override
+    public QueryReader newReader() {
+        return new QueryReaderImpl(this);
+    }
+
     @Override
     public Query prepareQuery(String query) {
         Objects.requireNonNull(query, "query must not be null");
+        return queryCache.getOrPrepare(query, this::parseQuery);
+    }
+
+    @Override
+    public StreamQueryBuilder newQueryBuilder() {
+        QueryOptimizerStrategy queryOptimizerStrategy = queryOptimizerStrategyFactory.newQueryOptimizerStrategy(queryOptimizers);
+        return new QueryBuilderImpl(queryOptimizerStrategy, pipelineStageFactory, queryPipelineFactory);
+    }
+
+    @Override
+    public QueryCacheStatistics queryCacheStatistics() {
+        return queryCache;
+    }
+
+    private Query parseQuery(String query) {
         try {
             QueryBuilder queryBuilder = newQueryBuilder();
             QueryParser.parse(query, queryBuilder, tagStrategies);
@@ -146,12 +235,6 @@ final class ParserImpl
         }
     }
 
-    @Override
-    public StreamQueryBuilder newQueryBuilder() {
-        QueryOptimizerStrategy queryOptimizerStrategy = queryOptimizerStrategyFactory.newQueryOptimizerStrategy(queryOptimizers);
-        return new QueryBuilderImpl(queryOptimizerStrategy, pipelineStageFactory, queryPipelineFactory);
-    }
-
     private void read(Input input, Query query, Consumer<Value> consumer, boolean multiConsumer) {
         Objects.requireNonNull(input, "input must not be null");
         Objects.requireNonNull(query, "query must not be null");
@@ -160,6 +243,10 @@ final class ParserImpl
         evaluate(query, input, queryConsumer, projectionStrategy);
     }
 
+    QueryContext newQueryContext(Input input, QueryConsumer queryConsumer) {
+        return newQueryContext(input, queryConsumer, projectionStrategy);
+    }
+
     private QueryContext newQueryContext(Input input, QueryConsumer queryConsumer, ProjectionStrategy projectionStrategy) {
         return queryContextFactory.newQueryContext(input, queryConsumer, tagStrategies, projectionStrategy);
     }
@@ -171,6 +258,22 @@ final class ParserImpl
         queryPipeline.evaluate(queryContext);
     }
 
+    private Value readPrimitive(Input input, Query query) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(query, "query must not be null");
+        PrimitiveConsumer consumer = new PrimitiveConsumer();
+        evaluate(query, input, consumer, projectionStrategy);
+
+        Value value = consumer.value;
+        if (value == null) {
+            throw new WrongTypeException("Requested a primitive value but no value was found");
+        }
+        if (value.isNull()) {
+            throw new WrongTypeException(value.offset(), "Requested a primitive value but the value is null");
+        }
+        return value;
+    }
+
     private QueryConsumer bridgeConsumer(Consumer<Value> consumer, boolean multiConsumer) {
         return (value) -> {
             consumer.accept(value);
@@ -178,6 +281,32 @@ final class ParserImpl
         };
     }
 
+    private static final class PrimitiveConsumer
+            implements QueryConsumer {
+
+        // Stream values are decoded in place by the primitive accessors, without boxing
+        private final RelocatableStreamValue streamValue = new RelocatableStreamValue();
+
+        private Value value;
+
+        @Override
+        public boolean accept(long offset, QueryContext queryContext) {
+            if (offset != Constants.OFFSET_CODE_NULL) {
+                MajorType majorType = MajorType.findMajorType(Decoder.readUInt8(queryContext.input(), offset));
+                streamValue.relocate(queryContext, majorType, queryContext.valueType(offset), offset);
+                value = streamValue;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean consume(Value value) {
+            // Values not backed by the stream, e.g. projections
+            this.value = value;
+            return false;
+        }
+    }
+
     private static class SingleConsumer
             implements Consumer<Value> {
 
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.Query;
+import com.noctarius.borabora.QueryBatch;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.impl.query.QueryPaths;
+import com.noctarius.borabora.impl.query.stages.DictionaryLookupQueryStage;
+import com.noctarius.borabora.impl.query.stages.PathQueryStage;
+import com.noctarius.borabora.spi.query.QueryConsumer;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
+
+/**
+ * Merges all single path queries into a trie of their {@link PathQueryStage}s. Equal stages of
+ * different queries share a trie node and are resolved once per read. Multiple dictionary lookups
+ * on the same node are resolved in a single scan over the dictionary entries.
+ */
+final class QueryBatchImpl
+        implements QueryBatch {
+
+    private final ParserImpl parser;
+    private final Query[] queries;
+    private final Node root;
+    private final int[] unmergedSlots;
+
+    QueryBatchImpl(ParserImpl parser, Query[] queries) {
+        this.parser = parser;
+        this.queries = queries.clone();
+        this.root = new Node(null);
+
+        List<Integer> unmergedSlots = new ArrayList<>();
+        for (int slot = 0; slot < this.queries.length; slot++) {
+            Query query = this.queries[slot];
+            Objects.requireNonNull(query, "queries must not contain null");
+
+            PathQueryStage[] path = QueryPaths.extractPath(query.newQueryPipeline().rootPipelineStage());
+            if (path == null) {
+                unmergedSlots.add(slot);
+            } else {
+                root.insert(path, 0, slot);
+            }
+        }
+        root.seal();
+        this.unmergedSlots = unmergedSlots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public int size() {
+        return queries.length;
+    }
+
+    @Override
+    public List<Value> read(Input input) {
+        Objects.requireNonNull(input, "input must not be null");
+
+        Value[] values = new Value[queries.length];
+        Arrays.fill(values, Value.NULL_VALUE);
+
+        if (unmergedSlots.length < queries.length) {
+            BatchConsumer batchConsumer = new BatchConsumer(values);
+            QueryContext queryContext = parser.newQueryContext(input, batchConsumer);
+            root.visit(queryContext.offset(), queryContext, batchConsumer);
+        }
+
+        for (int slot : unmergedSlots) {
+            values[slot] = parser.read(input, queries[slot]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    private static final class Node {
+
+        private static final Node[] EMPTY_NODES = new Node[0];
+        private static final DictionaryLookupQueryStage[] EMPTY_LOOKUP_STAGES = new DictionaryLookupQueryStage[0];
+
+        private final PathQueryStage stage;
+
+        private List<Node> childList = new ArrayList<>();
+        private List<Integer> slotList = new ArrayList<>();
+
+        // Set up by seal()
+        private int[] slots;
+        private Node[] children;
+        private Node[] lookupChildren;
+        private Predicate<Value>[] lookupPredicates;
+
+        private Node(PathQueryStage stage) {
+            this.stage = stage;
+        }
+
+        private void insert(PathQueryStage[] path, int index, int slot) {
+            if (index == path.length) {
+                slotList.add(slot);
+                return;
+            }
+
+            PathQueryStage stage = path[index];
+            for (Node child : childList) {
+                if (child.stage.equals(stage)) {
+                    child.insert(path, index + 1, slot);
+                    return;
+                }
+            }
+
+            Node child = new Node(stage);
+            childList.add(child);
+            child.insert(path, index + 1, slot);
+        }
+
+        private void seal() {
+            slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+
+            List<Node> children = new ArrayList<>();
+            List<Node> lookupChildren = new ArrayList<>();
+            for (Node child : childList) {
+                child.seal();
+                if (child.stage instanceof DictionaryLookupQueryStage) {
+                    lookupChildren.add(child);
+                } else {
+                    children.add(child);
+                }
+            }
+
+            // A single lookup is as fast as a shared scan
+            if (lookupChildren.size() < 2) {
+                children.addAll(lookupChildren);
+                lookupChildren.clear();
+            }
+
+            this.children = children.toArray(EMPTY_NODES);
+            this.lookupChildren = lookupChildren.toArray(EMPTY_NODES);
+            @SuppressWarnings("unchecked")
+            Predicate<Value>[] lookupPredicates = lookupChildren.stream() //
+                                                               .map(child -> (DictionaryLookupQueryStage) child.stage) //
+                                                               .map(DictionaryLookupQueryStage::predicate) //
+                                                               .toArray(Predicate[]::new);
+            this.lookupPredicates = lookupPredicates;
+
+            childList = null;
+            slotList = null;
+        }
+
+        private void visit(long offset, QueryContext queryContext, BatchConsumer batchConsumer) {
+            for (int slot : slots) {
+                batchConsumer.slot = slot;
+                queryContext.offset(offset);
+                queryContext.consume(offset);
+            }
+
+            for (Node child : children) {
+                long childOffset = child.stage.resolveOffset(offset, queryContext);
+                if (childOffset != OFFSET_CODE_NULL) {
+                    child.visit(childOffset, queryContext, batchConsumer);
+                }
+            }
+
+            if (lookupPredicates.length > 0) {
+                long[] valueOffsets = new long[lookupPredicates.length];
+                DictionaryLookupQueryStage.resolveOffsets(lookupPredicates, offset, queryContext, valueOffsets);
+                for (int i = 0; i < lookupChildren.length; i++) {
+                    if (valueOffsets[i] != OFFSET_CODE_NULL) {
+                        lookupChildren[i].visit(valueOffsets[i], queryContext, batchConsumer);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class BatchConsumer
+            implements QueryConsumer {
+
+        private final Value[] values;
+        private int slot;
+
+        private BatchConsumer(Value[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean consume(Value value) {
+            values[slot] = value;
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Query;
+import com.noctarius.borabora.QueryCacheStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+final class QueryCache
+        implements QueryCacheStatistics {
+
+    static final int DISABLED = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final Map<String, Query> cache;
+
+    QueryCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.cache = new LruMap();
+    }
+
+    Query getOrPrepare(String query, Function<String, Query> preparer) {
+        if (maxSize == DISABLED) {
+            return preparer.apply(query);
+        }
+
+        Query prepared;
+        synchronized (cache) {
+            prepared = cache.get(query);
+        }
+        if (prepared != null) {
+            hits.increment();
+            return prepared;
+        }
+
+        // Parsing happens outside the lock, concurrent misses of the same
+        // query string might prepare it twice but only one instance is stored
+        misses.increment();
+        prepared = preparer.apply(query);
+        synchronized (cache) {
+            Query existing = cache.putIfAbsent(query, prepared);
+            return existing != null ? existing : prepared;
+        }
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private final class LruMap
+            extends LinkedHashMap<String, Query> {
+
+        private LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Query> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
@@ -25,13 +25,14 @@ import com.noctarius.borabora.spi.codec.TagDecoder;
 import com.noctarius.borabora.spi.codec.TagStrategy;
 import com.noctarius.borabora.spi.io.ByteSizes;
 import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.io.StringCache;
 import com.noctarius.borabora.spi.query.ProjectionStrategy;
 import com.noctarius.borabora.spi.query.QueryConsumer;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.QueryContextFactory;
 
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
@@ -42,14 +43,18 @@ final class QueryContextImpl
     private final QueryConsumer queryConsumer;
     private final QueryContextFactory queryContextFactory;
     private final ProjectionStrategy projectionStrategy;
-    private final Input input;
+    private final StringCache stringCache;
+
+    // Only reassigned when the context is reused
+    private Input input;
 
     // Queries are inherently thread-safe!
     private Deque<Object> stack;
     private long offset;
 
     QueryContextImpl(Input input, QueryConsumer queryConsumer, List<TagStrategy> tagStrategies,
-                     ProjectionStrategy projectionStrategy, QueryContextFactory queryContextFactory) {
+                     ProjectionStrategy projectionStrategy, QueryContextFactory queryContextFactory,
+                     StringCache stringCache) {
 
         Objects.requireNonNull(input, "input must not be null");
         Objects.requireNonNull(queryConsumer, "queryConsumer must not be null");
@@ -61,6 +66,22 @@ final class QueryContextImpl
         this.tagStrategies = tagStrategies;
         this.projectionStrategy = projectionStrategy;
         this.queryContextFactory = queryContextFactory;
+        this.stringCache = stringCache;
+    }
+
+    /**
+     * Resets this context to evaluate another query against the given <tt>input</tt>. Must only
+     * be called by the owner of the context, after the previous evaluation has finished.
+     *
+     * @param input the input to evaluate the next query against
+     */
+    void reset(Input input) {
+        Objects.requireNonNull(input, "input must not be null");
+        this.input = input;
+        this.offset = 0;
+        if (stack != null) {
+            stack.clear();
+        }
     }
 
     @Override
@@ -108,6 +129,11 @@ final class QueryContextImpl
         return queryContextFactory;
     }
 
+    @Override
+    public StringCache stringCache() {
+        return stringCache;
+    }
+
     @Override
     public boolean consume(long offset) {
         return queryConsumer.accept(offset, this);
@@ -168,7 +194,7 @@ final class QueryContextImpl
     // Queries are inherently thread-safe!
     private Deque<Object> getStack() {
         if (stack == null) {
-            stack = new LinkedList<>();
+            stack = new ArrayDeque<>();
         }
         return stack;
     }
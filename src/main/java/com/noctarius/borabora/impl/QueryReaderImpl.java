@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Query;
+import com.noctarius.borabora.QueryReader;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.ValueType;
+import com.noctarius.borabora.spi.RelocatableStreamValue;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryConsumer;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.noctarius.borabora.spi.io.Constants.EMPTY_BYTE_ARRAY;
+import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
+
+final class QueryReaderImpl
+        implements QueryReader, QueryConsumer {
+
+    private final ParserImpl parser;
+    private final RelocatableStreamValue streamValue = new RelocatableStreamValue();
+
+    // Null if a custom QueryContextFactory creates non-resettable contexts
+    private final QueryContextImpl queryContext;
+
+    private Consumer<Value> consumer;
+    private Value value;
+    private boolean evaluating;
+
+    QueryReaderImpl(ParserImpl parser) {
+        Objects.requireNonNull(parser, "parser must not be null");
+        this.parser = parser;
+        QueryContext queryContext = parser.newQueryContext(Input.fromByteArray(EMPTY_BYTE_ARRAY), this);
+        this.queryContext = queryContext instanceof QueryContextImpl ? (QueryContextImpl) queryContext : null;
+    }
+
+    @Override
+    public Value read(Input input, Query query) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(query, "query must not be null");
+        evaluate(input, query, null);
+        Value value = this.value;
+        this.value = null;
+        return value == null ? Value.NULL_VALUE : value;
+    }
+
+    @Override
+    public long readLong(Input input, Query query) {
+        return read(input, query).longValue();
+    }
+
+    @Override
+    public double readDouble(Input input, Query query) {
+        return read(input, query).doubleValue();
+    }
+
+    @Override
+    public boolean readBoolean(Input input, Query query) {
+        return read(input, query).booleanValue();
+    }
+
+    @Override
+    public void read(Input input, Query query, Consumer<Value> consumer) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        evaluate(input, query, consumer);
+    }
+
+    @Override
+    public boolean accept(long offset, QueryContext queryContext) {
+        if (offset == OFFSET_CODE_NULL) {
+            return consume(Value.NULL_VALUE);
+        }
+
+        MajorType majorType = Decoder.getMajorType(offset, queryContext.input());
+        ValueType valueType = queryContext.valueType(offset);
+        streamValue.relocate(queryContext, majorType, valueType, offset);
+        return consume(streamValue);
+    }
+
+    @Override
+    public boolean consume(Value value) {
+        Consumer<Value> consumer = this.consumer;
+        if (consumer == null) {
+            this.value = value;
+            return false;
+        }
+        consumer.accept(value);
+        return true;
+    }
+
+    private void evaluate(Input input, Query query, Consumer<Value> consumer) {
+        if (evaluating) {
+            throw new IllegalStateException("QueryReader cannot be used from inside of a consumer");
+        }
+
+        evaluating = true;
+        this.consumer = consumer;
+        try {
+            QueryContext queryContext = this.queryContext;
+            if (queryContext != null) {
+                this.queryContext.reset(input);
+            } else {
+                queryContext = parser.newQueryContext(input, this);
+            }
+            query.newQueryPipeline().evaluate(queryContext);
+
+        } finally {
+            this.consumer = null;
+            evaluating = false;
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.NoSuchByteException;
+
+import java.util.Objects;
+
+/**
+ * Limits the readable area of an {@link Input} to the offsets before <tt>end</tt>, without
+ * translating offsets. Used to evaluate a multi-stream query over a range of top-level items.
+ */
+final class SegmentInput
+        implements Input {
+
+    private final Input input;
+    private final long end;
+
+    SegmentInput(Input input, long end) {
+        Objects.requireNonNull(input, "input must not be null");
+        this.input = input;
+        this.end = end;
+    }
+
+    @Override
+    public byte read(long offset)
+            throws NoSuchByteException {
+
+        return input.read(offset);
+    }
+
+    @Override
+    public long read(byte[] bytes, long offset, int length)
+            throws NoSuchByteException {
+
+        return input.read(bytes, offset, length);
+    }
+
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        return input.readShort(offset);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
+        return input.readInt(offset);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        return input.readLong(offset);
+    }
+
+    @Override
+    public boolean offsetValid(long offset) {
+        return offset < end && input.offsetValid(offset);
+    }
+
+}
@@ -39,16 +39,17 @@ public final class SequenceImpl
 
     private final Input input;
     private final long size;
-    private final long[][] elementIndexes;
+    private final long elementsOffset;
+    private final ElementIndex elementIndex;
     private final QueryContext queryContext;
 
-    SequenceImpl(long size, long[][] elementIndexes, QueryContext queryContext) {
-        Objects.requireNonNull(elementIndexes, "elementIndexes must not be null");
+    SequenceImpl(long size, long elementsOffset, QueryContext queryContext) {
         Objects.requireNonNull(queryContext, "queryContext must not be null");
         this.size = size;
-        this.elementIndexes = elementIndexes;
+        this.elementsOffset = elementsOffset;
         this.queryContext = queryContext;
         this.input = queryContext.input();
+        this.elementIndex = new ElementIndex(input, elementsOffset, size);
     }
 
     @Override
@@ -65,8 +66,8 @@ public final class SequenceImpl
     public boolean contains(Predicate<Value> predicate) {
         Objects.requireNonNull(predicate, "predicate must not be null");
         RelocatableStreamValue streamValue = new RelocatableStreamValue();
+        long offset = elementsOffset;
         for (long i = 0; i < size; i++) {
-            long offset = calculateArrayIndex(i);
             short head = readUInt8(input, offset);
             MajorType majorType = MajorType.findMajorType(head);
             ValueType valueType = queryContext.valueType(offset);
@@ -75,6 +76,7 @@ public final class SequenceImpl
             if (predicate.test(streamValue)) {
                 return true;
             }
+            offset = Decoder.skip(input, majorType, offset);
         }
         return false;
     }
@@ -90,26 +92,28 @@ public final class SequenceImpl
             throw new IllegalStateException("Sequence size larger than Integer.MAX_VALUE, array cannot be created");
         }
         Value[] values = new Value[(int) size];
+        long offset = elementsOffset;
         for (int i = 0; i < size; i++) {
-            values[i] = get(i);
+            values[i] = Decoder.readValue(offset, queryContext);
+            offset = Decoder.skip(input, offset);
         }
         return values;
     }
 
     @Override
     public Value get(long sequenceIndex) {
-        if (sequenceIndex > size || sequenceIndex < 0) {
+        if (sequenceIndex >= size || sequenceIndex < 0) {
             return null;
         }
-        long offset = calculateArrayIndex(sequenceIndex);
+        long offset = elementIndex.offset(sequenceIndex);
         return Decoder.readValue(offset, queryContext);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[");
-        for (long i = 0; i < size; i++) {
-            sb.append(get(i)).append(", ");
+        for (Value value : this) {
+            sb.append(value).append(", ");
         }
         return sb.deleteCharAt(sb.length() - 1).deleteCharAt(sb.length() - 1).append(']').toString();
     }
@@ -117,8 +121,8 @@ public final class SequenceImpl
     @Override
     public String asString() {
         StringBuilder sb = new StringBuilder("[");
-        for (long i = 0; i < size; i++) {
-            sb.append(get(i).asString()).append(", ");
+        for (Value value : this) {
+            sb.append(value.asString()).append(", ");
         }
         return sb.deleteCharAt(sb.length() - 1).deleteCharAt(sb.length() - 1).append(']').toString();
     }
@@ -128,16 +132,11 @@ public final class SequenceImpl
         return false;
     }
 
-    private long calculateArrayIndex(long sequenceIndex) {
-        int baseIndex = (int) (sequenceIndex / Integer.MAX_VALUE);
-        int elementIndex = (int) (sequenceIndex % Integer.MAX_VALUE);
-        return elementIndexes[baseIndex][elementIndex];
-    }
-
     private class SequenceIterator
             implements Iterator<Value> {
 
         private long arrayIndex = 0;
+        private long offset = elementsOffset;
 
         @Override
         public boolean hasNext() {
@@ -150,8 +149,9 @@ public final class SequenceImpl
                 if (arrayIndex >= size) {
                     throw new NoSuchElementException("No further element available");
                 }
-                long offset = calculateArrayIndex(arrayIndex);
-                return Decoder.readValue(offset, queryContext);
+                Value value = Decoder.readValue(offset, queryContext);
+                offset = Decoder.skip(input, offset);
+                return value;
 
             } finally {
                 arrayIndex++;
@@ -164,8 +164,7 @@ public final class SequenceImpl
         Input input = queryContext.input();
         long headByteSize = ByteSizes.headByteSize(input, offset);
         long size = ElementCounts.sequenceElementCount(input, offset);
-        long[][] elementIndexes = Decoder.readElementIndexes(input, offset + headByteSize, size);
-        return new SequenceImpl(size, elementIndexes, queryContext);
+        return new SequenceImpl(size, offset + headByteSize, queryContext);
     }
 
 }
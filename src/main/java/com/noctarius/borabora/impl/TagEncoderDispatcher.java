@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.spi.codec.TagStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resolves the {@link TagStrategy} to encode a value with. The candidate strategies are
+ * computed once per runtime class using {@link TagStrategy#handlesType(Class)} and cached,
+ * subclasses are resolved the same way. Classes without any candidate are cached as an
+ * empty candidate list to fail fast on repeated unknown types.
+ */
+final class TagEncoderDispatcher {
+
+    private static final TagStrategy[] NO_CANDIDATES = new TagStrategy[0];
+
+    private final TagStrategy[] tagStrategies;
+
+    private final ClassValue<TagStrategy[]> candidates = new ClassValue<TagStrategy[]>() {
+        @Override
+        protected TagStrategy[] computeValue(Class<?> type) {
+            return findCandidates(type);
+        }
+    };
+
+    TagEncoderDispatcher(Collection<TagStrategy> tagStrategies) {
+        Objects.requireNonNull(tagStrategies, "tagStrategies must not be null");
+        this.tagStrategies = tagStrategies.toArray(new TagStrategy[tagStrategies.size()]);
+    }
+
+    TagStrategy find(Object value) {
+        TagStrategy[] candidates = this.candidates.get(value.getClass());
+        for (TagStrategy candidate : candidates) {
+            if (candidate.handles(value)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private TagStrategy[] findCandidates(Class<?> type) {
+        List<TagStrategy> candidates = new ArrayList<>();
+        for (TagStrategy tagStrategy : tagStrategies) {
+            if (tagStrategy.handlesType(type)) {
+                candidates.add(tagStrategy);
+            }
+        }
+        return candidates.isEmpty() ? NO_CANDIDATES : candidates.toArray(new TagStrategy[candidates.size()]);
+    }
+
+}
@@ -29,15 +29,17 @@ final class WriterImpl
         implements Writer {
 
     private final Map<Class<?>, TagStrategy> tagStrategies;
+    private final TagEncoderDispatcher tagEncoderDispatcher;
 
     WriterImpl(Map<Class<?>, TagStrategy> tagStrategies) {
         Objects.requireNonNull(tagStrategies, "tagStrategies must not be null");
         this.tagStrategies = tagStrategies;
+        this.tagEncoderDispatcher = new TagEncoderDispatcher(tagStrategies.values());
     }
 
     @Override
     public GraphBuilder newGraphBuilder(Output output) {
-        EncoderContext encoderContext = new EncoderContextImpl(output, tagStrategies);
+        EncoderContext encoderContext = new EncoderContextImpl(output, tagStrategies, tagEncoderDispatcher);
         return new GraphBuilderImpl(encoderContext);
     }
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Sequence;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.builder.encoder.SequenceBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+
+/**
+ * Writes arrays as definite sequences. Elements of primitive arrays are accessed through
+ * array element method handles, object arrays are accessed directly.
+ */
+final class ArrayCodec
+        implements TypeCodec {
+
+    private final Class<?> componentType;
+    private final TypeBinding componentBinding;
+    private final MethodHandle elementGetter;
+    private final MethodHandle elementSetter;
+    private final ScalarCodecs primitiveCodec;
+
+    ArrayCodec(Class<?> type, TypeBinding componentBinding) {
+        this.componentType = type.getComponentType();
+        this.componentBinding = componentBinding;
+        if (componentType.isPrimitive()) {
+            this.elementGetter = MethodHandles.arrayElementGetter(type) //
+                                              .asType(MethodType.methodType(Object.class, Object.class, int.class));
+            this.elementSetter = MethodHandles.arrayElementSetter(type) //
+                                              .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            this.primitiveCodec = ScalarCodecs.findScalarCodec(componentType);
+        } else {
+            this.elementGetter = null;
+            this.elementSetter = null;
+            this.primitiveCodec = null;
+        }
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        int length = Array.getLength(value);
+        SequenceBuilder<?> sequenceBuilder = builder.putSequence(length);
+        if (elementGetter == null) {
+            Object[] array = (Object[]) value;
+            for (Object element : array) {
+                componentBinding.write(element, sequenceBuilder);
+            }
+        } else {
+            try {
+                for (int i = 0; i < length; i++) {
+                    componentBinding.write((Object) elementGetter.invokeExact(value, i), sequenceBuilder);
+                }
+            } catch (Throwable t) {
+                throw TypeCodecs.rethrow(t);
+            }
+        }
+        sequenceBuilder.endSequence();
+    }
+
+    @Override
+    public Object read(Value value) {
+        Sequence sequence = value.sequence();
+        int length = Math.toIntExact(sequence.size());
+        Object array = Array.newInstance(componentType, length);
+        int index = 0;
+        if (elementSetter == null) {
+            Object[] elements = (Object[]) array;
+            for (Value element : sequence) {
+                elements[index++] = componentBinding.read(element);
+            }
+        } else {
+            try {
+                for (Value element : sequence) {
+                    Object elementValue = componentBinding.read(element);
+                    if (elementValue != null) {
+                        elementSetter.invokeExact(array, index, elementValue);
+                    }
+                    index++;
+                }
+            } catch (Throwable t) {
+                throw TypeCodecs.rethrow(t);
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) != MajorType.Sequence) {
+            return read(Decoder.readValue(offset, queryContext));
+        }
+        long elementCount = TypeCodecs.elementCount(input, offset);
+        if (elementCount == -1) {
+            // Indefinite sequences need to be counted upfront
+            return read(Decoder.readValue(offset, queryContext));
+        }
+
+        int length = Math.toIntExact(elementCount);
+        Object array = Array.newInstance(componentType, length);
+        long position = TypeCodecs.elementsOffset(input, offset);
+        for (int i = 0; i < length; i++) {
+            if (primitiveCodec == null) {
+                ((Object[]) array)[i] = componentBinding.decode(position, queryContext);
+            } else if (!TypeCodecs.isNull(input, position)) {
+                decodePrimitive(array, i, position, queryContext);
+            }
+            position = Decoder.skip(input, position);
+        }
+        return array;
+    }
+
+    private void decodePrimitive(Object array, int index, long offset, QueryContext queryContext) {
+        switch (primitiveCodec) {
+            case Bool:
+                ((boolean[]) array)[index] = ScalarCodecs.decodeBoolean(offset, queryContext);
+                break;
+            case Int8:
+                ((byte[]) array)[index] = ScalarCodecs.decodeByte(offset, queryContext);
+                break;
+            case Int16:
+                ((short[]) array)[index] = ScalarCodecs.decodeShort(offset, queryContext);
+                break;
+            case Int32:
+                ((int[]) array)[index] = ScalarCodecs.decodeInt(offset, queryContext);
+                break;
+            case Int64:
+                ((long[]) array)[index] = ScalarCodecs.decodeLong(offset, queryContext);
+                break;
+            case Float32:
+                ((float[]) array)[index] = (float) ScalarCodecs.decodeFloat(offset, queryContext);
+                break;
+            case Float64:
+                ((double[]) array)[index] = ScalarCodecs.decodeFloat(offset, queryContext);
+                break;
+            case Char:
+                ((char[]) array)[index] = ScalarCodecs.decodeChar(offset, queryContext);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported primitive component type: " + componentType);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Sequence;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.builder.encoder.SequenceBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Writes collections as definite sequences. Interface types are read into their common
+ * implementations, concrete types are created using their no-argument constructor.
+ */
+final class CollectionCodec
+        implements TypeCodec {
+
+    private final Class<?> type;
+    private final TypeBinding elementBinding;
+    private final MethodHandle constructor;
+
+    CollectionCodec(Class<?> type, TypeBinding elementBinding) {
+        this.type = type;
+        this.elementBinding = elementBinding;
+        this.constructor = TypeCodecs.constructor(type);
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        Collection<?> collection = (Collection<?>) value;
+        SequenceBuilder<?> sequenceBuilder = builder.putSequence(collection.size());
+        for (Object element : collection) {
+            elementBinding.write(element, sequenceBuilder);
+        }
+        sequenceBuilder.endSequence();
+    }
+
+    @Override
+    public Object read(Value value) {
+        Sequence sequence = value.sequence();
+        Collection<Object> collection = newCollection(sequence.size());
+        for (Value element : sequence) {
+            collection.add(elementBinding.read(element));
+        }
+        return collection;
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) != MajorType.Sequence) {
+            return read(Decoder.readValue(offset, queryContext));
+        }
+
+        long elementCount = TypeCodecs.elementCount(input, offset);
+        Collection<Object> collection = newCollection(Math.max(elementCount, 0));
+        long position = TypeCodecs.elementsOffset(input, offset);
+        for (long i = 0; TypeCodecs.hasNext(input, position, i, elementCount); i++) {
+            collection.add(elementBinding.decode(position, queryContext));
+            position = Decoder.skip(input, position);
+        }
+        return collection;
+    }
+
+    private Collection<Object> newCollection(long size) {
+        if (constructor != null) {
+            return (Collection<Object>) TypeCodecs.newInstance(constructor, type);
+        }
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>((int) Math.min(size, Integer.MAX_VALUE));
+        }
+        if (SortedSet.class == type || NavigableSet.class == type) {
+            return new TreeSet<>();
+        }
+        if (Set.class == type) {
+            return new LinkedHashSet<>();
+        }
+        if (type.isAssignableFrom(ArrayDeque.class) && Queue.class.isAssignableFrom(type)) {
+            return new ArrayDeque<>();
+        }
+        throw new IllegalArgumentException(type.getName() + " cannot be instantiated, no accessible constructor found");
+    }
+
+}
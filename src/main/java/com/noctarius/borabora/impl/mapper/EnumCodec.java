@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Utf8View;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.WrongTypeException;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+/**
+ * Writes enum constants by their name. While reading, definite text strings are matched
+ * against the constant names in place without decoding them.
+ */
+final class EnumCodec
+        implements TypeCodec {
+
+    private final Class<?> type;
+    private final Enum<?>[] constants;
+
+    EnumCodec(Class<?> type) {
+        this.type = type;
+        this.constants = (Enum<?>[]) type.getEnumConstants();
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        builder.putTextString(((Enum<?>) value).name());
+    }
+
+    @Override
+    public Object read(Value value) {
+        if (value.majorType() == MajorType.TextString) {
+            Enum<?> constant = findConstant(value.stringView());
+            if (constant != null) {
+                return constant;
+            }
+        } else {
+            String name = value.string();
+            for (Enum<?> constant : constants) {
+                if (constant.name().equals(name)) {
+                    return constant;
+                }
+            }
+        }
+        throw new WrongTypeException(value.offset(), "No enum constant " + type.getName() + "." + value.string());
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        if (Decoder.getMajorType(offset, queryContext.input()) == MajorType.TextString) {
+            Enum<?> constant = findConstant(Decoder.readStringView(queryContext.input(), offset));
+            if (constant != null) {
+                return constant;
+            }
+        }
+        return read(Decoder.readValue(offset, queryContext));
+    }
+
+    private Enum<?> findConstant(Utf8View name) {
+        for (Enum<?> constant : constants) {
+            if (name.contentEquals(constant.name())) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+}
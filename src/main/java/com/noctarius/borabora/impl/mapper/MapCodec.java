@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Dictionary;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.builder.encoder.DictionaryBuilder;
+import com.noctarius.borabora.builder.encoder.DictionaryEntryBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.lang.invoke.MethodHandle;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Writes maps as definite dictionaries. Interface types are read into their common
+ * implementations, concrete types are created using their no-argument constructor.
+ */
+final class MapCodec
+        implements TypeCodec {
+
+    private final Class<?> type;
+    private final TypeBinding keyBinding;
+    private final TypeBinding valueBinding;
+    private final MethodHandle constructor;
+
+    MapCodec(Class<?> type, TypeBinding keyBinding, TypeBinding valueBinding) {
+        this.type = type;
+        this.keyBinding = keyBinding;
+        this.valueBinding = valueBinding;
+        this.constructor = TypeCodecs.constructor(type);
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        DictionaryBuilder<?> dictionaryBuilder = builder.putDictionary(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            DictionaryEntryBuilder<?> entryBuilder = dictionaryBuilder.putEntry();
+            keyBinding.write(entry.getKey(), entryBuilder);
+            valueBinding.write(entry.getValue(), entryBuilder);
+            entryBuilder.endEntry();
+        }
+        dictionaryBuilder.endDictionary();
+    }
+
+    @Override
+    public Object read(Value value) {
+        Dictionary dictionary = value.dictionary();
+        Map<Object, Object> map = newMap(dictionary.size());
+        for (Map.Entry<Value, Value> entry : dictionary) {
+            map.put(keyBinding.read(entry.getKey()), valueBinding.read(entry.getValue()));
+        }
+        return map;
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) != MajorType.Dictionary) {
+            return read(Decoder.readValue(offset, queryContext));
+        }
+
+        long elementCount = TypeCodecs.elementCount(input, offset);
+        Map<Object, Object> map = newMap(Math.max(elementCount, 0));
+        long position = TypeCodecs.elementsOffset(input, offset);
+        for (long i = 0; TypeCodecs.hasNext(input, position, i, elementCount); i++) {
+            long valuePosition = Decoder.skip(input, position);
+            map.put(keyBinding.decode(position, queryContext), valueBinding.decode(valuePosition, queryContext));
+            position = Decoder.skip(input, valuePosition);
+        }
+        return map;
+    }
+
+    private Map<Object, Object> newMap(long size) {
+        if (constructor != null) {
+            return (Map<Object, Object>) TypeCodecs.newInstance(constructor, type);
+        }
+        if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return new LinkedHashMap<>((int) Math.min(size * 4 / 3 + 1, Integer.MAX_VALUE));
+        }
+        if (SortedMap.class == type || NavigableMap.class == type) {
+            return new TreeMap<>();
+        }
+        throw new IllegalArgumentException(type.getName() + " cannot be instantiated, no accessible constructor found");
+    }
+
+}
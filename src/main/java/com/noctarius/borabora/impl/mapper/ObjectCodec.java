@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Dictionary;
+import com.noctarius.borabora.Sequence;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.ValueTypes;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handles values declared as {@link Object}. Values are written using the codec of their
+ * runtime class, data items are read into their natural Java representation, sequences as
+ * {@link ArrayList}s and dictionaries as {@link LinkedHashMap}s.
+ */
+final class ObjectCodec
+        implements TypeCodec {
+
+    private final TypeCodecs typeCodecs;
+
+    ObjectCodec(TypeCodecs typeCodecs) {
+        this.typeCodecs = typeCodecs;
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        if (value.getClass() == Object.class) {
+            throw new IllegalArgumentException("Instances of java.lang.Object cannot be mapped");
+        }
+        typeCodecs.write(value, builder);
+    }
+
+    @Override
+    public Object read(Value value) {
+        switch (value.majorType()) {
+            case UnsignedInteger:
+            case NegativeInteger:
+                return value.number();
+
+            case ByteString:
+                return value.bytes();
+
+            case TextString:
+                return value.string();
+
+            case Sequence:
+                return readSequence(value.sequence());
+
+            case Dictionary:
+                return readDictionary(value.dictionary());
+
+            case SemanticTag:
+                return value.tag();
+
+            default:
+                if (value.isNull() || value.valueType() == ValueTypes.Undefined) {
+                    return null;
+                }
+                if (value.valueType() == ValueTypes.Bool) {
+                    return value.bool();
+                }
+                return value.number();
+        }
+    }
+
+    private List<Object> readSequence(Sequence sequence) {
+        List<Object> list = new ArrayList<>((int) Math.min(sequence.size(), Integer.MAX_VALUE));
+        for (Value element : sequence) {
+            list.add(element.isNull() ? null : read(element));
+        }
+        return list;
+    }
+
+    private Map<Object, Object> readDictionary(Dictionary dictionary) {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<Value, Value> entry : dictionary) {
+            Value value = entry.getValue();
+            map.put(read(entry.getKey()), value.isNull() ? null : read(value));
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.ObjectMapper;
+import com.noctarius.borabora.Output;
+import com.noctarius.borabora.Parser;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.Writer;
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+
+import java.util.Objects;
+
+public final class ObjectMapperImpl
+        implements ObjectMapper {
+
+    private final TypeCodecs typeCodecs = new TypeCodecs();
+
+    private final Writer writer;
+    private final Parser parser;
+
+    public ObjectMapperImpl(Writer writer, Parser parser) {
+        Objects.requireNonNull(writer, "writer must not be null");
+        Objects.requireNonNull(parser, "parser must not be null");
+        this.writer = writer;
+        this.parser = parser;
+    }
+
+    @Override
+    public <B> B write(Object value, ValueBuilder<B> builder) {
+        Objects.requireNonNull(builder, "builder must not be null");
+        typeCodecs.write(value, builder);
+        return (B) builder;
+    }
+
+    @Override
+    public void write(Object value, Output output) {
+        Objects.requireNonNull(output, "output must not be null");
+        GraphBuilder graphBuilder = writer.newGraphBuilder(output);
+        typeCodecs.write(value, graphBuilder);
+        graphBuilder.finishStream();
+    }
+
+    @Override
+    public <T> T read(Value value, Class<T> type) {
+        Objects.requireNonNull(value, "value must not be null");
+        Objects.requireNonNull(type, "type must not be null");
+        if (value.isNull()) {
+            return null;
+        }
+        return (T) typeCodecs.codecFor(type).read(value);
+    }
+
+    @Override
+    public <T> T read(Input input, Class<T> type) {
+        return read(input, 0, type);
+    }
+
+    @Override
+    public <T> T read(Input input, long offset, Class<T> type) {
+        Objects.requireNonNull(input, "input must not be null");
+        Objects.requireNonNull(type, "type must not be null");
+        return parser.decode(input, offset, type);
+    }
+
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Dictionary;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Utf8View;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.ValueTypes;
+import com.noctarius.borabora.builder.encoder.DictionaryBuilder;
+import com.noctarius.borabora.builder.encoder.DictionaryEntryBuilder;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.ByteSizes;
+import com.noctarius.borabora.spi.io.Bytes;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes plain Java objects and records as definite dictionaries, one entry per property
+ * keyed by the property name. All property accessors and constructors are bound to method
+ * handles when the codec is created.
+ * <p>Dictionary keys are matched against the property names in place. Properties are
+ * expected in their written order, so the lookup starts at the property following the
+ * previously matched one and, for streams written by this codec, finds it first try.</p>
+ * <p>Decoding from the stream walks the dictionary once, compares definite text string keys
+ * byte by byte against the UTF-8 encoded property names and assigns primitive fields of
+ * plain Java objects through exactly typed setters, without boxing.</p>
+ */
+final class PojoCodec
+        implements TypeCodec {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final Property[] properties;
+    private final MethodHandle constructor;
+    // Default constructor arguments of records, null for plain Java objects
+    private final Object[] defaultArguments;
+
+    private PojoCodec(Class<?> type, Property[] properties, MethodHandle constructor, Object[] defaultArguments) {
+        this.type = type;
+        this.properties = properties;
+        this.constructor = constructor;
+        this.defaultArguments = defaultArguments;
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        DictionaryBuilder<?> dictionaryBuilder = builder.putDictionary(properties.length);
+        try {
+            for (Property property : properties) {
+                DictionaryEntryBuilder<?> entryBuilder = dictionaryBuilder.putEntry().putTextString(property.name);
+                property.binding.write((Object) property.getter.invokeExact(value), entryBuilder);
+                entryBuilder.endEntry();
+            }
+        } catch (Throwable t) {
+            throw TypeCodecs.rethrow(t);
+        }
+        dictionaryBuilder.endDictionary();
+    }
+
+    @Override
+    public Object read(Value value) {
+        Dictionary dictionary = value.dictionary();
+        try {
+            if (defaultArguments == null) {
+                Object instance = TypeCodecs.newInstance(constructor, type);
+                int hint = 0;
+                for (Map.Entry<Value, Value> entry : dictionary) {
+                    Property property = findProperty(entry.getKey(), hint);
+                    if (property != null) {
+                        Object propertyValue = property.binding.read(entry.getValue());
+                        if (propertyValue != null || !property.primitive) {
+                            property.setter.invokeExact(instance, propertyValue);
+                        }
+                        hint = property.index + 1;
+                    }
+                }
+                return instance;
+            }
+
+            Object[] arguments = defaultArguments.clone();
+            int hint = 0;
+            for (Map.Entry<Value, Value> entry : dictionary) {
+                Property property = findProperty(entry.getKey(), hint);
+                if (property != null) {
+                    Object propertyValue = property.binding.read(entry.getValue());
+                    if (propertyValue != null || !property.primitive) {
+                        arguments[property.index] = propertyValue;
+                    }
+                    hint = property.index + 1;
+                }
+            }
+            if (constructor == null) {
+                throw new IllegalArgumentException(type.getName() + " cannot be instantiated, no accessible constructor found");
+            }
+            return (Object) constructor.invokeExact(arguments);
+
+        } catch (Throwable t) {
+            throw TypeCodecs.rethrow(t);
+        }
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) != MajorType.Dictionary) {
+            return read(Decoder.readValue(offset, queryContext));
+        }
+
+        Object instance = null;
+        Object[] arguments = null;
+        if (defaultArguments == null) {
+            instance = TypeCodecs.newInstance(constructor, type);
+        } else {
+            arguments = defaultArguments.clone();
+        }
+
+        try {
+            long elementCount = TypeCodecs.elementCount(input, offset);
+            long position = TypeCodecs.elementsOffset(input, offset);
+            int hint = 0;
+            for (long i = 0; TypeCodecs.hasNext(input, position, i, elementCount); i++) {
+                long valuePosition = Decoder.skip(input, position);
+                Property property = findProperty(position, hint, queryContext);
+                if (property != null) {
+                    if (instance != null) {
+                        decodeProperty(property, instance, valuePosition, queryContext);
+                    } else {
+                        Object propertyValue = property.binding.decode(valuePosition, queryContext);
+                        if (propertyValue != null || !property.primitive) {
+                            arguments[property.index] = propertyValue;
+                        }
+                    }
+                    hint = property.index + 1;
+                }
+                position = Decoder.skip(input, valuePosition);
+            }
+            if (instance != null) {
+                return instance;
+            }
+            if (constructor == null) {
+                throw new IllegalArgumentException(type.getName() + " cannot be instantiated, no accessible constructor found");
+            }
+            return (Object) constructor.invokeExact(arguments);
+
+        } catch (Throwable t) {
+            throw TypeCodecs.rethrow(t);
+        }
+    }
+
+    private void decodeProperty(Property property, Object instance, long offset, QueryContext queryContext)
+            throws Throwable {
+
+        if (property.primitiveCodec == null) {
+            property.setter.invokeExact(instance, property.binding.decode(offset, queryContext));
+            return;
+        }
+        if (TypeCodecs.isNull(queryContext.input(), offset)) {
+            return;
+        }
+
+        MethodHandle setter = property.primitiveSetter;
+        switch (property.primitiveCodec) {
+            case Bool:
+                setter.invokeExact(instance, ScalarCodecs.decodeBoolean(offset, queryContext));
+                break;
+            case Int8:
+                setter.invokeExact(instance, ScalarCodecs.decodeByte(offset, queryContext));
+                break;
+            case Int16:
+                setter.invokeExact(instance, ScalarCodecs.decodeShort(offset, queryContext));
+                break;
+            case Int32:
+                setter.invokeExact(instance, ScalarCodecs.decodeInt(offset, queryContext));
+                break;
+            case Int64:
+                setter.invokeExact(instance, ScalarCodecs.decodeLong(offset, queryContext));
+                break;
+            case Float32:
+                setter.invokeExact(instance, (float) ScalarCodecs.decodeFloat(offset, queryContext));
+                break;
+            case Float64:
+                setter.invokeExact(instance, ScalarCodecs.decodeFloat(offset, queryContext));
+                break;
+            case Char:
+                setter.invokeExact(instance, ScalarCodecs.decodeChar(offset, queryContext));
+                break;
+            default:
+                throw new IllegalStateException("Unsupported primitive property type: " + property.binding.rawType());
+        }
+    }
+
+    private Property findProperty(long offset, int hint, QueryContext queryContext) {
+        Input input = queryContext.input();
+        short head = Bytes.readUInt8(input, offset);
+        if (MajorType.findMajorType(head) != MajorType.TextString
+                || Decoder.additionalInfo(head) == Constants.ADD_INFO_INDEFINITE) {
+
+            return findProperty(Decoder.readValue(offset, queryContext), hint);
+        }
+
+        long dataSize = ByteSizes.stringDataSize(input, offset);
+        long dataOffset = offset + ByteSizes.headByteSize(input, offset);
+        int length = properties.length;
+        for (int i = 0; i < length; i++) {
+            int index = hint + i;
+            if (index >= length) {
+                index -= length;
+            }
+            Property property = properties[index];
+            if (property.matches(input, dataOffset, dataSize)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private Property findProperty(Value key, int hint) {
+        CharSequence name;
+        if (key.majorType() == MajorType.TextString) {
+            name = key.stringView();
+        } else if (key.valueType() == ValueTypes.ASCII) {
+            name = key.string();
+        } else {
+            return null;
+        }
+
+        int length = properties.length;
+        for (int i = 0; i < length; i++) {
+            int index = hint + i;
+            if (index >= length) {
+                index -= length;
+            }
+            Property property = properties[index];
+            if (property.matches(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    static PojoCodec newPojoCodec(Class<?> type, TypeCodecs typeCodecs) {
+        try {
+            return Records.isRecord(type) ? newRecordCodec(type, typeCodecs) : newObjectCodec(type, typeCodecs);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(type.getName() + " cannot be mapped", e);
+        }
+    }
+
+    private static PojoCodec newObjectCodec(Class<?> type, TypeCodecs typeCodecs)
+            throws IllegalAccessException {
+
+        List<Field> fields = new ArrayList<>();
+        collectFields(type, fields);
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Set<String> names = new HashSet<>();
+        Property[] properties = new Property[fields.size()];
+        for (int i = 0; i < properties.length; i++) {
+            Field field = fields.get(i);
+            if (!names.add(field.getName())) {
+                throw new IllegalArgumentException("Duplicate property name '" + field.getName() + "' in " + type.getName());
+            }
+            field.setAccessible(true);
+            MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            MethodHandle setter = lookup.unreflectSetter(field);
+            MethodHandle primitiveSetter = null;
+            if (field.getType().isPrimitive()) {
+                primitiveSetter = setter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+            }
+            TypeBinding binding = typeCodecs.binding(field.getGenericType());
+            properties[i] = new Property(field.getName(), i, binding, getter, setter.asType(SETTER_TYPE), primitiveSetter);
+        }
+        return new PojoCodec(type, properties, TypeCodecs.constructor(type), null);
+    }
+
+    private static PojoCodec newRecordCodec(Class<?> type, TypeCodecs typeCodecs)
+            throws IllegalAccessException {
+
+        Object[] recordComponents = Records.recordComponents(type);
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Property[] properties = new Property[recordComponents.length];
+        Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+        Object[] defaultArguments = new Object[recordComponents.length];
+        for (int i = 0; i < properties.length; i++) {
+            Object recordComponent = recordComponents[i];
+            Method accessor = Records.accessor(recordComponent);
+            accessor.setAccessible(true);
+            MethodHandle getter = lookup.unreflect(accessor).asType(GETTER_TYPE);
+            TypeBinding binding = typeCodecs.binding(Records.genericType(recordComponent));
+            properties[i] = new Property(Records.name(recordComponent), i, binding, getter, null, null);
+
+            Class<?> parameterType = binding.rawType();
+            parameterTypes[i] = parameterType;
+            if (parameterType.isPrimitive()) {
+                defaultArguments[i] = Array.get(Array.newInstance(parameterType, 1), 0);
+            }
+        }
+
+        MethodHandle constructor = TypeCodecs.constructor(type, parameterTypes);
+        if (constructor != null) {
+            constructor = constructor.asSpreader(Object[].class, parameterTypes.length);
+        }
+        return new PojoCodec(type, properties, constructor, defaultArguments);
+    }
+
+    private static void collectFields(Class<?> type, List<Field> fields) {
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && superclass != Object.class) {
+            collectFields(superclass, fields);
+        }
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final byte[] nameBytes;
+        private final int index;
+        private final TypeBinding binding;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle primitiveSetter;
+        private final ScalarCodecs primitiveCodec;
+        private final boolean primitive;
+
+        private Property(String name, int index, TypeBinding binding, MethodHandle getter, MethodHandle setter,
+                         MethodHandle primitiveSetter) {
+
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.index = index;
+            this.binding = binding;
+            this.getter = getter;
+            this.setter = setter;
+            this.primitiveSetter = primitiveSetter;
+            this.primitive = binding.rawType().isPrimitive();
+            this.primitiveCodec = primitiveSetter != null ? ScalarCodecs.findScalarCodec(binding.rawType()) : null;
+        }
+
+        private boolean matches(Input input, long dataOffset, long dataSize) {
+            if (nameBytes.length != dataSize) {
+                return false;
+            }
+            for (int i = 0; i < nameBytes.length; i++) {
+                if (input.read(dataOffset + i) != nameBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(CharSequence name) {
+            if (name instanceof Utf8View) {
+                return ((Utf8View) name).contentEquals(this.name);
+            }
+            return this.name.contentEquals(name);
+        }
+    }
+
+}
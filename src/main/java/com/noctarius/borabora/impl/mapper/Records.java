@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Accesses record components reflectively, to support records (Java 16+) while still
+ * running on older Java versions. The reflective calls only happen while a codec is
+ * created, never while reading or writing values.
+ */
+final class Records {
+
+    private static final Method IS_RECORD;
+    private static final Method GET_RECORD_COMPONENTS;
+    private static final Method GET_NAME;
+    private static final Method GET_GENERIC_TYPE;
+    private static final Method GET_ACCESSOR;
+
+    static {
+        Method isRecord = null;
+        Method getRecordComponents = null;
+        Method getName = null;
+        Method getGenericType = null;
+        Method getAccessor = null;
+        try {
+            Class<?> recordComponentClass = Class.forName("java.lang.reflect.RecordComponent");
+            isRecord = Class.class.getMethod("isRecord");
+            getRecordComponents = Class.class.getMethod("getRecordComponents");
+            getName = recordComponentClass.getMethod("getName");
+            getGenericType = recordComponentClass.getMethod("getGenericType");
+            getAccessor = recordComponentClass.getMethod("getAccessor");
+
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // Records not supported by this Java version
+        }
+        IS_RECORD = isRecord;
+        GET_RECORD_COMPONENTS = getRecordComponents;
+        GET_NAME = getName;
+        GET_GENERIC_TYPE = getGenericType;
+        GET_ACCESSOR = getAccessor;
+    }
+
+    private Records() {
+    }
+
+    static boolean isRecord(Class<?> type) {
+        return IS_RECORD != null && (boolean) invoke(IS_RECORD, type);
+    }
+
+    static Object[] recordComponents(Class<?> type) {
+        return (Object[]) invoke(GET_RECORD_COMPONENTS, type);
+    }
+
+    static String name(Object recordComponent) {
+        return (String) invoke(GET_NAME, recordComponent);
+    }
+
+    static Type genericType(Object recordComponent) {
+        return (Type) invoke(GET_GENERIC_TYPE, recordComponent);
+    }
+
+    static Method accessor(Object recordComponent) {
+        return (Method) invoke(GET_ACCESSOR, recordComponent);
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Record component could not be accessed", e);
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.WrongTypeException;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+enum ScalarCodecs
+        implements TypeCodec {
+
+    Bool((v, b) -> b.putBoolean((boolean) v), Value::booleanValue, //
+            ScalarCodecs::decodeBoolean, boolean.class, Boolean.class),
+
+    Int8((v, b) -> b.putNumber((byte) v), (v) -> (byte) readInteger(v, Byte.MIN_VALUE, Byte.MAX_VALUE), //
+            ScalarCodecs::decodeByte, byte.class, Byte.class),
+
+    Int16((v, b) -> b.putNumber((short) v), (v) -> (short) readInteger(v, Short.MIN_VALUE, Short.MAX_VALUE), //
+            ScalarCodecs::decodeShort, short.class, Short.class),
+
+    Int32((v, b) -> b.putNumber((int) v), (v) -> (int) readInteger(v, Integer.MIN_VALUE, Integer.MAX_VALUE), //
+            ScalarCodecs::decodeInt, int.class, Integer.class),
+
+    Int64((v, b) -> b.putNumber((long) v), (v) -> readInteger(v, Long.MIN_VALUE, Long.MAX_VALUE), //
+            ScalarCodecs::decodeLong, long.class, Long.class),
+
+    Float32((v, b) -> b.putNumber((float) v), (v) -> (float) v.doubleValue(), //
+            (o, q) -> (float) decodeFloat(o, q), float.class, Float.class),
+
+    Float64((v, b) -> b.putNumber((double) v), Value::doubleValue, ScalarCodecs::decodeFloat, double.class, Double.class),
+
+    Char((v, b) -> b.putTextString(String.valueOf((char) v)), ScalarCodecs::readChar, //
+            ScalarCodecs::decodeChar, char.class, Character.class),
+
+    Text((v, b) -> b.putTextString((String) v), Value::string, ScalarCodecs::decodeString, String.class),
+
+    Bytes((v, b) -> b.putByteString((byte[]) v), Value::bytes, null, byte[].class),
+
+    Numeric((v, b) -> b.putValue(v), Value::number, null, Number.class),
+
+    BigNum((v, b) -> b.putBigInteger((BigInteger) v), ScalarCodecs::readBigInteger, null, BigInteger.class),
+
+    Fraction((v, b) -> b.putFraction((BigDecimal) v), Value::tag, null, BigDecimal.class),
+
+    URI((v, b) -> b.putURI((java.net.URI) v), Value::tag, null, java.net.URI.class),
+
+    DateTime((v, b) -> b.putDateTime((Date) v), (v) -> Date.from(v.tag()), null, Date.class),
+
+    InstantDateTime((v, b) -> b.putDateTime((Instant) v), Value::tag, null, Instant.class);
+
+    private static final Map<Class<?>, ScalarCodecs> SCALAR_CODECS = new HashMap<>();
+
+    static {
+        for (ScalarCodecs scalarCodec : values()) {
+            for (Class<?> type : scalarCodec.types) {
+                SCALAR_CODECS.put(type, scalarCodec);
+            }
+        }
+    }
+
+    private final BiConsumer<Object, ValueBuilder<?>> writer;
+    private final Function<Value, Object> reader;
+    private final StreamDecoder decoder;
+    private final Class<?>[] types;
+
+    ScalarCodecs(BiConsumer<Object, ValueBuilder<?>> writer, Function<Value, Object> reader, StreamDecoder decoder,
+                 Class<?>... types) {
+
+        this.writer = writer;
+        this.reader = reader;
+        this.decoder = decoder;
+        this.types = types;
+    }
+
+    @Override
+    public void write(Object value, ValueBuilder<?> builder) {
+        writer.accept(value, builder);
+    }
+
+    @Override
+    public Object read(Value value) {
+        return reader.apply(value);
+    }
+
+    @Override
+    public Object decode(long offset, QueryContext queryContext) {
+        if (decoder == null) {
+            return read(Decoder.readValue(offset, queryContext));
+        }
+        return decoder.decode(offset, queryContext);
+    }
+
+    static ScalarCodecs findScalarCodec(Class<?> type) {
+        return SCALAR_CODECS.get(type);
+    }
+
+    static boolean decodeBoolean(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        short head = Decoder.readUInt8(input, offset);
+        if (MajorType.findMajorType(head) == MajorType.FloatingPointOrSimple) {
+            int addInfo = Decoder.additionalInfo(head);
+            if (addInfo == Constants.FP_VALUE_FALSE || addInfo == Constants.FP_VALUE_TRUE) {
+                return addInfo == Constants.FP_VALUE_TRUE;
+            }
+        }
+        return Decoder.readValue(offset, queryContext).booleanValue();
+    }
+
+    static byte decodeByte(long offset, QueryContext queryContext) {
+        return (byte) decodeInteger(offset, queryContext, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    static short decodeShort(long offset, QueryContext queryContext) {
+        return (short) decodeInteger(offset, queryContext, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    static int decodeInt(long offset, QueryContext queryContext) {
+        return (int) decodeInteger(offset, queryContext, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    static long decodeLong(long offset, QueryContext queryContext) {
+        return decodeInteger(offset, queryContext, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static long decodeInteger(long offset, QueryContext queryContext, long minValue, long maxValue) {
+        Input input = queryContext.input();
+        MajorType majorType = Decoder.getMajorType(offset, input);
+        if (majorType != MajorType.UnsignedInteger && majorType != MajorType.NegativeInteger) {
+            return readInteger(Decoder.readValue(offset, queryContext), minValue, maxValue);
+        }
+        // 64 bit values outside of the long range would be narrowed
+        if (!Decoder.isIntInLongRange(input, offset)) {
+            Number number = Decoder.readInt(input, offset);
+            throw new WrongTypeException(offset, "Value " + number + " exceeds the range of the target type");
+        }
+        long longValue = Decoder.readIntAsLong(input, offset);
+        if (longValue < minValue || longValue > maxValue) {
+            throw new WrongTypeException(offset, "Value " + longValue + " exceeds the range of the target type");
+        }
+        return longValue;
+    }
+
+    static double decodeFloat(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) == MajorType.FloatingPointOrSimple) {
+            int addInfo = Decoder.additionalInfo(input, offset);
+            if (addInfo == Constants.FP_VALUE_HALF_PRECISION || addInfo == Constants.FP_VALUE_SINGLE_PRECISION
+                    || addInfo == Constants.FP_VALUE_DOUBLE_PRECISION) {
+                return Decoder.readFloatAsDouble(input, offset);
+            }
+        }
+        return Decoder.readValue(offset, queryContext).doubleValue();
+    }
+
+    static char decodeChar(long offset, QueryContext queryContext) {
+        String string = decodeString(offset, queryContext);
+        if (string.length() != 1) {
+            throw new WrongTypeException(offset, "Expected a single character string but found '" + string + "'");
+        }
+        return string.charAt(0);
+    }
+
+    private static String decodeString(long offset, QueryContext queryContext) {
+        Input input = queryContext.input();
+        if (Decoder.getMajorType(offset, input) == MajorType.TextString) {
+            return Decoder.readString(input, offset, queryContext);
+        }
+        return Decoder.readValue(offset, queryContext).string();
+    }
+
+    private static long readInteger(Value value, long minValue, long maxValue) {
+        Number number = value.number();
+        if (number == null) {
+            throw new WrongTypeException(value.offset(), "Requested an integer but the value is null");
+        }
+        // Check the exact value, BigInteger::longValue would silently narrow it
+        if (number instanceof BigInteger && ((BigInteger) number).bitLength() > 63) {
+            throw new WrongTypeException(value.offset(), "Value " + number + " exceeds the range of the target type");
+        }
+        long longValue = number.longValue();
+        if (longValue < minValue || longValue > maxValue) {
+            throw new WrongTypeException(value.offset(), "Value " + longValue + " exceeds the range of the target type");
+        }
+        return longValue;
+    }
+
+    private static char readChar(Value value) {
+        String string = value.string();
+        if (string.length() != 1) {
+            throw new WrongTypeException(value.offset(), "Expected a single character string but found '" + string + "'");
+        }
+        return string.charAt(0);
+    }
+
+    private static BigInteger readBigInteger(Value value) {
+        Number number = value.number();
+        return number instanceof BigInteger ? (BigInteger) number : BigInteger.valueOf(number.longValue());
+    }
+
+    private interface StreamDecoder {
+        Object decode(long offset, QueryContext queryContext);
+    }
+
+}
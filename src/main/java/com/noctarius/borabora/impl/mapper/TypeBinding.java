@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Binds a declared type, like a property, element or key type, to its codec. The codec is
+ * resolved on first use to support self-referencing types. Values of non-final classes are
+ * written using the codec of their runtime class to not lose subclass properties.
+ */
+final class TypeBinding {
+
+    private final TypeCodecs typeCodecs;
+    private final Type type;
+    private final Class<?> rawType;
+    private final boolean exact;
+
+    // Benign race, concurrent resolution results in the same codec
+    private TypeCodec typeCodec;
+
+    TypeBinding(TypeCodecs typeCodecs, Type type) {
+        this.typeCodecs = typeCodecs;
+        this.type = type;
+        this.rawType = TypeCodecs.rawType(type);
+        this.exact = isExact(rawType);
+    }
+
+    Class<?> rawType() {
+        return rawType;
+    }
+
+    void write(Object value, ValueBuilder<?> builder) {
+        if (value == null) {
+            builder.putValue(null);
+        } else if (exact || value.getClass() == rawType) {
+            typeCodec().write(value, builder);
+        } else {
+            typeCodecs.codecFor(value.getClass()).write(value, builder);
+        }
+    }
+
+    Object read(Value value) {
+        return value.isNull() ? null : typeCodec().read(value);
+    }
+
+    Object decode(long offset, QueryContext queryContext) {
+        return TypeCodecs.isNull(queryContext.input(), offset) ? null : typeCodec().decode(offset, queryContext);
+    }
+
+    private TypeCodec typeCodec() {
+        TypeCodec typeCodec = this.typeCodec;
+        if (typeCodec == null) {
+            typeCodec = typeCodecs.codecFor(type);
+            this.typeCodec = typeCodec;
+        }
+        return typeCodec;
+    }
+
+    private static boolean isExact(Class<?> rawType) {
+        return rawType.isPrimitive() || rawType.isArray() || rawType == Object.class //
+                || Modifier.isFinal(rawType.getModifiers()) || Enum.class.isAssignableFrom(rawType) //
+                || Collection.class.isAssignableFrom(rawType) || Map.class.isAssignableFrom(rawType);
+    }
+
+}
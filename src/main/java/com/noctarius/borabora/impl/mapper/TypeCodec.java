@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.QueryContext;
+
+/**
+ * A <tt>TypeCodec</tt> writes and reads non-null values of a single Java type. Codecs are
+ * created once per type and are immutable, null values are handled by the callers.
+ * <p>Besides reading from {@link Value}s, codecs decode directly from the stream. The default
+ * implementation falls back to reading a value created at the given offset.</p>
+ */
+interface TypeCodec {
+
+    void write(Object value, ValueBuilder<?> builder);
+
+    Object read(Value value);
+
+    default Object decode(long offset, QueryContext queryContext) {
+        return read(Decoder.readValue(offset, queryContext));
+    }
+
+}
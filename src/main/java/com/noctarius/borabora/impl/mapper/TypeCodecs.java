@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.builder.encoder.ValueBuilder;
+import com.noctarius.borabora.spi.io.ByteSizes;
+import com.noctarius.borabora.spi.io.Bytes;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.io.ElementCounts;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Resolves and caches the {@link TypeCodec}s of a single mapper instance. Codecs of classes
+ * are created once per class, codecs of parameterized types are created per binding.
+ */
+final class TypeCodecs {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final TypeCodec objectCodec = new ObjectCodec(this);
+
+    private final ClassValue<TypeCodec> codecs = new ClassValue<TypeCodec>() {
+        @Override
+        protected TypeCodec computeValue(Class<?> type) {
+            return createCodec(type);
+        }
+    };
+
+    TypeCodec codecFor(Class<?> type) {
+        return codecs.get(type);
+    }
+
+    TypeCodec codecFor(Type type) {
+        if (type instanceof Class) {
+            return codecs.get((Class<?>) type);
+        }
+
+        Class<?> rawType = rawType(type);
+        if (type instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(rawType)) {
+                return new CollectionCodec(rawType, binding(typeArguments[0]));
+            }
+            if (Map.class.isAssignableFrom(rawType)) {
+                return new MapCodec(rawType, binding(typeArguments[0]), binding(typeArguments[1]));
+            }
+        } else if (type instanceof GenericArrayType) {
+            return new ArrayCodec(rawType, binding(((GenericArrayType) type).getGenericComponentType()));
+        }
+        return codecs.get(rawType);
+    }
+
+    void write(Object value, ValueBuilder<?> builder) {
+        if (value == null) {
+            builder.putValue(null);
+        } else {
+            codecs.get(value.getClass()).write(value, builder);
+        }
+    }
+
+    TypeBinding binding(Type type) {
+        return new TypeBinding(this, type);
+    }
+
+    private TypeCodec createCodec(Class<?> type) {
+        TypeCodec scalarCodec = ScalarCodecs.findScalarCodec(type);
+        if (scalarCodec != null) {
+            return scalarCodec;
+        }
+        if (type == Object.class) {
+            return objectCodec;
+        }
+        if (Enum.class.isAssignableFrom(type)) {
+            // Enum constants with a body are anonymous subclasses of the enum
+            return new EnumCodec(type.isEnum() ? type : type.getSuperclass());
+        }
+        if (type.isArray()) {
+            return new ArrayCodec(type, binding(type.getComponentType()));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return new CollectionCodec(type, binding(Object.class));
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new MapCodec(type, binding(Object.class), binding(Object.class));
+        }
+        return PojoCodec.newPojoCodec(type, this);
+    }
+
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            Class<?> componentType = rawType(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(componentType, 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return rawType(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    static boolean isNull(Input input, long offset) {
+        return Decoder.isNull(Bytes.readUInt8(input, offset));
+    }
+
+    static long elementsOffset(Input input, long offset) {
+        return offset + ByteSizes.headByteSize(input, offset);
+    }
+
+    static long elementCount(Input input, long offset) {
+        if (Decoder.additionalInfo(input, offset) == Constants.ADD_INFO_INDEFINITE) {
+            return -1;
+        }
+        return ElementCounts.elementCountByMajorType(Decoder.getMajorType(offset, input), input, offset);
+    }
+
+    static boolean hasNext(Input input, long position, long index, long elementCount) {
+        if (elementCount == -1) {
+            return Bytes.readUInt8(input, position) != Constants.OPCODE_BREAK_MASK;
+        }
+        return index < elementCount;
+    }
+
+    static MethodHandle constructor(Class<?> type, Class<?>... parameterTypes) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            MethodHandle methodHandle = LOOKUP.unreflectConstructor(constructor);
+            return methodHandle.asType(methodHandle.type().generic());
+
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // Not instantiable, types might still be written and fail only when read
+            return null;
+        }
+    }
+
+    static Object newInstance(MethodHandle constructor, Class<?> type) {
+        if (constructor == null) {
+            throw new IllegalArgumentException(type.getName() + " cannot be instantiated, no accessible constructor found");
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.mapper;
+
+import com.noctarius.borabora.spi.query.QueryContext;
+
+import java.util.Objects;
+
+/**
+ * Decodes data items directly from the stream into instances of a given type, using the same
+ * codecs as the {@link ObjectMapperImpl}. Codecs are cached per decoder instance.
+ */
+public final class TypedDecoder {
+
+    private final TypeCodecs typeCodecs = new TypeCodecs();
+
+    public <T> T decode(long offset, QueryContext queryContext, Class<T> type) {
+        Objects.requireNonNull(queryContext, "queryContext must not be null");
+        Objects.requireNonNull(type, "type must not be null");
+        if (TypeCodecs.isNull(queryContext.input(), offset)) {
+            return null;
+        }
+        return (T) typeCodecs.codecFor(type).decode(offset, queryContext);
+    }
+
+}
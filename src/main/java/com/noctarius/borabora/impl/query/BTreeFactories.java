@@ -40,6 +40,23 @@ public final class BTreeFactories {
         };
     }
 
+    /**
+     * Returns a {@link QueryPipelineFactory} which lowers the optimized pipeline tree into a flat array
+     * of instructions, evaluated by an interpreter loop over siblings instead of recursive visits.
+     * Query results are identical to pipelines created by {@link #newQueryPipelineFactory()}.
+     *
+     * @return a query pipeline factory creating flat instruction pipelines
+     */
+    public static QueryPipelineFactory newFlatQueryPipelineFactory() {
+        return (rootPipelineStage, pipelineStageFactory, queryOptimizerStrategy) -> {
+            // Apply query optimizers
+            rootPipelineStage = queryOptimizerStrategy.optimizeQuery(rootPipelineStage, pipelineStageFactory);
+
+            // Lower the tree into the instruction array
+            return new FlatQueryPipeline(rootPipelineStage);
+        };
+    }
+
     public static PipelineStageFactory newPipelineStageFactory() {
         return BTreePipelineStage::new;
     }
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.query;
+
+import com.noctarius.borabora.impl.query.stages.PathQueryStage;
+import com.noctarius.borabora.spi.query.QueryContext;
+import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
+import com.noctarius.borabora.spi.query.pipeline.QueryPipeline;
+import com.noctarius.borabora.spi.query.pipeline.QueryStage;
+import com.noctarius.borabora.spi.query.pipeline.VisitResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
+import static com.noctarius.borabora.spi.query.pipeline.PipelineStage.NIL;
+
+/**
+ * {@link QueryPipeline} implementation which lowers the pipeline tree into a flat array of
+ * instructions in pre-order. Children and siblings are referenced by their index inside the
+ * array, siblings are executed by an interpreter loop instead of recursing into the next
+ * sibling's pipeline stage and all instructions share the same final class, keeping the
+ * visit calls of stages monomorphic. Chains of {@link PathQueryStage}s are folded into a single
+ * instruction which passes the offset from one {@link PathQueryStage#resolveOffset(long, QueryContext)}
+ * to the next, without evaluating the stages or visiting their pipeline stages.
+ */
+final class FlatQueryPipeline
+        implements QueryPipeline {
+
+    private static final int END = -1;
+
+    private final PipelineStage rootPipelineStage;
+    private final Instruction[] instructions;
+
+    FlatQueryPipeline(PipelineStage rootPipelineStage) {
+        Objects.requireNonNull(rootPipelineStage, "rootPipelineStage must not be null");
+        this.rootPipelineStage = rootPipelineStage;
+        this.instructions = lower(rootPipelineStage);
+    }
+
+    @Override
+    public void evaluate(QueryContext queryContext) {
+        if (instructions.length > 0) {
+            instructions[0].visit(NIL, queryContext);
+        }
+    }
+
+    @Override
+    public String printQueryGraph() {
+        return PipelineStagePrinter.printTree(rootPipelineStage);
+    }
+
+    @Override
+    public PipelineStage rootPipelineStage() {
+        return rootPipelineStage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlatQueryPipeline)) {
+            return false;
+        }
+
+        FlatQueryPipeline that = (FlatQueryPipeline) o;
+
+        return rootPipelineStage.equals(that.rootPipelineStage);
+    }
+
+    @Override
+    public int hashCode() {
+        return rootPipelineStage.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FlatQueryPipeline{" + "rootPipelineStage=" + rootPipelineStage + '}';
+    }
+
+    private static Instruction[] lower(PipelineStage rootPipelineStage) {
+        List<Instruction> instructions = new ArrayList<>();
+        lower(rootPipelineStage, instructions);
+        Instruction[] program = instructions.toArray(new Instruction[instructions.size()]);
+        for (Instruction instruction : program) {
+            instruction.program = program;
+        }
+        return program;
+    }
+
+    private static int lower(PipelineStage pipelineStage, List<Instruction> instructions) {
+        if (pipelineStage == NIL) {
+            return END;
+        }
+
+        QueryStage stage = pipelineStage.stage();
+        PathQueryStage[] path = null;
+        PipelineStage lastPipelineStage = pipelineStage;
+        if (stage instanceof PathQueryStage) {
+            // Fold all following path stages without siblings into this instruction
+            List<PathQueryStage> pathStages = new ArrayList<>();
+            pathStages.add((PathQueryStage) stage);
+            PipelineStage child;
+            while ((child = lastPipelineStage.left()) != NIL && child.right() == NIL
+                    && child.stage() instanceof PathQueryStage) {
+
+                pathStages.add((PathQueryStage) child.stage());
+                lastPipelineStage = child;
+            }
+            path = pathStages.toArray(new PathQueryStage[pathStages.size()]);
+        }
+
+        Instruction instruction = new Instruction(stage, path);
+        int index = instructions.size();
+        instructions.add(instruction);
+
+        instruction.firstChild = lower(lastPipelineStage.left(), instructions);
+        instruction.nextSibling = lower(pipelineStage.right(), instructions);
+        return index;
+    }
+
+    static final class Instruction
+            implements PipelineStage {
+
+        private final QueryStage stage;
+        private final PathQueryStage[] path;
+
+        private Instruction[] program;
+        private int firstChild;
+        private int nextSibling;
+
+        private Instruction(QueryStage stage, PathQueryStage[] path) {
+            this.stage = stage;
+            this.path = path;
+        }
+
+        @Override
+        public VisitResult visit(PipelineStage previousPipelineStage, QueryContext queryContext) {
+            Instruction[] program = this.program;
+            VisitResult visitResult = VisitResult.Continue;
+
+            Instruction instruction = this;
+            while (true) {
+                QueryStage stage = instruction.stage;
+                if (instruction.path != null) {
+                    visitResult = instruction.visitPath(queryContext);
+
+                    // Stop any further execution
+                    if (visitResult == VisitResult.Exit) {
+                        return visitResult;
+                    }
+                } else if (stage != null) {
+                    do {
+                        visitResult = stage.evaluate(previousPipelineStage, instruction, queryContext);
+                    } while (visitResult == VisitResult.Loop);
+
+                    // Stop any further execution
+                    if (visitResult == VisitResult.Exit) {
+                        return visitResult;
+                    }
+                } else {
+                    visitResult = VisitResult.Continue;
+                }
+
+                int nextSibling = instruction.nextSibling;
+                if (nextSibling == END) {
+                    return visitResult;
+                }
+                previousPipelineStage = instruction;
+                instruction = program[nextSibling];
+            }
+        }
+
+        private VisitResult visitPath(QueryContext queryContext) {
+            long offset = queryContext.offset();
+            for (PathQueryStage pathStage : path) {
+                offset = pathStage.resolveOffset(offset, queryContext);
+                if (offset == OFFSET_CODE_NULL) {
+                    queryContext.offset(OFFSET_CODE_NULL);
+                    return VisitResult.Break;
+                }
+            }
+            queryContext.offset(offset);
+            return visitChildren(queryContext);
+        }
+
+        @Override
+        public VisitResult visitChildren(QueryContext queryContext) {
+            if (firstChild == END) {
+                return VisitResult.Continue;
+            }
+            return program[firstChild].visit(this, queryContext);
+        }
+
+        @Override
+        public QueryStage stage() {
+            return stage;
+        }
+
+        @Override
+        public PipelineStage left() {
+            return firstChild == END ? NIL : program[firstChild];
+        }
+
+        @Override
+        public PipelineStage right() {
+            return nextSibling == END ? NIL : program[nextSibling];
+        }
+
+        @Override
+        public String toString() {
+            return "Instruction{stage=" + stage + ", path=" + (path == null ? 0 : path.length) //
+                    + ", firstChild=" + firstChild + ", nextSibling=" + nextSibling + '}';
+        }
+    }
+
+}
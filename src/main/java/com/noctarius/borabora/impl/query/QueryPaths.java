@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.query;
+
+import com.noctarius.borabora.impl.query.stages.ConsumerQueryStage;
+import com.noctarius.borabora.impl.query.stages.PathQueryStage;
+import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
+import com.noctarius.borabora.spi.query.pipeline.QueryStage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.noctarius.borabora.spi.query.pipeline.PipelineStage.NIL;
+
+public final class QueryPaths {
+
+    private QueryPaths() {
+    }
+
+    /**
+     * Extracts the {@link PathQueryStage}s of a pipeline consisting of a single path, ending with a
+     * plain consumer stage, like <tt>#{'a'}(1)-&gt;number</tt>. If the pipeline has any other shape,
+     * <tt>null</tt> is returned.
+     *
+     * @param rootPipelineStage the root pipeline stage
+     * @return the path stages in evaluation order or null if the pipeline is not a single path
+     */
+    public static PathQueryStage[] extractPath(PipelineStage rootPipelineStage) {
+        List<PathQueryStage> path = new ArrayList<>();
+
+        PipelineStage pipelineStage = rootPipelineStage;
+        while (pipelineStage != NIL) {
+            QueryStage stage = pipelineStage.stage();
+            if (pipelineStage.right() != NIL) {
+                return null;
+            }
+
+            // Path has to end with a plain consumer
+            if (pipelineStage.left() == NIL) {
+                return stage == ConsumerQueryStage.INSTANCE ? path.toArray(new PathQueryStage[path.size()]) : null;
+            }
+
+            if (!(stage instanceof PathQueryStage)) {
+                return null;
+            }
+            path.add((PathQueryStage) stage);
+            pipelineStage = pipelineStage.left();
+        }
+        return null;
+    }
+
+}
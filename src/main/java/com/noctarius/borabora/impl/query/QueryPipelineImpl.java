@@ -44,6 +44,11 @@ class QueryPipelineImpl
         return PipelineStagePrinter.printTree(rootPipelineStage);
     }
 
+    @Override
+    public PipelineStage rootPipelineStage() {
+        return rootPipelineStage;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
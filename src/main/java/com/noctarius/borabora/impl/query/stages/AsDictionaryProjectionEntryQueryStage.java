@@ -29,12 +29,19 @@ import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
 public abstract class AsDictionaryProjectionEntryQueryStage
         implements QueryStage {
 
+    // Keys are constant, the writer is created once instead of on every evaluation
+    private Consumer<QueryContext> keyWriter;
+
     protected AsDictionaryProjectionEntryQueryStage() {
     }
 
     @Override
     public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage, QueryContext queryContext) {
-        Consumer<QueryContext> keyWriter = keyWriter();
+        Consumer<QueryContext> keyWriter = this.keyWriter;
+        if (keyWriter == null) {
+            // Benign race, all created writers are equivalent
+            keyWriter = this.keyWriter = keyWriter();
+        }
         keyWriter.accept(queryContext);
 
         long offset = queryContext.offset();
@@ -28,7 +28,7 @@ import com.noctarius.borabora.spi.query.pipeline.VisitResult;
 import static com.noctarius.borabora.spi.io.Constants.TAG_MAGIC_CBOR_HEADER;
 
 public class BaseQueryStage
-        implements QueryStage {
+        implements PathQueryStage {
 
     public static final QueryStage INSTANCE = new BaseQueryStage();
 
@@ -37,8 +37,13 @@ public class BaseQueryStage
 
     @Override
     public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage, QueryContext queryContext) {
+        queryContext.offset(resolveOffset(queryContext.offset(), queryContext));
+        return pipelineStage.visitChildren(queryContext);
+    }
+
+    @Override
+    public long resolveOffset(long offset, QueryContext queryContext) {
         Input input = queryContext.input();
-        long offset = queryContext.offset();
 
         // Is the first item a semantic tag?
         short head = Decoder.readUInt8(input, offset);
@@ -48,11 +53,9 @@ public class BaseQueryStage
             if (tagType.intValue() == TAG_MAGIC_CBOR_HEADER) {
                 // Seems like so skip the header and handle as normal CBOR encoded data
                 offset += ByteSizes.headByteSize(input, offset);
-                queryContext.offset(offset);
             }
         }
-
-        return pipelineStage.visitChildren(queryContext);
+        return offset;
     }
 
     @Override
@@ -21,33 +21,49 @@ import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Predicates;
 import com.noctarius.borabora.Value;
 import com.noctarius.borabora.WrongTypeException;
-import com.noctarius.borabora.spi.EqualsSupport;
 import com.noctarius.borabora.spi.io.Constants;
 import com.noctarius.borabora.spi.io.Decoder;
+import com.noctarius.borabora.spi.query.ConstantKeyPredicate;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
-import com.noctarius.borabora.spi.query.pipeline.QueryStage;
 import com.noctarius.borabora.spi.query.pipeline.VisitResult;
 
 import java.util.Objects;
 import java.util.function.Predicate;
 
 public class DictionaryLookupQueryStage
-        implements QueryStage {
+        implements PathQueryStage {
 
     protected final Predicate<Value> predicate;
 
+    // Constant lookup key if known, predicates cannot be compared reliably
+    private final Object key;
+
     protected DictionaryLookupQueryStage(Predicate<Value> predicate) {
+        this(predicate, null);
+    }
+
+    protected DictionaryLookupQueryStage(Predicate<Value> predicate, Object key) {
         Objects.requireNonNull(predicate, "predicate must not be null");
         this.predicate = predicate;
+        this.key = key;
     }
 
     @Override
     public final VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage,
                                       QueryContext queryContext) {
 
+        long offset = resolveOffset(queryContext.offset(), queryContext);
+        queryContext.offset(offset);
+        if (offset == Constants.OFFSET_CODE_NULL) {
+            return VisitResult.Break;
+        }
+        return pipelineStage.visitChildren(queryContext);
+    }
+
+    @Override
+    public long resolveOffset(long offset, QueryContext queryContext) {
         Input input = queryContext.input();
-        long offset = queryContext.offset();
 
         short head = Decoder.readUInt8(input, offset);
         MajorType majorType = MajorType.findMajorType(head);
@@ -56,15 +72,39 @@ public class DictionaryLookupQueryStage
         }
 
         // Execute the key lookup
-        offset = Decoder.findByDictionaryKey(predicate, offset, queryContext);
-        if (offset == Constants.OFFSET_CODE_NULL) {
-            queryContext.offset(offset);
-            return VisitResult.Break;
-        }
+        return Decoder.findByDictionaryKey(predicate, offset, queryContext);
+    }
 
-        queryContext.offset(offset);
+    /**
+     * Returns the predicate matching the dictionary key to look up.
+     *
+     * @return the key predicate
+     */
+    public Predicate<Value> predicate() {
+        return predicate;
+    }
 
-        return pipelineStage.visitChildren(queryContext);
+    /**
+     * Resolves the value offsets of all given dictionary key <tt>predicates</tt>, as returned by
+     * {@link #predicate()}, against the dictionary at the given <tt>offset</tt> in a single scan over
+     * the dictionary's keys. Keys which are not found are reported as {@link Constants#OFFSET_CODE_NULL}.
+     *
+     * @param predicates   the key predicates of the dictionary lookup stages to resolve
+     * @param offset       the offset of the dictionary
+     * @param queryContext the current query context
+     * @param valueOffsets the array to store the resolved value offsets in, in order of the predicates
+     * @throws WrongTypeException if the item at offset is not a dictionary
+     */
+    public static void resolveOffsets(Predicate<Value>[] predicates, long offset, QueryContext queryContext,
+                                      long[] valueOffsets) {
+
+        short head = Decoder.readUInt8(queryContext.input(), offset);
+        MajorType majorType = MajorType.findMajorType(head);
+        if (majorType != MajorType.Dictionary) {
+            throw new WrongTypeException(offset, "Encountered " + majorType + " when a dictionary was expected");
+        }
+
+        Decoder.findByDictionaryKeys(predicates, offset, queryContext, valueOffsets);
     }
 
     @Override
@@ -76,14 +116,17 @@ public class DictionaryLookupQueryStage
             return false;
         }
 
+        // Predicates cannot be compared reliably, only constant keys or the same predicate instance match
         DictionaryLookupQueryStage that = (DictionaryLookupQueryStage) o;
-
-        return EqualsSupport.equals(predicate, that.predicate);
+        if (key != null || that.key != null) {
+            return key != null && key.equals(that.key);
+        }
+        return predicate == that.predicate;
     }
 
     @Override
     public int hashCode() {
-        return predicate.hashCode();
+        return key != null ? key.hashCode() : System.identityHashCode(predicate);
     }
 
     @Override
@@ -93,18 +136,21 @@ public class DictionaryLookupQueryStage
 
     public static DictionaryLookupQueryStage stringMatcher(String key) {
         Objects.requireNonNull(key, "key must not be null");
-        return new DictionaryLookupQueryStage(Predicates.matchString(key));
+        return new DictionaryLookupQueryStage(Predicates.matchString(key), key);
     }
 
     public static DictionaryLookupQueryStage intMatcher(long key) {
-        return new DictionaryLookupQueryStage(Predicates.matchInt(key));
+        return new DictionaryLookupQueryStage(Predicates.matchInt(key), key);
     }
 
     public static DictionaryLookupQueryStage floatMatcher(double key) {
-        return new DictionaryLookupQueryStage(Predicates.matchFloat(key));
+        return new DictionaryLookupQueryStage(Predicates.matchFloat(key), key);
     }
 
     public static DictionaryLookupQueryStage predicateMatcher(Predicate<Value> predicate) {
+        if (predicate instanceof ConstantKeyPredicate) {
+            return new DictionaryLookupQueryStage(predicate, ((ConstantKeyPredicate) predicate).key());
+        }
         return new DictionaryLookupQueryStage(predicate);
     }
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.query.stages;
+
+import com.noctarius.borabora.spi.query.QueryContext;
+import com.noctarius.borabora.spi.query.pipeline.QueryStage;
+
+/**
+ * A <tt>PathQueryStage</tt> is a {@link QueryStage} which only moves the current offset to a new
+ * position and otherwise unconditionally continues with its children. Chains of path stages can
+ * therefore be evaluated without visiting the pipeline, by passing the offset from one stage's
+ * {@link #resolveOffset(long, QueryContext)} to the next.
+ */
+public interface PathQueryStage
+        extends QueryStage {
+
+    /**
+     * Resolves the new offset, starting from the given <tt>offset</tt>. If the path does not exist
+     * in the stream, {@link com.noctarius.borabora.spi.io.Constants#OFFSET_CODE_NULL} is returned and
+     * children must not be evaluated.
+     *
+     * @param offset       the offset to start from
+     * @param queryContext the current query context
+     * @return the resolved offset or OFFSET_CODE_NULL if the path does not exist
+     */
+    long resolveOffset(long offset, QueryContext queryContext);
+
+}
@@ -24,13 +24,12 @@ import com.noctarius.borabora.spi.io.Decoder;
 import com.noctarius.borabora.spi.io.ElementCounts;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
-import com.noctarius.borabora.spi.query.pipeline.QueryStage;
 import com.noctarius.borabora.spi.query.pipeline.VisitResult;
 
 import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
 
 public class SequenceIndexQueryStage
-        implements QueryStage {
+        implements PathQueryStage {
 
     private final long sequenceIndex;
 
@@ -43,8 +42,17 @@ public class SequenceIndexQueryStage
 
     @Override
     public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage, QueryContext queryContext) {
+        long offset = resolveOffset(queryContext.offset(), queryContext);
+        queryContext.offset(offset);
+        if (offset == OFFSET_CODE_NULL) {
+            return VisitResult.Break;
+        }
+        return pipelineStage.visitChildren(queryContext);
+    }
+
+    @Override
+    public long resolveOffset(long offset, QueryContext queryContext) {
         Input input = queryContext.input();
-        long offset = queryContext.offset();
 
         short head = Decoder.readUInt8(input, offset);
         MajorType majorType = MajorType.findMajorType(head);
@@ -56,8 +64,7 @@ public class SequenceIndexQueryStage
         // Sequences need head skipped
         long elementCount = ElementCounts.elementCountByMajorType(majorType, input, offset);
         if (elementCount <= sequenceIndex) {
-            queryContext.offset(OFFSET_CODE_NULL);
-            return VisitResult.Break;
+            return OFFSET_CODE_NULL;
         }
 
         // Element access
@@ -65,10 +72,7 @@ public class SequenceIndexQueryStage
         offset += headByteSize;
 
         // Skip items until sequenceIndex
-        offset = skip(input, offset);
-        queryContext.offset(offset);
-
-        return pipelineStage.visitChildren(queryContext);
+        return skip(input, offset);
     }
 
     private long skip(Input input, long offset) {
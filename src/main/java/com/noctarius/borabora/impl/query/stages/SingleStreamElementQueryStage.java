@@ -18,14 +18,14 @@ package com.noctarius.borabora.impl.query.stages;
 
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.NoSuchByteException;
+import com.noctarius.borabora.StreamIndex;
 import com.noctarius.borabora.spi.io.Decoder;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
-import com.noctarius.borabora.spi.query.pipeline.QueryStage;
 import com.noctarius.borabora.spi.query.pipeline.VisitResult;
 
 public class SingleStreamElementQueryStage
-        implements QueryStage {
+        implements PathQueryStage {
 
     private final long streamElementIndex;
 
@@ -38,13 +38,29 @@ public class SingleStreamElementQueryStage
 
     @Override
     public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage, QueryContext queryContext) {
+        // Set up new offset
+        queryContext.offset(resolveOffset(queryContext.offset(), queryContext));
+
+        // Visit children
+        return pipelineStage.visitChildren(queryContext);
+    }
+
+    @Override
+    public long resolveOffset(long offset, QueryContext queryContext) {
         Input input = queryContext.input();
-        long offset = queryContext.offset();
 
         // Skip unnecessary objects
         if (streamElementIndex > 0) {
-            for (int i = 0; i < streamElementIndex; i++) {
-                offset = Decoder.skip(input, offset);
+            StreamIndex streamIndex = input.streamIndex();
+            if (streamIndex != null) {
+                if (streamElementIndex >= streamIndex.size()) {
+                    throw new NoSuchByteException(offset, "Stream element " + streamElementIndex + " outside of available data");
+                }
+                offset = streamIndex.offset(streamElementIndex);
+            } else {
+                for (int i = 0; i < streamElementIndex; i++) {
+                    offset = Decoder.skip(input, offset);
+                }
             }
         }
 
@@ -52,12 +68,7 @@ public class SingleStreamElementQueryStage
         if (!input.offsetValid(offset)) {
             throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
         }
-
-        // Set up new offset
-        queryContext.offset(offset);
-
-        // Visit children
-        return pipelineStage.visitChildren(queryContext);
+        return offset;
     }
 
     @Override
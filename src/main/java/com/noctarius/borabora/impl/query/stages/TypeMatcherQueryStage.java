@@ -24,7 +24,6 @@ import com.noctarius.borabora.spi.io.Decoder;
 import com.noctarius.borabora.spi.query.QueryContext;
 import com.noctarius.borabora.spi.query.TypeSpec;
 import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
-import com.noctarius.borabora.spi.query.pipeline.QueryStage;
 import com.noctarius.borabora.spi.query.pipeline.VisitResult;
 
 import java.util.Objects;
@@ -32,7 +31,7 @@ import java.util.Objects;
 import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
 
 public class TypeMatcherQueryStage
-        implements QueryStage {
+        implements PathQueryStage {
 
     private final TypeSpec typeSpec;
     private final boolean required;
@@ -45,23 +44,29 @@ public class TypeMatcherQueryStage
 
     @Override
     public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage, QueryContext queryContext) {
+        if (resolveOffset(queryContext.offset(), queryContext) == OFFSET_CODE_NULL) {
+            queryContext.offset(OFFSET_CODE_NULL);
+            return VisitResult.Break;
+        }
+        return pipelineStage.visitChildren(queryContext);
+    }
+
+    @Override
+    public long resolveOffset(long offset, QueryContext queryContext) {
         Input input = queryContext.input();
-        long offset = queryContext.offset();
 
         short head = Decoder.readUInt8(input, offset);
         MajorType majorType = MajorType.findMajorType(head);
-        ValueType valueType = queryContext.valueType(offset);
         if (!typeSpec.valid(majorType, queryContext, offset)) {
             if (required) {
+                // Only resolved for the error message, the successful path never needs it
+                ValueType valueType = queryContext.valueType(offset);
                 String msg = String.format("Element not of type %s but %s", this.typeSpec, valueType);
                 throw new WrongTypeException(offset, msg);
             }
-
-            queryContext.offset(OFFSET_CODE_NULL);
-            return VisitResult.Break;
+            return OFFSET_CODE_NULL;
         }
-
-        return pipelineStage.visitChildren(queryContext);
+        return offset;
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.noctarius.borabora.Dictionary;
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Sequence;
+import com.noctarius.borabora.Utf8View;
 import com.noctarius.borabora.ValueTypes;
 import com.noctarius.borabora.spi.io.ByteSizes;
 import com.noctarius.borabora.spi.io.Decoder;
@@ -28,6 +29,12 @@ import com.noctarius.borabora.spi.query.QueryContextAware;
 
 import java.util.function.Supplier;
 
+import static com.noctarius.borabora.spi.io.Constants.FP_VALUE_DOUBLE_PRECISION;
+import static com.noctarius.borabora.spi.io.Constants.FP_VALUE_FALSE;
+import static com.noctarius.borabora.spi.io.Constants.FP_VALUE_HALF_PRECISION;
+import static com.noctarius.borabora.spi.io.Constants.FP_VALUE_SINGLE_PRECISION;
+import static com.noctarius.borabora.spi.io.Constants.FP_VALUE_TRUE;
+
 /**
  * The <tt>AbstractStreamValue</tt> is an abstract class implementing the basics for all
  * stream backed {@link com.noctarius.borabora.Value} implementations, working on a
@@ -65,11 +72,66 @@ public abstract class AbstractStreamValue
         return extract(() -> matchStringValueType(valueType()), () -> Decoder.readString(input(), offset(), queryContext()));
     }
 
+    @Override
+    public Utf8View stringView() {
+        MajorType majorType = majorType();
+        if (majorType == MajorType.TextString || majorType == MajorType.ByteString) {
+            matchStringValueType(valueType());
+            return Decoder.readStringView(input(), offset());
+        }
+        return super.stringView();
+    }
+
     @Override
     public Boolean bool() {
         return extract(() -> matchValueType(valueType(), ValueTypes.Bool), () -> Decoder.getBooleanValue(input(), offset()));
     }
 
+    @Override
+    public long longValue() {
+        MajorType majorType = majorType();
+        if (majorType == MajorType.UnsignedInteger || majorType == MajorType.NegativeInteger) {
+            return Decoder.readIntAsLong(input(), offset());
+        }
+        return super.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        Input input = input();
+        long offset = offset();
+        switch (majorType()) {
+            case UnsignedInteger:
+            case NegativeInteger:
+                if (Decoder.isIntInLongRange(input, offset)) {
+                    return Decoder.readIntAsLong(input, offset);
+                }
+                break;
+            case FloatingPointOrSimple:
+                int addInfo = Decoder.additionalInfo(input, offset);
+                if (addInfo == FP_VALUE_HALF_PRECISION || addInfo == FP_VALUE_SINGLE_PRECISION
+                        || addInfo == FP_VALUE_DOUBLE_PRECISION) {
+                    return Decoder.readFloatAsDouble(input, offset);
+                }
+                break;
+        }
+        return super.doubleValue();
+    }
+
+    @Override
+    public boolean booleanValue() {
+        if (majorType() == MajorType.FloatingPointOrSimple) {
+            int addInfo = Decoder.additionalInfo(input(), offset());
+            if (addInfo == FP_VALUE_FALSE) {
+                return false;
+            }
+            if (addInfo == FP_VALUE_TRUE) {
+                return true;
+            }
+        }
+        return super.booleanValue();
+    }
+
     @Override
     public byte[] bytes() {
         return extract(() -> matchMajorType(majorType(), MajorType.ByteString), //
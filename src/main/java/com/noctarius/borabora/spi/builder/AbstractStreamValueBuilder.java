@@ -36,7 +36,6 @@ import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.Objects;
 
-import static com.noctarius.borabora.spi.io.Constants.OPCODE_BREAK_MASK;
 import static com.noctarius.borabora.spi.io.Constants.TAG_ASCII_STRING;
 import static com.noctarius.borabora.spi.io.Constants.UTC;
 
@@ -57,6 +56,10 @@ public abstract class AbstractStreamValueBuilder<B>
     protected final EncoderContext encoderContext;
     private final B builder;
 
+    // Nested builders are reused, since a new one can only be started after the previous one ended
+    private SequenceBuilderImpl<B> sequenceBuilder;
+    private DictionaryBuilderImpl<B> dictionaryBuilder;
+
     protected AbstractStreamValueBuilder(EncoderContext encoderContext) {
         Objects.requireNonNull(encoderContext, "encoderContext must not be null");
         this.builder = (B) this;
@@ -76,7 +79,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(byte value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putNumber(value, offset, output));
+        encoderContext.putLong(value);
         return builder;
     }
 
@@ -90,7 +93,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(short value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putNumber(value, offset, output));
+        encoderContext.putLong(value);
         return builder;
     }
 
@@ -104,7 +107,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(int value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putNumber(value, offset, output));
+        encoderContext.putLong(value);
         return builder;
     }
 
@@ -125,7 +128,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(long value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putNumber(value, offset, output));
+        encoderContext.putLong(value);
         return builder;
     }
 
@@ -178,7 +181,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(float value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putFloat(value, offset, output));
+        encoderContext.putFloat(value);
         return builder;
     }
 
@@ -196,7 +199,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putNumber(double value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putDouble(value, offset, output));
+        encoderContext.putDouble(value);
         return builder;
     }
 
@@ -214,7 +217,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putHalfPrecision(float value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putHalfPrecision(value, offset, output));
+        encoderContext.putHalfPrecision(value);
         return builder;
     }
 
@@ -246,7 +249,7 @@ public abstract class AbstractStreamValueBuilder<B>
         if (value == null) {
             encoderContext.encodeNull();
         } else {
-            encoderContext.encode((offset, output) -> Encoder.putByteString(value, offset, output));
+            encoderContext.putByteString(value);
         }
         return builder;
     }
@@ -257,7 +260,7 @@ public abstract class AbstractStreamValueBuilder<B>
         if (value == null) {
             encoderContext.encodeNull();
         } else {
-            encoderContext.encode((offset, output) -> Encoder.putString(value, offset, output));
+            encoderContext.putString(value);
         }
         return builder;
     }
@@ -268,7 +271,7 @@ public abstract class AbstractStreamValueBuilder<B>
         if (value == null) {
             encoderContext.encodeNull();
         } else {
-            encoderContext.encode((offset, output) -> Encoder.putAsciiString(value, offset, output));
+            encoderContext.putAsciiString(value);
         }
         return builder;
     }
@@ -279,7 +282,7 @@ public abstract class AbstractStreamValueBuilder<B>
         if (value == null) {
             encoderContext.encodeNull();
         } else {
-            encoderContext.encode((offset, output) -> Encoder.putTextString(value, offset, output));
+            encoderContext.putTextString(value);
         }
         return builder;
     }
@@ -322,7 +325,7 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public B putTimestamp(long timestamp) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putTimestamp(timestamp, offset, output));
+        encoderContext.offset(Encoder.putTimestamp(timestamp, encoderContext.offset(), encoderContext.output()));
         return builder;
     }
 
@@ -339,29 +342,29 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public IndefiniteByteStringBuilder<B> putIndefiniteByteString() {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.ByteString, -1, offset, output));
+        encoderContext.putHead(MajorType.ByteString, -1);
         return new IndefiniteByteStringBuilderImpl<>(encoderContext, builder);
     }
 
     @Override
     public IndefiniteStringBuilder<B> putIndefiniteAsciiString() {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putSemanticTag(TAG_ASCII_STRING, offset, output));
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.Sequence, -1, offset, output));
+        encoderContext.putSemanticTag(TAG_ASCII_STRING);
+        encoderContext.putHead(MajorType.Sequence, -1);
         return new IndefiniteStringBuilderImpl<>(encoderContext, true, builder);
     }
 
     @Override
     public IndefiniteStringBuilder<B> putIndefiniteTextString() {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.TextString, -1, offset, output));
+        encoderContext.putHead(MajorType.TextString, -1);
         return new IndefiniteStringBuilderImpl<>(encoderContext, false, builder);
     }
 
     @Override
     public B putBoolean(boolean value) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.putBoolean(value, offset, output));
+        encoderContext.putBoolean(value);
         return builder;
     }
 
@@ -418,36 +421,60 @@ public abstract class AbstractStreamValueBuilder<B>
     @Override
     public SequenceBuilder<B> putSequence() {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.Sequence, -1, offset, output));
-        return new SequenceBuilderImpl<>(encoderContext, -1, builder);
+        encoderContext.putHead(MajorType.Sequence, -1);
+        return sequenceBuilder(-1);
     }
 
     @Override
     public SequenceBuilder<B> putSequence(long elements) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.Sequence, elements, offset, output));
-        return new SequenceBuilderImpl<>(encoderContext, elements, builder);
+        encoderContext.putHead(MajorType.Sequence, elements);
+        return sequenceBuilder(elements);
     }
 
     @Override
     public DictionaryBuilder<B> putDictionary() {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.Dictionary, -1, offset, output));
-        return new DictionaryBuilderImpl<>(encoderContext, -1, builder);
+        encoderContext.putHead(MajorType.Dictionary, -1);
+        return dictionaryBuilder(-1);
     }
 
     @Override
     public DictionaryBuilder<B> putDictionary(long elements) {
         validate();
-        encoderContext.encode((offset, output) -> Encoder.encodeLengthAndValue(MajorType.Dictionary, elements, offset, output));
-        return new DictionaryBuilderImpl<>(encoderContext, elements, builder);
+        encoderContext.putHead(MajorType.Dictionary, elements);
+        return dictionaryBuilder(elements);
     }
 
     protected void validate() {
     }
 
+    private SequenceBuilder<B> sequenceBuilder(long maxElements) {
+        SequenceBuilderImpl<B> sequenceBuilder = this.sequenceBuilder;
+        if (sequenceBuilder == null) {
+            sequenceBuilder = new SequenceBuilderImpl<>(encoderContext, builder);
+            this.sequenceBuilder = sequenceBuilder;
+        }
+        sequenceBuilder.reset(maxElements);
+        return sequenceBuilder;
+    }
+
+    private DictionaryBuilder<B> dictionaryBuilder(long maxElements) {
+        DictionaryBuilderImpl<B> dictionaryBuilder = this.dictionaryBuilder;
+        if (dictionaryBuilder == null) {
+            dictionaryBuilder = new DictionaryBuilderImpl<>(encoderContext, builder);
+            this.dictionaryBuilder = dictionaryBuilder;
+        }
+        dictionaryBuilder.reset(maxElements);
+        return dictionaryBuilder;
+    }
+
     private void encodeInt(Number value) {
-        encoderContext.encodeNullOrType(value, (offset, output) -> Encoder.putNumber(value.longValue(), offset, output));
+        if (value == null) {
+            encoderContext.encodeNull();
+        } else {
+            encoderContext.putLong(value.longValue());
+        }
     }
 
     private class IndefiniteByteStringBuilderImpl<B>
@@ -466,13 +493,13 @@ public abstract class AbstractStreamValueBuilder<B>
         @Override
         public IndefiniteByteStringBuilder<B> putByteString(byte[] value) {
             Objects.requireNonNull(value, "null is not a legal value of an indefinite bytestring");
-            encoderContext.encode((offset, output) -> Encoder.putByteString(value, offset, output));
+            encoderContext.putByteString(value);
             return this;
         }
 
         @Override
         public B endIndefiniteByteString() {
-            encoderContext.encode((offset, output) -> output.write(offset++, (byte) OPCODE_BREAK_MASK));
+            encoderContext.putBreak();
             return builder;
         }
     }
@@ -499,17 +526,17 @@ public abstract class AbstractStreamValueBuilder<B>
                 if (!ASCII_ENCODER.canEncode(value)) {
                     throw new IllegalArgumentException("UTF8 string cannot be added to a CBOR ByteString");
                 }
-                encoderContext.encode((offset, output) -> Encoder.putAsciiString(value, offset, output));
+                encoderContext.putAsciiString(value);
 
             } else {
-                encoderContext.encode((offset, output) -> Encoder.putTextString(value, offset, output));
+                encoderContext.putTextString(value);
             }
             return this;
         }
 
         @Override
         public B endIndefiniteString() {
-            encoderContext.encode((offset, output) -> output.write(offset++, (byte) OPCODE_BREAK_MASK));
+            encoderContext.putBreak();
             return builder;
         }
     }
@@ -519,17 +546,21 @@ public abstract class AbstractStreamValueBuilder<B>
             implements SequenceBuilder<B> {
 
         private final B builder;
-        private final long maxElements;
 
+        private long maxElements;
         private long elements;
 
-        SequenceBuilderImpl(EncoderContext encoderContext, long maxElements, B builder) {
+        SequenceBuilderImpl(EncoderContext encoderContext, B builder) {
             super(encoderContext);
             Objects.requireNonNull(builder, "builder must not be null");
-            this.maxElements = maxElements;
             this.builder = builder;
         }
 
+        private void reset(long maxElements) {
+            this.maxElements = maxElements;
+            this.elements = 0;
+        }
+
         @Override
         public SequenceBuilder<B> putTag(TagBuilderConsumer<SequenceBuilder<B>> consumer) {
             validate();
@@ -545,7 +576,7 @@ public abstract class AbstractStreamValueBuilder<B>
             }
 
             if (maxElements == -1) {
-                encoderContext.encode((offset, output) -> output.write(offset++, (byte) OPCODE_BREAK_MASK));
+                encoderContext.putBreak();
             }
             return builder;
         }
@@ -563,23 +594,34 @@ public abstract class AbstractStreamValueBuilder<B>
             implements DictionaryBuilder<B> {
 
         private final B builder;
-        private final long maxElements;
         private final EncoderContext encoderContext;
 
+        private long maxElements;
         private long elements;
+        private DictionaryEntryBuilderImpl<B> entryBuilder;
 
-        DictionaryBuilderImpl(EncoderContext encoderContext, long maxElements, B builder) {
+        DictionaryBuilderImpl(EncoderContext encoderContext, B builder) {
             Objects.requireNonNull(encoderContext, "encoderContext must not be null");
             Objects.requireNonNull(builder, "builder must not be null");
             this.builder = builder;
-            this.maxElements = maxElements;
             this.encoderContext = encoderContext;
         }
 
+        private void reset(long maxElements) {
+            this.maxElements = maxElements;
+            this.elements = 0;
+        }
+
         @Override
         public DictionaryEntryBuilder<B> putEntry() {
             validate();
-            return new DictionaryEntryBuilderImpl<>(encoderContext, this);
+            DictionaryEntryBuilderImpl<B> entryBuilder = this.entryBuilder;
+            if (entryBuilder == null) {
+                entryBuilder = new DictionaryEntryBuilderImpl<>(encoderContext, this);
+                this.entryBuilder = entryBuilder;
+            }
+            entryBuilder.reset();
+            return entryBuilder;
         }
 
         @Override
@@ -589,7 +631,7 @@ public abstract class AbstractStreamValueBuilder<B>
                 throw new IllegalStateException(msg);
             }
             if (maxElements == -1) {
-                encoderContext.encode((offset, output) -> output.write(offset++, (byte) OPCODE_BREAK_MASK));
+                encoderContext.putBreak();
             }
             return builder;
         }
@@ -617,6 +659,11 @@ public abstract class AbstractStreamValueBuilder<B>
             this.builder = builder;
         }
 
+        private void reset() {
+            this.key = false;
+            this.value = false;
+        }
+
         @Override
         public DictionaryEntryBuilder<B> putTag(TagBuilderConsumer<DictionaryEntryBuilder<B>> consumer) {
             validate();
@@ -16,9 +16,11 @@
  */
 package com.noctarius.borabora.spi.builder;
 
+import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Output;
 import com.noctarius.borabora.WrongTypeException;
 import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.Constants;
 import com.noctarius.borabora.spi.io.Encoder;
 
 import java.util.Objects;
@@ -33,6 +35,9 @@ import java.util.Objects;
  * <p>It also offers additional convenience methods like {@link #encodeNull()},
  * {@link #encodeNullOrType(Object, EncoderFunction)} or a generalized form for more
  * customized encoding {@link #encode(EncoderFunction)}.</p>
+ * <p>The typed methods, like {@link #putLong(long)} or {@link #putString(String)}, write the
+ * value directly without creating an {@link EncoderFunction} and are the preferred way for
+ * common value types on hot paths.</p>
  */
 public interface EncoderContext {
 
@@ -104,7 +109,115 @@ public interface EncoderContext {
      * Encodes a null-type at the current position in the CBOR stream.
      */
     default void encodeNull() {
-        encode(Encoder::putNull);
+        offset(Encoder.putNull(offset(), output()));
+    }
+
+    /**
+     * Encodes a signed integer value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putLong(long value) {
+        offset(Encoder.putNumber(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a single precision floating point value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putFloat(float value) {
+        offset(Encoder.putFloat(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a double precision floating point value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putDouble(double value) {
+        offset(Encoder.putDouble(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a half precision floating point value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putHalfPrecision(float value) {
+        offset(Encoder.putHalfPrecision(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a boolean value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putBoolean(boolean value) {
+        offset(Encoder.putBoolean(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a string value, as ASCII string if possible, otherwise as UTF-8 text string, at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putString(String value) {
+        offset(Encoder.putString(value, offset(), output()));
+    }
+
+    /**
+     * Encodes an ASCII string value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putAsciiString(String value) {
+        offset(Encoder.putAsciiString(value, offset(), output()));
+    }
+
+    /**
+     * Encodes an UTF-8 text string value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putTextString(String value) {
+        offset(Encoder.putTextString(value, offset(), output()));
+    }
+
+    /**
+     * Encodes a byte string value at the current position in the CBOR stream.
+     *
+     * @param value the value to encode
+     */
+    default void putByteString(byte[] value) {
+        offset(Encoder.putByteString(value, offset(), output()));
+    }
+
+    /**
+     * Encodes the head of an item of the given {@link MajorType} and <tt>length</tt> at the current
+     * position in the CBOR stream. A length of <tt>-1</tt> encodes the head of an indefinite item.
+     *
+     * @param majorType the major type of the item
+     * @param length    the length of the item or -1
+     */
+    default void putHead(MajorType majorType, long length) {
+        offset(Encoder.encodeLengthAndValue(majorType, length, offset(), output()));
+    }
+
+    /**
+     * Encodes a semantic tag head of the given <tt>tagId</tt> at the current position in the CBOR stream.
+     *
+     * @param tagId the semantic tag id
+     */
+    default void putSemanticTag(int tagId) {
+        offset(Encoder.putSemanticTag(tagId, offset(), output()));
+    }
+
+    /**
+     * Encodes a break stop-code, which ends an indefinite item, at the current position in the CBOR stream.
+     */
+    default void putBreak() {
+        offset(output().write(offset(), (byte) Constants.OPCODE_BREAK_MASK));
     }
 
     /**
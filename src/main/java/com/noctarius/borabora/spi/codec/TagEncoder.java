@@ -34,4 +34,18 @@ public interface TagEncoder<V>
      */
     boolean handles(V value);
 
+    /**
+     * Returns <tt>false</tt> if no instance of the given <tt>type</tt> can ever be handled by this
+     * <tt>TagEncoder</tt>, otherwise <tt>true</tt>. Writers use this to narrow down the candidate
+     * encoders per runtime class once and only call {@link #handles(Object)} on the remaining candidates.
+     * The default implementation returns <tt>true</tt>, implementations whose decision depends on
+     * the runtime class are encouraged to override it.
+     *
+     * @param type the runtime class of a value to encode
+     * @return false if instances of the given type are never handled, otherwise true
+     */
+    default boolean handlesType(Class<?> type) {
+        return true;
+    }
+
 }
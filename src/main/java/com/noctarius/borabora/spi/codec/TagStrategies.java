@@ -36,7 +36,6 @@ import com.noctarius.borabora.spi.query.TypeSpec;
 import com.noctarius.borabora.spi.query.TypeSpecs;
 
 import java.util.function.Function;
-import java.util.function.Predicate;
 
 import static com.noctarius.borabora.spi.codec.TagBuilders.AsciiStringBuilderImpl;
 import static com.noctarius.borabora.spi.codec.TagBuilders.CBORBuilderImpl;
@@ -59,7 +58,7 @@ import static com.noctarius.borabora.spi.io.Constants.TAG_URI;
  * The <tt>TagStrategies</tt> enum class implements all the builtin semantic tag strategies.
  */
 public enum TagStrategies
-        implements TagStrategy {
+        implements TagStrategy<Object, Object> {
 
     /**
      * The ASCII string semantic tag implementation, semantic tag id: <tt>22099</tt>
@@ -148,19 +147,20 @@ public enum TagStrategies
     private final ValueType valueType;
     private final TagWriter tagWriter;
     private final TagReader tagReader;
-    private final Class<?> tagBuilderType;
-    private final Predicate<Object> handlesPredicate;
+    private final Class<Object> tagBuilderType;
+    private final TypeMatchers handlesPredicate;
     private final Function<EncoderContext, Object> tagBuilderFunction;
 
+    @SuppressWarnings("unchecked")
     TagStrategies(int tagId, ValueType valueType, Class<?> tagBuilderType, TagWriter tagWriter, TagReader tagReader,
-                  TypeSpec typeSpec, Predicate<Object> handlesPredicate, Function<EncoderContext, Object> tagBuilderFunction) {
+                  TypeSpec typeSpec, TypeMatchers handlesPredicate, Function<EncoderContext, Object> tagBuilderFunction) {
 
         this.tagId = tagId;
         this.typeSpec = typeSpec;
         this.valueType = valueType;
         this.tagWriter = tagWriter;
         this.tagReader = tagReader;
-        this.tagBuilderType = tagBuilderType;
+        this.tagBuilderType = (Class<Object>) tagBuilderType;
         this.handlesPredicate = handlesPredicate;
         this.tagBuilderFunction = tagBuilderFunction;
     }
@@ -181,7 +181,7 @@ public enum TagStrategies
     }
 
     @Override
-    public Class<?> tagBuilderType() {
+    public Class<Object> tagBuilderType() {
         return tagBuilderType;
     }
 
@@ -195,6 +195,11 @@ public enum TagStrategies
         return handlesPredicate != null && handlesPredicate.test(value);
     }
 
+    @Override
+    public boolean handlesType(Class<?> type) {
+        return handlesPredicate != null && handlesPredicate.testType(type);
+    }
+
     @Override
     public Object process(ValueType valueType, long offset, long length, QueryContext queryContext) {
         return tagReader.process(valueType, offset, length, queryContext);
@@ -17,7 +17,6 @@
 package com.noctarius.borabora.spi.codec;
 
 import com.noctarius.borabora.Value;
-import com.noctarius.borabora.spi.io.Constants;
 import com.noctarius.borabora.spi.io.StringEncoders;
 
 import java.math.BigDecimal;
@@ -31,35 +30,45 @@ import java.util.function.Predicate;
 enum TypeMatchers
         implements Predicate<Object> {
 
-    ASCII((v) -> v instanceof String && StringEncoders.ASCII_ENCODER.canEncode((String) v)),
+    ASCII((t) -> String.class.isAssignableFrom(t), //
+            (v) -> StringEncoders.ASCII_ENCODER.canEncode((String) v)),
 
-    DateTime((v) -> !Timestamp.class.isAssignableFrom(v.getClass()) //
-            && (Date.class.isAssignableFrom(v.getClass()) || java.sql.Date.class.isAssignableFrom(v.getClass()))),
+    DateTime((t) -> !Timestamp.class.isAssignableFrom(t) //
+            && (Date.class.isAssignableFrom(t) || java.sql.Date.class.isAssignableFrom(t))),
 
-    Timestamp((v) -> Timestamp.class.isAssignableFrom(v.getClass()) || Instant.class.isAssignableFrom(v.getClass())),
+    Timestamp((t) -> Timestamp.class.isAssignableFrom(t) || Instant.class.isAssignableFrom(t)),
 
-    UBigNum((v) -> //
-            BigInteger.class.isAssignableFrom(v.getClass()) && ((BigInteger) v).signum() >= 0),
+    UBigNum((t) -> BigInteger.class.isAssignableFrom(t), //
+            (v) -> ((BigInteger) v).signum() >= 0),
 
-    NBigNum((v) -> //
-            BigInteger.class.isAssignableFrom(v.getClass()) && ((BigInteger) v).signum() < 0),
+    NBigNum((t) -> BigInteger.class.isAssignableFrom(t), //
+            (v) -> ((BigInteger) v).signum() < 0),
 
-    Fraction((v) -> //
-            BigDecimal.class.isAssignableFrom(v.getClass())),
+    Fraction((t) -> BigDecimal.class.isAssignableFrom(t)),
 
-    URI((v) -> URI.class.isAssignableFrom(v.getClass())),
+    URI((t) -> URI.class.isAssignableFrom(t)),
 
-    EncCBOR((v) -> Value.class.isAssignableFrom(v.getClass()));
+    EncCBOR((t) -> Value.class.isAssignableFrom(t));
 
-    private final Predicate<Object> predicate;
+    private final Predicate<Class<?>> typePredicate;
+    private final Predicate<Object> valuePredicate;
 
-    TypeMatchers(Predicate<Object> predicate) {
-        this.predicate = predicate;
+    TypeMatchers(Predicate<Class<?>> typePredicate) {
+        this(typePredicate, null);
+    }
+
+    TypeMatchers(Predicate<Class<?>> typePredicate, Predicate<Object> valuePredicate) {
+        this.typePredicate = typePredicate;
+        this.valuePredicate = valuePredicate;
     }
 
     @Override
     public boolean test(Object value) {
-        return predicate.test(value);
+        return typePredicate.test(value.getClass()) && (valuePredicate == null || valuePredicate.test(value));
+    }
+
+    boolean testType(Class<?> type) {
+        return typePredicate.test(type);
     }
 
 }
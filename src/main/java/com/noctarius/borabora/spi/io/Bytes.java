@@ -35,9 +35,7 @@ public final class Bytes {
     }
 
     public static short readInt16(Input input, long offset) {
-        short b1 = readUInt8(input, offset);
-        short b2 = readUInt8(input, offset + 1);
-        return (short) ((b1 << 8) | b2);
+        return input.readShort(offset);
     }
 
     public static int readUInt16(Input input, long offset) {
@@ -45,11 +43,7 @@ public final class Bytes {
     }
 
     public static int readInt32(Input input, long offset) {
-        int b1 = readUInt8(input, offset);
-        int b2 = readUInt8(input, offset + 1);
-        int b3 = readUInt8(input, offset + 2);
-        int b4 = readUInt8(input, offset + 3);
-        return (b1 << 24) | (b2 << 16) | (b3 << 8) | b4;
+        return input.readInt(offset);
     }
 
     public static long readUInt32(Input input, long offset) {
@@ -59,34 +53,17 @@ public final class Bytes {
     public static Number readUInt64(Input input, long offset) {
         long v = readUInt64Long(input, offset);
         if (v < 0) {
-            return readUInt64BigInt(input, offset);
+            return toUnsignedBigInteger(v);
         }
         return v;
     }
 
     public static long readUInt64Long(Input input, long offset) {
-        long b1 = readUInt8(input, offset);
-        long b2 = readUInt8(input, offset + 1);
-        long b3 = readUInt8(input, offset + 2);
-        long b4 = readUInt8(input, offset + 3);
-        long b5 = readUInt8(input, offset + 4);
-        long b6 = readUInt8(input, offset + 5);
-        long b7 = readUInt8(input, offset + 6);
-        long b8 = readUInt8(input, offset + 7);
-        long val = ((b1 << 56) | (b2 << 48) | (b3 << 40) | (b4 << 32) | (b5 << 24) | (b6 << 16) | (b7 << 8) | b8);
-        return val;
+        return input.readLong(offset);
     }
 
     public static BigInteger readUInt64BigInt(Input input, long offset) {
-        byte b1 = readInt8(input, offset);
-        byte b2 = readInt8(input, offset + 1);
-        byte b3 = readInt8(input, offset + 2);
-        byte b4 = readInt8(input, offset + 3);
-        byte b5 = readInt8(input, offset + 4);
-        byte b6 = readInt8(input, offset + 5);
-        byte b7 = readInt8(input, offset + 6);
-        byte b8 = readInt8(input, offset + 7);
-        return new BigInteger(1, new byte[]{b1, b2, b3, b4, b5, b6, b7, b8});
+        return toUnsignedBigInteger(readUInt64Long(input, offset));
     }
 
     public static long putInt8(byte value, long offset, Output output) {
@@ -95,29 +72,20 @@ public final class Bytes {
     }
 
     public static long putInt16(short value, long offset, Output output) {
-        output.write(offset++, (byte) ((value >> 8) & 0xff));
-        output.write(offset++, (byte) ((value >> 0) & 0xff));
-        return offset;
+        return output.writeShort(offset, value);
     }
 
     public static long putInt32(int value, long offset, Output output) {
-        output.write(offset++, (byte) ((value >> 24) & 0xff));
-        output.write(offset++, (byte) ((value >> 16) & 0xff));
-        output.write(offset++, (byte) ((value >> 8) & 0xff));
-        output.write(offset++, (byte) ((value >> 0) & 0xff));
-        return offset;
+        return output.writeInt(offset, value);
     }
 
     public static long putInt64(long value, long offset, Output output) {
-        output.write(offset++, (byte) ((value >> 56) & 0xff));
-        output.write(offset++, (byte) ((value >> 48) & 0xff));
-        output.write(offset++, (byte) ((value >> 40) & 0xff));
-        output.write(offset++, (byte) ((value >> 32) & 0xff));
-        output.write(offset++, (byte) ((value >> 24) & 0xff));
-        output.write(offset++, (byte) ((value >> 16) & 0xff));
-        output.write(offset++, (byte) ((value >> 8) & 0xff));
-        output.write(offset++, (byte) ((value >> 0) & 0xff));
-        return offset;
+        return output.writeLong(offset, value);
+    }
+
+    private static BigInteger toUnsignedBigInteger(long value) {
+        BigInteger bigInteger = BigInteger.valueOf(value & Long.MAX_VALUE);
+        return value < 0 ? bigInteger.setBit(Long.SIZE - 1) : bigInteger;
     }
 
 }
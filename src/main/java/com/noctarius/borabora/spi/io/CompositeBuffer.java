@@ -23,28 +23,42 @@ import com.noctarius.borabora.Output;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class CompositeBuffer
         implements Output, Input {
 
+    private static final int INITIAL_DIRECTORY_SIZE = 16;
+
     private final int chunksize;
-    private final Buffer head;
+    private final int chunkShift;
+    private final int chunkMask;
 
-    private Buffer tail;
+    // Chunk directory, chunks are addressed by offset >> chunkShift
+    private byte[][] chunks;
+    // Big-endian views of the chunks for multi-byte access inside a single chunk
+    private ByteBuffer[] views;
     private int nbOfChunks;
     private long highestOffset;
 
     private CompositeBuffer(int chunksize) {
-        this.chunksize = chunksize;
-        this.head = appendBuffer();
+        if (chunksize <= 0) {
+            throw new IllegalArgumentException("chunksize must be positive");
+        }
+        this.chunksize = nextPowerOfTwo(chunksize);
+        this.chunkShift = Integer.numberOfTrailingZeros(this.chunksize);
+        this.chunkMask = this.chunksize - 1;
+        this.chunks = new byte[INITIAL_DIRECTORY_SIZE][];
+        this.views = new ByteBuffer[INITIAL_DIRECTORY_SIZE];
+        appendChunk();
     }
 
     @Override
     public long write(long offset, byte value) {
-        Buffer buffer = bufferByOffset(offset);
+        byte[] chunk = chunkByOffset(offset);
         int chunkOffset = chunkOffset(offset);
-        buffer.buffer[chunkOffset] = value;
+        chunk[chunkOffset] = value;
         updateHighestOffset(offset);
         return ++offset;
     }
@@ -56,21 +70,17 @@ public class CompositeBuffer
         int sourceOffset = 0;
         long targetOffset = offset;
 
-        Buffer buffer = bufferByOffset(offset);
         do {
+            byte[] chunk = chunkByOffset(targetOffset);
             int chunkOffset = chunkOffset(targetOffset);
             int chunkAvail = chunksize - chunkOffset;
 
             int chunkLength = (int) Math.min(chunkAvail, remaining);
-            System.arraycopy(bytes, sourceOffset, buffer.buffer, chunkOffset, chunkLength);
+            System.arraycopy(bytes, sourceOffset, chunk, chunkOffset, chunkLength);
 
             remaining -= chunkLength;
             sourceOffset += chunkLength;
             targetOffset += chunkLength;
-
-            if (remaining > 0) {
-                buffer = appendBuffer();
-            }
         } while (remaining > 0);
         updateHighestOffset(offset + length - 1);
         return length;
@@ -80,9 +90,80 @@ public class CompositeBuffer
     public byte read(long offset)
             throws NoSuchByteException {
 
-        Buffer buffer = bufferByOffset(offset);
+        int chunkIndex = chunkIndex(offset);
+        if (offset < 0 || chunkIndex >= nbOfChunks) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
+        }
+        return chunks[chunkIndex][chunkOffset(offset)];
+    }
+
+    @Override
+    public long writeShort(long offset, short value) {
+        int chunkOffset = chunkOffset(offset);
+        if (chunkOffset + 2 > chunksize) {
+            return Output.super.writeShort(offset, value);
+        }
+        chunkByOffset(offset);
+        views[chunkIndex(offset)].putShort(chunkOffset, value);
+        updateHighestOffset(offset + 1);
+        return offset + 2;
+    }
+
+    @Override
+    public long writeInt(long offset, int value) {
+        int chunkOffset = chunkOffset(offset);
+        if (chunkOffset + 4 > chunksize) {
+            return Output.super.writeInt(offset, value);
+        }
+        chunkByOffset(offset);
+        views[chunkIndex(offset)].putInt(chunkOffset, value);
+        updateHighestOffset(offset + 3);
+        return offset + 4;
+    }
+
+    @Override
+    public long writeLong(long offset, long value) {
+        int chunkOffset = chunkOffset(offset);
+        if (chunkOffset + 8 > chunksize) {
+            return Output.super.writeLong(offset, value);
+        }
+        chunkByOffset(offset);
+        views[chunkIndex(offset)].putLong(chunkOffset, value);
+        updateHighestOffset(offset + 7);
+        return offset + 8;
+    }
+
+    @Override
+    public short readShort(long offset)
+            throws NoSuchByteException {
+
+        int chunkOffset = chunkOffset(offset);
+        if (chunkOffset + 2 <= chunksize) {
+            return viewByOffset(offset).getShort(chunkOffset);
+        }
+        return Input.super.readShort(offset);
+    }
+
+    @Override
+    public int readInt(long offset)
+            throws NoSuchByteException {
+
         int chunkOffset = chunkOffset(offset);
-        return buffer.buffer[chunkOffset];
+        if (chunkOffset + 4 <= chunksize) {
+            return viewByOffset(offset).getInt(chunkOffset);
+        }
+        return Input.super.readInt(offset);
+    }
+
+    @Override
+    public long readLong(long offset)
+            throws NoSuchByteException {
+
+        int chunkOffset = chunkOffset(offset);
+        if (chunkOffset + 8 <= chunksize) {
+            return viewByOffset(offset).getLong(chunkOffset);
+        }
+        return Input.super.readLong(offset);
     }
 
     @Override
@@ -105,24 +186,21 @@ public class CompositeBuffer
         long sourceOffset = offset;
         int targetOffset = 0;
 
-        Buffer buffer = bufferByOffset(offset);
         do {
+            int chunkIndex = chunkIndex(sourceOffset);
+            if (chunkIndex >= nbOfChunks) {
+                throw new NoSuchByteException(offset, "Offset " + sourceOffset + " outside of available data");
+            }
+
             int chunkOffset = chunkOffset(sourceOffset);
             int chunkAvail = chunksize - chunkOffset;
 
             int chunkLength = (int) Math.min(chunkAvail, remaining);
-            System.arraycopy(buffer.buffer, chunkOffset, bytes, targetOffset, chunkLength);
+            System.arraycopy(chunks[chunkIndex], chunkOffset, bytes, targetOffset, chunkLength);
 
             remaining -= chunkLength;
             sourceOffset += chunkLength;
             targetOffset += chunkLength;
-
-            if (remaining > 0) {
-                buffer = buffer.next;
-                if (buffer == null) {
-                    throw new NoSuchByteException(offset, "Offset " + sourceOffset + " outside of available data");
-                }
-            }
         } while (remaining > 0);
         return length;
     }
@@ -141,14 +219,12 @@ public class CompositeBuffer
         byte[] data = new byte[remaining];
 
         int targetOffset = 0;
-        Buffer buffer = head;
-        for (int i = 0; i < nbOfChunks; i++) {
+        for (int i = 0; i < nbOfChunks && remaining > 0; i++) {
             int chunkLength = Math.min(remaining, chunksize);
-            System.arraycopy(buffer.buffer, 0, data, targetOffset, chunkLength);
+            System.arraycopy(chunks[i], 0, data, targetOffset, chunkLength);
 
             targetOffset += chunkLength;
             remaining -= chunkLength;
-            buffer = buffer.next;
         }
 
         return data;
@@ -158,14 +234,12 @@ public class CompositeBuffer
             throws IOException {
 
         Objects.requireNonNull(outputStream, "outputStream must not be null");
-        Buffer buffer = head;
         long remaining = highestOffset + 1;
-        for (int i = 0; i < nbOfChunks; i++) {
+        for (int i = 0; i < nbOfChunks && remaining > 0; i++) {
             long chunkLength = Math.min(remaining, chunksize);
-            outputStream.write(buffer.buffer, 0, (int) chunkLength);
+            outputStream.write(chunks[i], 0, (int) chunkLength);
 
             remaining -= chunkLength;
-            buffer = buffer.next;
         }
         return highestOffset + 1;
     }
@@ -189,13 +263,11 @@ public class CompositeBuffer
             byteBuffer = ByteBuffer.allocate(remaining);
         }
 
-        Buffer buffer = head;
-        for (int i = 0; i < nbOfChunks; i++) {
+        for (int i = 0; i < nbOfChunks && remaining > 0; i++) {
             int chunkLength = Math.min(remaining, chunksize);
-            byteBuffer.put(buffer.buffer, 0, chunkLength);
+            byteBuffer.put(chunks[i], 0, chunkLength);
 
             remaining -= chunkLength;
-            buffer = buffer.next;
         }
         return byteBuffer;
     }
@@ -204,50 +276,44 @@ public class CompositeBuffer
         highestOffset = Math.max(highestOffset, maxOffset);
     }
 
-    private int chunkOffset(long offset) {
-        return (int) (offset % chunksize);
+    private int chunkIndex(long offset) {
+        return (int) (offset >>> chunkShift);
     }
 
-    private Buffer bufferByOffset(long offset) {
-        int chunk = (int) (offset / chunksize);
-
-        Buffer buffer = tail;
-        if (chunk < nbOfChunks) {
-            buffer = head;
-            for (int i = 0; i < chunk; i++) {
-                buffer = buffer.next;
-            }
+    private int chunkOffset(long offset) {
+        return (int) (offset & chunkMask);
+    }
 
-        } else {
-            while (chunk >= nbOfChunks) {
-                buffer = appendBuffer();
-            }
+    private ByteBuffer viewByOffset(long offset) {
+        int chunkIndex = chunkIndex(offset);
+        if (offset < 0 || chunkIndex >= nbOfChunks) {
+            throw new NoSuchByteException(offset, "Offset " + offset + " outside of available data");
         }
-        return buffer;
+        return views[chunkIndex];
     }
 
-    private Buffer appendBuffer() {
-        Buffer tail = this.tail;
-
-        byte[] buffer = new byte[chunksize];
-        Buffer newTail = new Buffer(buffer);
-
-        nbOfChunks++;
-        if (tail != null) {
-            tail.next = newTail;
+    private byte[] chunkByOffset(long offset) {
+        int chunkIndex = chunkIndex(offset);
+        while (chunkIndex >= nbOfChunks) {
+            appendChunk();
         }
-
-        return this.tail = newTail;
+        return chunks[chunkIndex];
     }
 
-    private static class Buffer {
-        private final byte[] buffer;
-
-        private Buffer next;
-
-        private Buffer(byte[] buffer) {
-            this.buffer = buffer;
+    private void appendChunk() {
+        if (nbOfChunks == chunks.length) {
+            // Only the directory of chunk references is copied, never the chunks
+            chunks = Arrays.copyOf(chunks, chunks.length << 1);
+            views = Arrays.copyOf(views, views.length << 1);
         }
+        byte[] chunk = new byte[chunksize];
+        chunks[nbOfChunks] = chunk;
+        views[nbOfChunks++] = ByteBuffer.wrap(chunk);
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
     }
 
     public static CompositeBuffer newCompositeBuffer() {
@@ -21,6 +21,7 @@ import com.noctarius.borabora.HalfPrecisionFloat;
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Sequence;
+import com.noctarius.borabora.Utf8View;
 import com.noctarius.borabora.Value;
 import com.noctarius.borabora.ValueType;
 import com.noctarius.borabora.ValueTypes;
@@ -34,9 +35,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import static java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME;
@@ -88,6 +91,29 @@ public final class Decoder
         return number;
     }
 
+    public static long readIntAsLong(Input input, long offset) {
+        short head = Bytes.readUInt8(input, offset);
+        long mask = -((head & 0xff) >>> 5);
+        int byteSize = ByteSizes.intByteSize(input, offset);
+        switch (byteSize) {
+            case 2:
+                return mask ^ Bytes.readUInt8(input, offset + 1);
+            case 3:
+                return mask ^ Bytes.readUInt16(input, offset + 1);
+            case 5:
+                return mask ^ Bytes.readUInt32(input, offset + 1);
+            case 9:
+                // Values outside of the long range are narrowed like BigInteger::longValue
+                return mask ^ Bytes.readUInt64Long(input, offset + 1);
+            default:
+                return mask ^ (head & ADDITIONAL_INFORMATION_MASK);
+        }
+    }
+
+    public static boolean isIntInLongRange(Input input, long offset) {
+        return ByteSizes.intByteSize(input, offset) < 9 || Bytes.readUInt64Long(input, offset + 1) >= 0;
+    }
+
     public static Number readUint(Input input, long offset) {
         short head = Bytes.readUInt8(input, offset);
         int byteSize = ByteSizes.intByteSize(input, offset);
@@ -125,6 +151,20 @@ public final class Decoder
         }
     }
 
+    public static double readFloatAsDouble(Input input, long offset) {
+        int addInfo = additionalInfo(input, offset);
+        switch (addInfo) {
+            case FP_VALUE_HALF_PRECISION:
+                return HalfPrecision.toFloat(Bytes.readUInt16(input, offset + 1));
+            case FP_VALUE_SINGLE_PRECISION:
+                return readSinglePrecisionFloat(input, offset + 1);
+            case FP_VALUE_DOUBLE_PRECISION:
+                return readDoublePrecisionFloat(input, offset + 1);
+            default:
+                throw new IllegalStateException("Additional Info '" + addInfo + "' is not a floating point value");
+        }
+    }
+
     public static Number readNumber(Input input, ValueType valueType, long offset) {
         if (valueType.matches(ValueTypes.Float)) {
             return readFloat(input, offset);
@@ -152,6 +192,16 @@ public final class Decoder
         return readString0(input, offset, queryContext);
     }
 
+    public static Utf8View readStringView(Input input, long offset) {
+        if (additionalInfo(input, offset) == ADD_INFO_INDEFINITE) {
+            // Chunks are not stored consecutively and need to be collected
+            byte[] data = extractStringBytes(input, offset);
+            return Utf8View.of(Input.fromByteArray(data), 0, data.length);
+        }
+        long dataOffset = offset + ByteSizes.headByteSize(input, offset);
+        return Utf8View.of(input, dataOffset, ByteSizes.stringDataSize(input, offset));
+    }
+
     public static Sequence readSequence(long offset, QueryContext queryContext) {
         return SequenceImpl.readSequence(offset, queryContext);
     }
@@ -277,6 +327,46 @@ public final class Decoder
         return skip(queryContext.input(), position);
     }
 
+    public static void findByDictionaryKeys(Predicate<Value>[] predicates, long offset, QueryContext queryContext,
+                                            long[] valueOffsets) {
+
+        Arrays.fill(valueOffsets, 0, predicates.length, OFFSET_CODE_NULL);
+
+        Input input = queryContext.input();
+        long position = offset + ByteSizes.headByteSize(input, offset);
+
+        // Is fixed sized?
+        boolean indefinite = additionalInfo(input, offset) == ADD_INFO_INDEFINITE;
+        long elements = indefinite ? -1 : ElementCounts.dictionaryElementCount(input, offset);
+
+        int remaining = predicates.length;
+        RelocatableStreamValue streamValue = new RelocatableStreamValue();
+        for (long i = 0; indefinite ? input.offsetValid(position) && Bytes.readUInt8(input, position) != OPCODE_BREAK_MASK
+                                    : i < elements; i++) {
+
+            MajorType majorType = getMajorType(position, input);
+            ValueType valueType = queryContext.valueType(position);
+            streamValue.relocate(queryContext, majorType, valueType, position);
+
+            // Skip over key
+            long valuePosition = skip(input, position);
+
+            // First matching key wins, as for single key lookups
+            for (int p = 0; p < predicates.length; p++) {
+                if (valueOffsets[p] == OFFSET_CODE_NULL && predicates[p].test(streamValue)) {
+                    valueOffsets[p] = valuePosition;
+                    remaining--;
+                }
+            }
+            if (remaining == 0) {
+                return;
+            }
+
+            // Skip over value
+            position = skip(input, valuePosition);
+        }
+    }
+
     public static Value readValue(long offset, QueryContext queryContext) {
         MajorType majorType = getMajorType(offset, queryContext.input());
         ValueType valueType = queryContext.valueType(offset);
@@ -435,6 +525,16 @@ public final class Decoder
     }
 
     private static String readString0(Input input, long offset, QueryContext queryContext) {
+        StringCache stringCache = queryContext.stringCache();
+        if (stringCache != null) {
+            long dataSize = ByteSizes.stringDataSize(input, offset);
+            if (dataSize <= stringCache.maxStringLength()) {
+                Charset charset = ValueTypes.ASCII == queryContext.valueType(offset) ? ASCII : UTF8;
+                long dataOffset = offset + ByteSizes.headByteSize(input, offset);
+                return stringCache.readString(input, dataOffset, (int) dataSize, charset);
+            }
+        }
+
         byte[] bytes = extractStringBytes(input, offset);
         // Empty string
         if (bytes.length == 0) {
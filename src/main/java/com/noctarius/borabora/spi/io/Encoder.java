@@ -50,10 +50,17 @@ public final class Encoder
     }
 
     public static long putString(String value, long offset, Output output) {
-        if (StringEncoders.ASCII_ENCODER.canEncode(value)) {
-            return putAsciiString(value, offset, output);
+        // Strings are measured once and written straight into the output, without
+        // encoding them into an intermediate byte-array
+        int asciiLength = asciiLength(value);
+        if (asciiLength == value.length()) {
+            offset = putSemanticTag(TAG_ASCII_STRING, offset, output);
+            offset = encodeLengthAndValue(MajorType.ByteString, asciiLength, offset, output);
+            return writeAscii(value, true, offset, output);
         }
-        return putTextString(value, offset, output);
+        long utf8Length = asciiLength + utf8Length(value, asciiLength);
+        offset = encodeLengthAndValue(MajorType.TextString, utf8Length, offset, output);
+        return writeUtf8(value, offset, output);
     }
 
     public static long putBoolean(boolean value, long offset, Output output) {
@@ -65,14 +72,20 @@ public final class Encoder
     }
 
     public static long putTextString(String value, long offset, Output output) {
-        byte[] data = StringEncoders.UTF8_ENCODER.encode(value);
-        return putRaw(data, MajorType.TextString, offset, output);
+        offset = encodeLengthAndValue(MajorType.TextString, utf8Length(value, 0), offset, output);
+        return writeUtf8(value, offset, output);
     }
 
     public static long putAsciiString(String value, long offset, Output output) {
-        byte[] data = StringEncoders.ASCII_ENCODER.encode(value);
+        int length = value.length();
+        boolean pureAscii = asciiLength(value) == length;
+        if (!pureAscii) {
+            // Unmappable characters are replaced, surrogate pairs by a single replacement
+            length = asciiReplacedLength(value);
+        }
         offset = putSemanticTag(TAG_ASCII_STRING, offset, output);
-        return putRaw(data, MajorType.ByteString, offset, output);
+        offset = encodeLengthAndValue(MajorType.ByteString, length, offset, output);
+        return writeAscii(value, pureAscii, offset, output);
     }
 
     public static long putByteString(byte[] value, long offset, Output output) {
@@ -182,8 +195,8 @@ public final class Encoder
 
         } else if (length <= NUMBER_VAL_MAX_TWO_BYTE) {
             head |= ADD_INFO_ONE_BYTE;
-            offset = Bytes.putInt8((byte) head, offset, output);
-            offset = Bytes.putInt8((byte) length, offset, output);
+            // Head and value fit into a single 16 bit write
+            offset = Bytes.putInt16((short) ((head << 8) | length), offset, output);
 
         } else if (length <= NUMBER_VAL_MAX_THREE_BYTE) {
             head |= ADD_INFO_TWO_BYTES;
@@ -210,8 +223,7 @@ public final class Encoder
 
         } else if (length.compareTo(BI_VAL_256) <= COMPARATOR_LESS_THAN) {
             head |= ADD_INFO_ONE_BYTE;
-            offset = Bytes.putInt8((byte) head, offset, output);
-            offset = Bytes.putInt8((byte) length.intValue(), offset, output);
+            offset = Bytes.putInt16((short) ((head << 8) | length.intValue()), offset, output);
 
         } else if (length.compareTo(BI_VAL_65536) <= COMPARATOR_LESS_THAN) {
             head |= ADD_INFO_TWO_BYTES;
@@ -226,14 +238,8 @@ public final class Encoder
         } else if (length.compareTo(BI_VAL_MAX_VALUE) <= COMPARATOR_LESS_THAN) {
             head |= ADD_INFO_EIGHT_BYTES;
             offset = Bytes.putInt8((byte) head, offset, output);
-            output.write(offset++, (byte) length.shiftRight(56).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(48).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(40).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(32).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(24).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(16).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(8).and(BI_MASK).intValue());
-            output.write(offset++, (byte) length.shiftRight(0).and(BI_MASK).intValue());
+            // Lower 64 bits hold the full unsigned value
+            offset = Bytes.putInt64(length.longValue(), offset, output);
 
         } else {
             if (majorType == MajorType.NegativeInteger) {
@@ -347,4 +353,94 @@ public final class Encoder
         return offset;
     }
 
+    private static int asciiLength(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int asciiReplacedLength(String value) {
+        int length = value.length();
+        int asciiLength = length;
+        for (int i = 0; i < length - 1; i++) {
+            if (Character.isHighSurrogate(value.charAt(i)) && Character.isLowSurrogate(value.charAt(i + 1))) {
+                asciiLength--;
+                i++;
+            }
+        }
+        return asciiLength;
+    }
+
+    private static long utf8Length(String value, int start) {
+        long utf8Length = 0;
+        int length = value.length();
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (!Character.isSurrogate(c)) {
+                utf8Length += 3;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else {
+                // Malformed surrogates are replaced like String::getBytes does
+                utf8Length++;
+            }
+        }
+        return utf8Length;
+    }
+
+    private static long writeAscii(String value, boolean pureAscii, long offset, Output output) {
+        int length = value.length();
+        int i = 0;
+        if (pureAscii) {
+            // Pack eight characters per write to minimize calls into the output
+            for (; i + 8 <= length; i += 8) {
+                long word = 0;
+                for (int j = 0; j < 8; j++) {
+                    word = (word << 8) | value.charAt(i + j);
+                }
+                offset = output.writeLong(offset, word);
+            }
+        }
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            offset = output.write(offset, c < 0x80 ? (byte) c : (byte) '?');
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                i++;
+            }
+        }
+        return offset;
+    }
+
+    private static long writeUtf8(String value, long offset, Output output) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                offset = output.write(offset, (byte) c);
+            } else if (c < 0x800) {
+                offset = output.writeShort(offset, (short) (0xc080 | ((c & 0x7c0) << 2) | (c & 0x3f)));
+            } else if (!Character.isSurrogate(c)) {
+                offset = output.writeShort(offset, (short) (0xe080 | ((c & 0xf000) >> 4) | ((c >> 6) & 0x3f)));
+                offset = output.write(offset, (byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                offset = output.writeInt(offset, 0xf0808080 //
+                        | ((codePoint & 0x1c0000) << 6) | ((codePoint & 0x3f000) << 4) //
+                        | ((codePoint & 0xfc0) << 2) | (codePoint & 0x3f));
+            } else {
+                offset = output.write(offset, (byte) '?');
+            }
+        }
+        return offset;
+    }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.spi.io;
+
+import com.noctarius.borabora.Input;
+
+import java.nio.charset.Charset;
+
+/**
+ * The <tt>StringCache</tt> class implements a bounded cache of decoded strings, keyed by their raw
+ * encoded bytes. Repeated short strings, like the keys of many equally structured dictionaries, are
+ * returned as canonical {@link String} instances, instead of decoding a new instance (and its
+ * temporary byte-array) for every occurrence.
+ * <p>The cache is a direct-mapped table of <tt>capacity</tt> slots, hashed over the encoded bytes.
+ * Colliding strings replace each other, therefore the memory used by the cache never grows beyond
+ * the configured capacity. Only strings up to <tt>maxStringLength</tt> encoded bytes are cached.</p>
+ * <p>Instances are thread-safe and lock-free. Entries are immutable and concurrently inserted
+ * entries of the same slot may overwrite each other, which only costs a later cache miss.</p>
+ */
+public final class StringCache {
+
+    public static final int DEFAULT_MAX_STRING_LENGTH = 64;
+
+    private static final int FNV_OFFSET_BASIS = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final int mask;
+    private final int maxStringLength;
+    private final Entry[] entries;
+
+    public StringCache(int capacity) {
+        this(capacity, DEFAULT_MAX_STRING_LENGTH);
+    }
+
+    public StringCache(int capacity, int maxStringLength) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be positive and not larger than 2^30");
+        }
+        if (maxStringLength <= 0) {
+            throw new IllegalArgumentException("maxStringLength must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.maxStringLength = maxStringLength;
+        this.entries = new Entry[size];
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public int maxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * Returns the string decoded from the <tt>length</tt> bytes starting at the given <tt>offset</tt>
+     * using the given <tt>charset</tt>. If an equal string was decoded before and is still cached,
+     * the cached instance is returned without copying or decoding the data. Strings longer than
+     * {@link #maxStringLength()} are decoded but not cached.
+     *
+     * @param input   the input to read from
+     * @param offset  the offset of the first data byte
+     * @param length  the number of data bytes
+     * @param charset the charset to decode the data
+     * @return the decoded string instance
+     */
+    public String readString(Input input, long offset, int length, Charset charset) {
+        if (length > maxStringLength) {
+            return decode(input, offset, length, charset);
+        }
+
+        int hash = hash(input, offset, length);
+        int slot = hash & mask;
+        Entry entry = entries[slot];
+        if (entry != null && entry.matches(hash, input, offset, length, charset)) {
+            return entry.value;
+        }
+
+        byte[] data = new byte[length];
+        if (length > 0) {
+            input.read(data, offset, length);
+        }
+        String value = new String(data, charset);
+        entries[slot] = new Entry(hash, data, charset, value);
+        return value;
+    }
+
+    private static String decode(Input input, long offset, int length, Charset charset) {
+        byte[] data = new byte[length];
+        input.read(data, offset, length);
+        return new String(data, charset);
+    }
+
+    private static int hash(Input input, long offset, int length) {
+        int hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (input.read(offset + i) & 0xff)) * FNV_PRIME;
+        }
+        // Spread higher bits to the lower ones used for slot selection
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final byte[] data;
+        private final Charset charset;
+        private final String value;
+
+        private Entry(int hash, byte[] data, Charset charset, String value) {
+            this.hash = hash;
+            this.data = data;
+            this.charset = charset;
+            this.value = value;
+        }
+
+        private boolean matches(int hash, Input input, long offset, int length, Charset charset) {
+            if (this.hash != hash || data.length != length || !this.charset.equals(charset)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (input.read(offset + i) != data[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
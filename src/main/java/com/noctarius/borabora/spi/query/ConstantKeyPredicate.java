@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.spi.query;
+
+import com.noctarius.borabora.Value;
+
+import java.util.function.Predicate;
+
+/**
+ * The <tt>ConstantKeyPredicate</tt> interface is implemented by predicates matching against a single
+ * constant value, such as the ones returned by {@link com.noctarius.borabora.Predicates#matchString(String)}.
+ * Since predicates cannot be compared for equality, the constant key is used by query stages to find
+ * out if two lookups are the same.
+ */
+public interface ConstantKeyPredicate
+        extends Predicate<Value> {
+
+    /**
+     * Returns the constant value matched by this predicate.
+     *
+     * @return the constant value matched
+     */
+    Object key();
+
+}
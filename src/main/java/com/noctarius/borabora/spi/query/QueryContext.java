@@ -21,6 +21,7 @@ import com.noctarius.borabora.MajorType;
 import com.noctarius.borabora.Value;
 import com.noctarius.borabora.ValueType;
 import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.StringCache;
 
 import java.util.List;
 
@@ -52,4 +53,9 @@ public interface QueryContext {
 
     QueryContextFactory queryContextFactory();
 
+    // Strings are decoded without caching if null is returned
+    default StringCache stringCache() {
+        return null;
+    }
+
 }
@@ -42,4 +42,16 @@ public interface QueryPipeline {
      */
     String printQueryGraph();
 
+    /**
+     * Returns the root {@link PipelineStage} of the bound execution plan. The default implementation
+     * returns {@link PipelineStage#NIL} to signal that the execution plan is not accessible, in which
+     * case plan dependent optimizations, like parallel evaluation of multi-stream queries, are not
+     * applied.
+     *
+     * @return the root pipeline stage or PipelineStage.NIL if not accessible
+     */
+    default PipelineStage rootPipelineStage() {
+        return PipelineStage.NIL;
+    }
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.spi.io.CompositeBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalParserTestCase
+        extends AbstractTestCase {
+
+    private static final String LONG_STRING = new String(new char[10000]).replace('\0', 'x');
+
+    @Test
+    public void test_feed_single_bytes() {
+        byte[] data = stream();
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        IncrementalParser incrementalParser = parser.newIncrementalParser(parser.newQueryBuilder().build(), values::add);
+
+        for (int i = 0; i < data.length; i++) {
+            incrementalParser.feed(data, i, 1);
+        }
+        incrementalParser.finish();
+
+        assertEquals(4, incrementalParser.itemCount());
+        assertEquals(0, incrementalParser.bufferedBytes());
+        assertValues(values);
+    }
+
+    @Test
+    public void test_feed_chunks() {
+        byte[] data = stream();
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        IncrementalParser incrementalParser = parser.newIncrementalParser(parser.newQueryBuilder().build(), values::add);
+
+        for (int i = 0; i < data.length; i += 1000) {
+            incrementalParser.feed(Arrays.copyOfRange(data, i, Math.min(data.length, i + 1000)));
+        }
+        incrementalParser.finish();
+        assertValues(values);
+    }
+
+    @Test
+    public void test_feed_query_per_item() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer)) //
+              .putSequence(2).putString("a").putString("b").endSequence() //
+              .putSequence(2).putString("c").putString("d").endSequence() //
+              .finishStream();
+
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        Query query = parser.newQueryBuilder().sequence(1).build();
+        IncrementalParser incrementalParser = parser.newIncrementalParser(query, values::add);
+        incrementalParser.feed(compositeBuffer.toByteArray());
+
+        // The query is evaluated against each item in isolation
+        assertEquals(2, values.size());
+        assertEquals("b", values.get(0).string());
+        assertEquals("d", values.get(1).string());
+    }
+
+    @Test
+    public void test_partial_item_buffered() {
+        byte[] data = stream();
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        IncrementalParser incrementalParser = parser.newIncrementalParser(parser.newQueryBuilder().build(), values::add);
+
+        // Number item followed by the head of the long string item
+        incrementalParser.feed(data, 0, 8);
+        assertEquals(1, incrementalParser.itemCount());
+        assertEquals(3, incrementalParser.bufferedBytes());
+        assertEqualsNumber(1000000, values.get(0).number());
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_finish_inside_item() {
+        byte[] data = stream();
+        Parser parser = Parser.newParser();
+        IncrementalParser incrementalParser = parser.newIncrementalParser(parser.newQueryBuilder().build(), (v) -> {
+        });
+        incrementalParser.feed(data, 0, data.length - 1);
+        incrementalParser.finish();
+    }
+
+    private void assertValues(List<Value> values) {
+        assertEquals(4, values.size());
+        assertEqualsNumber(1000000, values.get(0).number());
+        assertEquals(LONG_STRING, values.get(1).string());
+        assertEquals("b", values.get(2).sequence().get(1).string());
+        assertEquals("c", values.get(3).string());
+    }
+
+    private static byte[] stream() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer)) //
+              .putNumber(1000000) //
+              .putString(LONG_STRING) //
+              .putSequence().putString("a").putString("b").endSequence() //
+              .putString("c").finishStream();
+        return compositeBuffer.toByteArray();
+    }
+
+}
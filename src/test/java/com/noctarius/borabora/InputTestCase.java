@@ -22,7 +22,13 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import sun.misc.Unsafe;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.function.Function;
 
 import static junit.framework.Assert.assertFalse;
@@ -40,7 +46,10 @@ public class InputTestCase
                 new Object[][]{ //
                                 {input(Input::fromByteArray), "ByteArrayInput", false}, //
                                 {input(InputTestCase::unsafeInput), "UnsafeByteInput", true}, //
-                                {input(InputTestCase::compositeBufferInput), "CompositeBufferInput", true}});
+                                {input(InputTestCase::compositeBufferInput), "CompositeBufferInput", true}, //
+                                {input(InputTestCase::mappedFileInput), "MappedFileInput", true}, //
+                                {input(InputTestCase::heapByteBufferInput), "HeapByteBufferInput", false}, //
+                                {input(InputTestCase::directByteBufferInput), "DirectByteBufferInput", false}});
     }
 
     private static Function<byte[], Input> input(Function<byte[], Input> function) {
@@ -60,6 +69,34 @@ public class InputTestCase
         return Input.fromCompositeBuffer(compositeBuffer);
     }
 
+    private static Input mappedFileInput(byte[] data) {
+        try {
+            Path file = Files.createTempFile("borabora", ".cbor");
+            file.toFile().deleteOnExit();
+            Files.write(file, data);
+            return Input.fromFile(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Input heapByteBufferInput(byte[] data) {
+        // Sliced at a non-zero array offset with a foreign position and byte order
+        ByteBuffer buffer = ByteBuffer.allocate(data.length + 7);
+        buffer.position(3);
+        buffer.put(data);
+        buffer.position(3);
+        ByteBuffer slice = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        slice.limit(data.length);
+        return Input.fromByteBuffer(slice);
+    }
+
+    private static Input directByteBufferInput(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        return Input.fromByteBuffer(buffer);
+    }
+
     private final Function<byte[], Input> function;
     private final boolean longCapable;
 
@@ -68,6 +105,31 @@ public class InputTestCase
         this.longCapable = longCapable;
     }
 
+    @Test
+    public void test_read_primitives() {
+        byte[] data = new byte[2048];
+        new Random().nextBytes(data);
+        Input input = function.apply(data);
+        ByteBuffer expected = ByteBuffer.wrap(data);
+        for (int offset = 0; offset <= data.length - 8; offset++) {
+            assertEquals(expected.getShort(offset), input.readShort(offset));
+            assertEquals(expected.getInt(offset), input.readInt(offset));
+            assertEquals(expected.getLong(offset), input.readLong(offset));
+        }
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_read_long_outside_of_available_data() {
+        Input input = function.apply(new byte[7]);
+        input.readLong(0);
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_read_int_negative_offset() {
+        Input input = function.apply(new byte[8]);
+        input.readInt(-1);
+    }
+
     @Test
     public void test_read_bytearray() {
         byte[] data = new byte[]{(byte) 0xff};
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MappedFileInputTestCase
+        extends AbstractTestCase {
+
+    private Path file;
+
+    @Before
+    public void setup()
+            throws IOException {
+
+        file = Files.createTempFile("borabora", ".cbor");
+    }
+
+    @After
+    public void teardown()
+            throws IOException {
+
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void test_read_across_windows() {
+        byte[] data = write(100);
+        // 16 byte windows, most primitives and byte ranges span multiple windows
+        try (MappedInput input = mapped(4)) {
+            assertEquals(100, input.size());
+            ByteBuffer expected = ByteBuffer.wrap(data);
+            for (int offset = 0; offset <= data.length - 8; offset++) {
+                assertEquals(data[offset], input.read(offset));
+                assertEquals(expected.getShort(offset), input.readShort(offset));
+                assertEquals(expected.getInt(offset), input.readInt(offset));
+                assertEquals(expected.getLong(offset), input.readLong(offset));
+            }
+
+            byte[] bytes = new byte[50];
+            assertEquals(50, input.read(bytes, 7, 50));
+            byte[] expectedBytes = new byte[50];
+            System.arraycopy(data, 7, expectedBytes, 0, 50);
+            assertArrayEquals(expectedBytes, bytes);
+        }
+    }
+
+    @Test
+    public void test_offsetvalid() {
+        write(10);
+        try (MappedInput input = Input.fromFile(file)) {
+            assertTrue(input.offsetValid(9));
+            assertFalse(input.offsetValid(10));
+        }
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_read_beyond_size() {
+        write(10);
+        try (MappedInput input = Input.fromFile(file)) {
+            input.readInt(7);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_read_after_close() {
+        write(10);
+        MappedInput input = Input.fromFile(file);
+        input.close();
+        input.close();
+        input.read(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_illegal_window_shift() {
+        write(10);
+        mapped(31);
+    }
+
+    @Test
+    public void test_parse_from_filechannel()
+            throws IOException {
+
+        Files.write(file, hexToBytes("0x6449455446"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedInput input = Input.fromFileChannel(channel);
+            channel.close();
+
+            Parser parser = Parser.newParser();
+            assertEquals("IETF", parser.read(input, parser.newQueryBuilder().build()).string());
+            input.close();
+        }
+    }
+
+    private byte[] write(int size) {
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        try {
+            Files.write(file, data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return data;
+    }
+
+    private MappedInput mapped(int windowShift) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedFileInput(channel, windowShift);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ObjectMapperTestCase
+        extends AbstractTestCase {
+
+    private final ObjectMapper objectMapper = ObjectMapper.newObjectMapper();
+
+    @Test
+    public void test_scalars() {
+        Scalars scalars = new Scalars();
+        scalars.flag = true;
+        scalars.int8 = -12;
+        scalars.int16 = 1234;
+        scalars.int32 = -123456;
+        scalars.int64 = Long.MAX_VALUE;
+        scalars.float32 = 1.5f;
+        scalars.float64 = -2.25d;
+        scalars.character = 'ä';
+        scalars.text = "Hällo World";
+        scalars.bytes = new byte[]{1, 2, 3};
+        scalars.boxed = 42;
+        scalars.bigInteger = new BigInteger("123456789012345678901234567890");
+        scalars.bigDecimal = new BigDecimal("1234.5678");
+        scalars.uri = URI.create("http://www.noctarius.com/");
+        scalars.date = new Date(1463329843000L);
+        scalars.instant = Instant.ofEpochSecond(1463329843L);
+        scalars.color = Color.Green;
+
+        Scalars result = roundtrip(scalars, Scalars.class);
+        assertEquals(scalars.flag, result.flag);
+        assertEquals(scalars.int8, result.int8);
+        assertEquals(scalars.int16, result.int16);
+        assertEquals(scalars.int32, result.int32);
+        assertEquals(scalars.int64, result.int64);
+        assertEquals(scalars.float32, result.float32, 0f);
+        assertEquals(scalars.float64, result.float64, 0d);
+        assertEquals(scalars.character, result.character);
+        assertEquals(scalars.text, result.text);
+        assertArrayEquals(scalars.bytes, result.bytes);
+        assertEquals(scalars.boxed, result.boxed);
+        assertEquals(scalars.bigInteger, result.bigInteger);
+        assertEquals(scalars.bigDecimal, result.bigDecimal);
+        assertEquals(scalars.uri, result.uri);
+        assertEquals(scalars.date, result.date);
+        assertEquals(scalars.instant, result.instant);
+        assertEquals(scalars.color, result.color);
+    }
+
+    @Test
+    public void test_null_properties() {
+        Scalars result = roundtrip(new Scalars(), Scalars.class);
+        assertNull(result.text);
+        assertNull(result.boxed);
+        assertNull(result.color);
+        assertEquals(0, result.int32);
+    }
+
+    @Test
+    public void test_collections_maps_and_arrays() {
+        Containers containers = new Containers();
+        containers.names = Arrays.asList("foo", "bar");
+        containers.tags = new TreeSet<>(Arrays.asList("b", "a"));
+        containers.counts = new LinkedHashMap<>();
+        containers.counts.put(Color.Red, 1L);
+        containers.counts.put(Color.Blue, 2L);
+        containers.points = new Point[]{new Point(1, 2), null, new Point(3, 4)};
+        containers.numbers = new int[]{1, -2, 3};
+        containers.matrix = new double[][]{{1.5}, {2.5, 3.5}};
+        containers.nested = Collections.singletonList(Collections.singletonMap("key", new Point(5, 6)));
+
+        Containers result = roundtrip(containers, Containers.class);
+        assertEquals(containers.names, result.names);
+        assertEquals(containers.tags, result.tags);
+        assertEquals(containers.counts, result.counts);
+        assertArrayEquals(containers.points, result.points);
+        assertArrayEquals(containers.numbers, result.numbers);
+        assertEquals(2, result.matrix.length);
+        assertArrayEquals(containers.matrix[1], result.matrix[1], 0d);
+        assertEquals(new Point(5, 6), result.nested.get(0).get("key"));
+    }
+
+    @Test
+    public void test_inheritance_and_polymorphic_properties() {
+        Labeled labeled = new Labeled(7, 8, "label");
+        Holder holder = new Holder();
+        holder.point = labeled;
+        holder.any = labeled;
+
+        Value value = Parser.newParser().read(Input.fromByteArray(encodeObject(holder)), 0);
+        Dictionary point = value.dictionary().get("point").dictionary();
+        assertEquals("label", point.get("label").string());
+        assertEquals(7, point.get("x").longValue());
+
+        Holder result = objectMapper.read(value, Holder.class);
+        assertEquals(new Point(7, 8), result.point);
+        Map<?, ?> any = (Map<?, ?>) result.any;
+        assertEquals("label", any.get("label"));
+        assertEquals(8L, ((Number) any.get("y")).longValue());
+    }
+
+    @Test
+    public void test_self_referencing_type() {
+        Node node = new Node();
+        node.name = "first";
+        node.next = new Node();
+        node.next.name = "second";
+
+        Node result = roundtrip(node, Node.class);
+        assertEquals("first", result.name);
+        assertEquals("second", result.next.name);
+        assertNull(result.next.next);
+    }
+
+    @Test
+    public void test_read_reordered_unknown_and_missing_properties() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toOutputStream(baos));
+        graphBuilder.putDictionary(3) //
+                    .putEntry().putString("y").putNumber(2).endEntry() //
+                    .putEntry().putString("unknown").putSequence(1).putNumber(1).endSequence().endEntry() //
+                    .putEntry().putTextString("x").putNumber(1).endEntry() //
+                    .endDictionary().finishStream();
+
+        Point point = objectMapper.read(Input.fromByteArray(baos.toByteArray()), Point.class);
+        assertEquals(new Point(1, 2), point);
+
+        Scalars scalars = objectMapper.read(Input.fromByteArray(baos.toByteArray()), Scalars.class);
+        assertNull(scalars.text);
+    }
+
+    @Test
+    public void test_top_level_values() {
+        List<Object> list = Arrays.asList("a", 1, true, null);
+        assertEquals(Arrays.asList("a", 1L, true, null), objectMapper.read(encodeInput(list), List.class));
+        assertArrayEquals(new long[]{1, 2}, objectMapper.read(encodeInput(new long[]{1, 2}), long[].class));
+        assertEquals("foo", objectMapper.read(encodeInput("foo"), String.class));
+        assertNull(objectMapper.read(encodeInput(null), Point.class));
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("a", Collections.singletonMap("b", "c"));
+        assertEquals(map, objectMapper.read(encodeInput(map), Map.class));
+    }
+
+    @Test
+    public void test_write_into_builder() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toOutputStream(baos));
+        objectMapper.write(new Point(1, 2), graphBuilder.putSequence(2)).putString("end").endSequence().finishStream();
+
+        Sequence sequence = Parser.newParser().read(Input.fromByteArray(baos.toByteArray()), 0).sequence();
+        assertEquals(new Point(1, 2), objectMapper.read(sequence.get(0), Point.class));
+        assertEquals("end", sequence.get(1).string());
+    }
+
+    @Test
+    public void test_set_interface_property() {
+        Tags tags = new Tags();
+        tags.values = new TreeSet<>(Arrays.asList(3, 1, 2));
+        Tags result = roundtrip(tags, Tags.class);
+        assertEquals(tags.values, result.values);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_read_integer_out_of_range() {
+        objectMapper.read(encodeInput(Long.MAX_VALUE), Integer.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_read_uint64_out_of_long_range_into_long() {
+        // {"int64": 0xffffffffffffffff}
+        Input input = Input.fromByteArray(hexToBytes("a165696e7436341bffffffffffffffff"));
+        objectMapper.read(Parser.newParser().read(input, 0), Scalars.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_read_uint64_out_of_long_range_into_int() {
+        // {"int32": 0xffffffffffffffff}
+        Input input = Input.fromByteArray(hexToBytes("a165696e7433321bffffffffffffffff"));
+        objectMapper.read(Parser.newParser().read(input, 0), Scalars.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_read_biginteger_out_of_long_range() {
+        objectMapper.read(encodeInput(BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE)), Long.class);
+    }
+
+    @Test
+    public void test_read_uint64_in_long_range() {
+        Input input = Input.fromByteArray(hexToBytes("1b7fffffffffffffff"));
+        assertEquals(Long.MAX_VALUE, (long) objectMapper.read(Parser.newParser().read(input, 0), Long.class));
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_read_unknown_enum_constant() {
+        objectMapper.read(encodeInput("Purple"), Color.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_read_without_constructor() {
+        objectMapper.read(encodeInput(new NoDefaultConstructor("foo")), NoDefaultConstructor.class);
+    }
+
+    private <T> T roundtrip(Object value, Class<T> type) {
+        return objectMapper.read(encodeInput(value), type);
+    }
+
+    private Input encodeInput(Object value) {
+        return Input.fromByteArray(encodeObject(value));
+    }
+
+    private byte[] encodeObject(Object value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        objectMapper.write(value, Output.toOutputStream(baos));
+        return baos.toByteArray();
+    }
+
+    public enum Color {
+        Red,
+        Green {
+            @Override
+            public String toString() {
+                return "green";
+            }
+        },
+        Blue
+    }
+
+    public static class Scalars {
+        private boolean flag;
+        private byte int8;
+        private short int16;
+        private int int32;
+        private long int64;
+        private float float32;
+        private double float64;
+        private char character;
+        private String text;
+        private byte[] bytes;
+        private Integer boxed;
+        private BigInteger bigInteger;
+        private BigDecimal bigDecimal;
+        private URI uri;
+        private Date date;
+        private Instant instant;
+        private Color color;
+        private transient String ignored = "ignored";
+        private static String alsoIgnored = "ignored";
+    }
+
+    public static class Point {
+        private int x;
+        private int y;
+
+        Point() {
+        }
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Point)) {
+                return false;
+            }
+            Point point = (Point) o;
+            return x == point.x && y == point.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+    }
+
+    public static class Labeled
+            extends Point {
+
+        private String label;
+
+        Labeled(int x, int y, String label) {
+            super(x, y);
+            this.label = label;
+        }
+    }
+
+    public static class Holder {
+        private Point point;
+        private Object any;
+    }
+
+    public static class Node {
+        private String name;
+        private Node next;
+    }
+
+    public static class Tags {
+        private Set<Integer> values;
+    }
+
+    public static class Containers {
+        private List<String> names;
+        private Set<String> tags;
+        private Map<Color, Long> counts;
+        private Point[] points;
+        private int[] numbers;
+        private double[][] matrix;
+        private List<Map<String, Point>> nested;
+    }
+
+    public static class NoDefaultConstructor {
+        private final String value;
+
+        NoDefaultConstructor(String value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -22,12 +22,20 @@ import org.junit.Test;
 import sun.misc.Unsafe;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
 public class OutputTestCase
         extends AbstractTestCase {
 
+    private static final int PRIMITIVES_SIZE = 1 + 2 + 4 + 8 + 8;
+
     @Test
     public void test_output_bytearray() {
         byte[] bytes = new byte[3];
@@ -106,4 +114,114 @@ public class OutputTestCase
         assertEqualsNumber(3, values.get(2).number());
     }
 
+    @Test
+    public void test_output_bytebuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(5);
+        buffer.position(2);
+        Output output = Output.toByteBuffer(buffer);
+        Writer writer = Writer.newWriter();
+        GraphBuilder graphBuilder = writer.newGraphBuilder(output);
+        graphBuilder.putNumber(1).putNumber(2).putNumber(3).finishStream();
+        assertEquals(2, buffer.position());
+
+        Input input = Input.fromByteBuffer(buffer);
+        Parser parser = Parser.newParser();
+
+        List<Value> values = new ArrayList<>();
+        parser.read(input, parser.newQueryBuilder().multiStream().build(), values::add);
+        assertEquals(2, buffer.position());
+
+        assertEqualsNumber(1, values.get(0).number());
+        assertEqualsNumber(2, values.get(1).number());
+        assertEqualsNumber(3, values.get(2).number());
+    }
+
+    @Test
+    public void test_write_primitives_bytearray() {
+        byte[] bytes = new byte[PRIMITIVES_SIZE];
+        writePrimitives(Output.toByteArray(bytes));
+        assertArrayEquals(expectedPrimitives(), bytes);
+    }
+
+    @Test
+    public void test_write_primitives_native() {
+        Unsafe unsafe = UnsafeUtils.getUnsafe();
+        long address = unsafe.allocateMemory(PRIMITIVES_SIZE);
+        try {
+            writePrimitives(Output.toNative(address, PRIMITIVES_SIZE));
+            byte[] bytes = new byte[PRIMITIVES_SIZE];
+            Input.fromNative(address, PRIMITIVES_SIZE).read(bytes, 0, PRIMITIVES_SIZE);
+            assertArrayEquals(expectedPrimitives(), bytes);
+        } finally {
+            unsafe.freeMemory(address);
+        }
+    }
+
+    @Test
+    public void test_write_primitives_outputstream() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePrimitives(Output.toOutputStream(baos));
+        assertArrayEquals(expectedPrimitives(), baos.toByteArray());
+    }
+
+    @Test
+    public void test_write_primitives_compositebuffer() {
+        // Small chunks to cross chunk borders
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(4);
+        writePrimitives(Output.toCompositeBuffer(compositeBuffer));
+        assertArrayEquals(expectedPrimitives(), compositeBuffer.toByteArray());
+    }
+
+    @Test
+    public void test_write_primitives_bytebuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(PRIMITIVES_SIZE + 4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(4);
+        writePrimitives(Output.toByteBuffer(buffer));
+        assertEquals(4, buffer.position());
+        assertArrayEquals(expectedPrimitives(), Arrays.copyOfRange(buffer.array(), 4, buffer.capacity()));
+    }
+
+    @Test
+    public void test_write_bytes_bytebuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+        Output output = Output.toByteBuffer(buffer);
+        assertEquals(3, output.write(new byte[]{0x1, 0x2, 0x3}, 2, 3));
+        byte[] bytes = new byte[6];
+        buffer.get(bytes);
+        assertArrayEquals(new byte[]{0x0, 0x0, 0x1, 0x2, 0x3, 0x0}, bytes);
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_write_long_bytebuffer_outside_of_available_data() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.position(3);
+        Output.toByteBuffer(buffer).writeLong(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_write_readonly_bytebuffer() {
+        Output.toByteBuffer(ByteBuffer.allocate(10).asReadOnlyBuffer());
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_write_long_bytearray_outside_of_available_data() {
+        Output.toByteArray(new byte[7]).writeLong(0, 1);
+    }
+
+    private static void writePrimitives(Output output) {
+        long offset = output.write(0, (byte) 0x7f);
+        offset = output.writeShort(offset, (short) 0x8182);
+        offset = output.writeInt(offset, 0x91929394);
+        offset = output.writeLong(offset, 0xa1a2a3a4a5a6a7a8L);
+        offset = output.writeLong(offset, Double.doubleToLongBits(1.1));
+        assertEquals(PRIMITIVES_SIZE, offset);
+    }
+
+    private static byte[] expectedPrimitives() {
+        ByteBuffer buffer = ByteBuffer.allocate(PRIMITIVES_SIZE);
+        buffer.put((byte) 0x7f).putShort((short) 0x8182).putInt(0x91929394);
+        buffer.putLong(0xa1a2a3a4a5a6a7a8L).putDouble(1.1);
+        return buffer.array();
+    }
+
 }
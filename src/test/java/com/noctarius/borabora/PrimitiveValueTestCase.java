@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveValueTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_long_uint() {
+        assertEquals(0, read("00").longValue());
+        assertEquals(23, read("17").longValue());
+        assertEquals(24, read("1818").longValue());
+        assertEquals(1000, read("1903e8").longValue());
+        assertEquals(1000000, read("1a000f4240").longValue());
+        assertEquals(1000000000000L, read("1b000000e8d4a51000").longValue());
+    }
+
+    @Test
+    public void test_long_nint() {
+        assertEquals(-1, read("20").longValue());
+        assertEquals(-10, read("29").longValue());
+        assertEquals(-100, read("3863").longValue());
+        assertEquals(-1000, read("3903e7").longValue());
+        assertEquals(Long.MIN_VALUE, read("3b7fffffffffffffff").longValue());
+    }
+
+    @Test
+    public void test_long_uint64_narrowed_like_biginteger() {
+        Value value = read("1bffffffffffffffff");
+        assertEquals(new BigInteger("18446744073709551615").longValue(), value.longValue());
+        assertEquals(new BigInteger("18446744073709551615").doubleValue(), value.doubleValue(), 0.0);
+    }
+
+    @Test
+    public void test_long_bignum() {
+        assertEquals(new BigInteger("18446744073709551616").longValue(), read("c249010000000000000000").longValue());
+    }
+
+    @Test
+    public void test_double_int() {
+        assertEquals(1000000.0, read("1a000f4240").doubleValue(), 0.0);
+        assertEquals(-1000.0, read("3903e7").doubleValue(), 0.0);
+    }
+
+    @Test
+    public void test_double_float() {
+        assertEquals(1.5, read("f93e00").doubleValue(), 0.0);
+        assertEquals(65504.0, read("f97bff").doubleValue(), 0.0);
+        assertEquals(100000.0, read("fa47c35000").doubleValue(), 0.0);
+        assertEquals(1.1, read("fb3ff199999999999a").doubleValue(), 0.0);
+        assertTrue(Double.isNaN(read("f97e00").doubleValue()));
+        assertEquals(Double.NEGATIVE_INFINITY, read("fbfff0000000000000").doubleValue(), 0.0);
+    }
+
+    @Test
+    public void test_long_float() {
+        assertEquals(1, read("f93e00").longValue());
+    }
+
+    @Test
+    public void test_boolean() {
+        assertTrue(read("f5").booleanValue());
+        assertFalse(read("f4").booleanValue());
+    }
+
+    @Test
+    public void test_is_null() {
+        assertTrue(read("f6").isNull());
+        assertTrue(Value.NULL_VALUE.isNull());
+        assertFalse(read("00").isNull());
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_long_null() {
+        read("f6").longValue();
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_double_null() {
+        read("f6").doubleValue();
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_boolean_null() {
+        read("f6").booleanValue();
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_long_string() {
+        read("63666f6f").longValue();
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_boolean_number() {
+        read("00").booleanValue();
+    }
+
+    @Test
+    public void test_parser_primitive_reads() {
+        Parser parser = Parser.newParser();
+        // [1000, 1.5, true]
+        Input input = Input.fromByteArray(hexToBytes("831903e8f93e00f5"));
+        assertEquals(1000, parser.readLong(input, parser.prepareQuery("#(0)")));
+        assertEquals(1.5, parser.readDouble(input, parser.prepareQuery("#(1)")), 0.0);
+        assertTrue(parser.readBoolean(input, parser.prepareQuery("#(2)")));
+    }
+
+    @Test
+    public void test_query_reader_primitive_reads() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+        // [1000, 1.5, true]
+        Input input = Input.fromByteArray(hexToBytes("831903e8f93e00f5"));
+        assertEquals(1000, queryReader.readLong(input, parser.prepareQuery("#(0)")));
+        assertEquals(1.5, queryReader.readDouble(input, parser.prepareQuery("#(1)")), 0.0);
+        assertTrue(queryReader.readBoolean(input, parser.prepareQuery("#(2)")));
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_parser_read_long_not_found() {
+        Parser parser = Parser.newParser();
+        Input input = Input.fromByteArray(hexToBytes("831903e8f93e00f5"));
+        parser.readLong(input, parser.prepareQuery("#(5)"));
+    }
+
+    @Test
+    public void test_parser_primitive_reads_converted() {
+        Parser parser = Parser.newParser();
+        // [1000, 1.5, true]
+        Input input = Input.fromByteArray(hexToBytes("831903e8f93e00f5"));
+        assertEquals(1000.0, parser.readDouble(input, parser.prepareQuery("#(0)")), 0.0);
+        assertEquals(1, parser.readLong(input, parser.prepareQuery("#(1)")));
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_parser_read_long_null() {
+        Parser parser = Parser.newParser();
+        // [null]
+        parser.readLong(Input.fromByteArray(hexToBytes("81f6")), parser.prepareQuery("#(0)"));
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_parser_read_boolean_number() {
+        Parser parser = Parser.newParser();
+        Input input = Input.fromByteArray(hexToBytes("831903e8f93e00f5"));
+        parser.readBoolean(input, parser.prepareQuery("#(0)"));
+    }
+
+    private static Value read(String hex) {
+        Parser parser = Parser.newParser();
+        return parser.read(Input.fromByteArray(hexToBytes(hex)), parser.newQueryBuilder().build());
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.DictionaryBuilder;
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.spi.io.CompositeBuffer;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class QueryBatchTestCase
+        extends AbstractTestCase {
+
+    private static final String[] QUERIES = {"#{'user'}{'id'}", "#{'ts'}", "#{'tags'}(0)", "#{'user'}{'name'}", //
+                                             "#{'missing'}", "#{'tags'}(5)", "#{'user'}{'id'}->?string", "#{'tags'}", //
+                                             "(#{'ts'})", "#{'user'}{'id'}"};
+
+    private final Parser parser = Parser.newParser();
+
+    @Test
+    public void test_definite_dictionaries() {
+        assertBatch(document(false));
+    }
+
+    @Test
+    public void test_indefinite_dictionaries() {
+        assertBatch(document(true));
+    }
+
+    @Test
+    public void test_empty_batch() {
+        QueryBatch queryBatch = parser.newQueryBatch();
+        assertEquals(0, queryBatch.size());
+        assertEquals(0, queryBatch.read(document(false)).size());
+    }
+
+    @Test
+    public void test_mixed_keyed_and_predicate_lookups() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer)).putDictionary(2) //
+              .putEntry().putString("a").putNumber(1).endEntry() //
+              .putEntry().putString("b").putNumber(2).endEntry() //
+              .endDictionary().finishStream();
+        Input input = Input.fromByteArray(compositeBuffer.toByteArray());
+
+        Query keyed = parser.prepareQuery("#{'a'}");
+        Query constant = parser.newQueryBuilder().stream(0).dictionary(Predicates.matchString("a")).build();
+        Query predicate = parser.newQueryBuilder().stream(0).dictionary(Predicates.matchStringIgnoreCase("B")).build();
+        Query otherPredicate = parser.newQueryBuilder().stream(0).dictionary(Predicates.matchStringIgnoreCase("A")).build();
+
+        List<Value> values = parser.newQueryBatch(keyed, predicate, constant, otherPredicate).read(input);
+        assertEqualsNumber(1, values.get(0).number());
+        assertEqualsNumber(2, values.get(1).number());
+        assertEqualsNumber(1, values.get(2).number());
+        assertEqualsNumber(1, values.get(3).number());
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_wrong_type() {
+        QueryBatch queryBatch = parser.newQueryBatch(parser.prepareQuery("#{'ts'}{'a'}"), parser.prepareQuery("#{'ts'}{'b'}"));
+        queryBatch.read(document(false));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void fail_null_query() {
+        parser.newQueryBatch(parser.prepareQuery("#"), null);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void fail_modify_result() {
+        parser.newQueryBatch(parser.prepareQuery("#")).read(document(false)).clear();
+    }
+
+    private void assertBatch(Input input) {
+        Query[] queries = new Query[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            queries[i] = parser.prepareQuery(QUERIES[i]);
+        }
+
+        QueryBatch queryBatch = parser.newQueryBatch(queries);
+        assertEquals(QUERIES.length, queryBatch.size());
+
+        List<Value> values = queryBatch.read(input);
+        assertEquals(QUERIES.length, values.size());
+        for (int i = 0; i < QUERIES.length; i++) {
+            Value expected = parser.read(input, queries[i]);
+            assertEquals(QUERIES[i], expected.valueType(), values.get(i).valueType());
+            assertEquals(QUERIES[i], expected.offset(), values.get(i).offset());
+        }
+
+        assertEqualsNumber(42, values.get(0).number());
+        assertEqualsNumber(1000, values.get(1).number());
+        assertEquals("x", values.get(2).string());
+        assertEquals("foo", values.get(3).string());
+        assertSame(Value.NULL_VALUE, values.get(4));
+        assertSame(Value.NULL_VALUE, values.get(5));
+        assertSame(Value.NULL_VALUE, values.get(6));
+        assertEquals(2, values.get(7).sequence().size());
+        assertEqualsNumber(1000, values.get(8).sequence().get(0).number());
+        assertEqualsNumber(42, values.get(9).number());
+    }
+
+    private static Input document(boolean indefinite) {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer));
+        DictionaryBuilder<GraphBuilder> dictionaryBuilder = indefinite ? graphBuilder.putDictionary() : graphBuilder.putDictionary(3);
+        dictionaryBuilder.putEntry().putString("user") //
+              .putDictionary(2) //
+              .putEntry().putString("id").putNumber(42).endEntry() //
+              .putEntry().putString("name").putString("foo").endEntry() //
+              .endDictionary().endEntry() //
+              .putEntry().putString("ts").putNumber(1000).endEntry() //
+              .putEntry().putString("tags").putSequence().putString("x").putString("y").endSequence().endEntry() //
+              .endDictionary().finishStream();
+        return Input.fromByteArray(compositeBuffer.toByteArray());
+    }
+
+}
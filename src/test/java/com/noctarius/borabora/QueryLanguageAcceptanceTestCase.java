@@ -16,16 +16,36 @@
  */
 package com.noctarius.borabora;
 
+import com.noctarius.borabora.impl.query.BTreeFactories;
 import com.noctarius.borabora.spi.query.TypeSpecs;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
 
 import static com.noctarius.borabora.Predicates.matchString;
 
+@RunWith(Parameterized.class)
 public class QueryLanguageAcceptanceTestCase
         extends AbstractTestCase {
 
-    private final Parser parser = Parser.newParser();
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> parameters() {
+        return Arrays.asList( //
+                new Object[][]{ //
+                                {"QueryPipelineImpl", Parser.newParser()}, //
+                                {"FlatQueryPipeline", Parser.newBuilder() //
+                                                            .withQueryPipelineFactory(BTreeFactories.newFlatQueryPipelineFactory()) //
+                                                            .build()}});
+    }
+
+    private final Parser parser;
+
+    public QueryLanguageAcceptanceTestCase(String name, Parser parser) {
+        this.parser = parser;
+    }
 
     @Test(expected = QueryParserException.class)
     public void fail_empty_query()
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.impl.DefaultQueryContextFactory;
+import com.noctarius.borabora.spi.io.CompositeBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class QueryReaderTestCase
+        extends AbstractTestCase {
+
+    private static final Input INPUT = input();
+
+    @Test
+    public void test_read_same_as_parser() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+
+        String[] queries = {"#", "#1", "#2(1)", "#3{'a'}", "#3{'b'}", "#3{'c'}->?number", "(#1, #2(0))"};
+        for (String query : queries) {
+            Query prepared = parser.prepareQuery(query);
+            Value expected = parser.read(INPUT, prepared);
+            Value actual = queryReader.read(INPUT, prepared);
+            assertEquals(query, expected.valueType(), actual.valueType());
+            assertEquals(query, ValuePrettyPrinter.asStringPrettyPrint(expected), ValuePrettyPrinter.asStringPrettyPrint(actual));
+        }
+    }
+
+    @Test
+    public void test_read_reuses_value() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+
+        Value first = queryReader.read(INPUT, parser.prepareQuery("#"));
+        assertEqualsNumber(1, first.number());
+
+        Value second = queryReader.read(INPUT, parser.prepareQuery("#1"));
+        assertSame(first, second);
+        assertEquals("foo", second.string());
+    }
+
+    @Test
+    public void test_read_not_found() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+        assertSame(Value.NULL_VALUE, queryReader.read(INPUT, parser.prepareQuery("#3{'d'}")));
+    }
+
+    @Test
+    public void test_read_consumer() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+
+        List<ValueType> valueTypes = new ArrayList<>();
+        queryReader.read(INPUT, parser.prepareQuery("$"), value -> valueTypes.add(value.valueType()));
+        assertEquals(4, valueTypes.size());
+        assertEquals(ValueTypes.UInt, valueTypes.get(0));
+        assertEquals(ValueTypes.ASCII, valueTypes.get(1));
+        assertEquals(ValueTypes.Sequence, valueTypes.get(2));
+        assertEquals(ValueTypes.Dictionary, valueTypes.get(3));
+    }
+
+    @Test
+    public void test_read_non_resettable_query_context() {
+        Parser parser = Parser.newBuilder() //
+                              .withQueryContextFactory((input, queryConsumer, tagStrategies, projectionStrategy) -> //
+                                      DefaultQueryContextFactory.INSTANCE.newQueryContext( //
+                                              input, queryConsumer, tagStrategies, projectionStrategy)) //
+                              .build();
+
+        QueryReader queryReader = parser.newReader();
+        assertEquals("foo", queryReader.read(INPUT, parser.prepareQuery("#1")).string());
+        assertEqualsNumber(2, queryReader.read(INPUT, parser.prepareQuery("#3{'b'}")).number());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_read_inside_consumer() {
+        Parser parser = Parser.newParser();
+        QueryReader queryReader = parser.newReader();
+        Query query = parser.prepareQuery("#");
+        queryReader.read(INPUT, query, value -> queryReader.read(INPUT, query));
+    }
+
+    private static Input input() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer)) //
+              .putNumber(1) //
+              .putString("foo") //
+              .putSequence(2).putString("a").putString("b").endSequence() //
+              .putDictionary(2) //
+              .putEntry().putString("a").putNumber(1).endEntry() //
+              .putEntry().putString("b").putNumber(2).endEntry() //
+              .endDictionary().finishStream();
+        return Input.fromByteArray(compositeBuffer.toByteArray());
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.spi.io.CompositeBuffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class StreamIndexTestCase
+        extends AbstractTestCase {
+
+    private static final int ITEMS = 3000;
+
+    @Test
+    public void test_build_index() {
+        Input input = numbers();
+        StreamIndex streamIndex = StreamIndex.build(input);
+        assertEquals(ITEMS, streamIndex.size());
+        assertEquals(0, streamIndex.offset(0));
+        // 0-23 in one byte, 24-255 in two bytes, others in three bytes
+        assertEquals(24, streamIndex.offset(24));
+        assertEquals(24 + 2 * 232, streamIndex.offset(256));
+    }
+
+    @Test
+    public void test_query_indexed_input() {
+        Input input = numbers();
+        StreamIndex streamIndex = StreamIndex.build(input);
+        Input indexedInput = Input.withStreamIndex(input, streamIndex);
+        assertSame(streamIndex, indexedInput.streamIndex());
+        assertNull(input.streamIndex());
+
+        Parser parser = Parser.newParser();
+        for (int i = 0; i < ITEMS; i += 7) {
+            assertEqualsNumber(i, parser.read(indexedInput, parser.newQueryBuilder().stream(i).build()).number());
+        }
+        assertEqualsNumber(2999, parser.read(indexedInput, "#2999").number());
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_query_indexed_input_outside_of_index() {
+        Input input = numbers();
+        Input indexedInput = Input.withStreamIndex(input, StreamIndex.build(input));
+        Parser parser = Parser.newParser();
+        parser.read(indexedInput, parser.newQueryBuilder().stream(ITEMS).build());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fail_offset_outside_of_index() {
+        StreamIndex.build(numbers()).offset(ITEMS);
+    }
+
+    @Test
+    public void test_persist_index()
+            throws IOException {
+
+        Path file = Files.createTempFile("borabora", ".idx");
+        try {
+            StreamIndex streamIndex = StreamIndex.build(numbers());
+            streamIndex.writeTo(file);
+            StreamIndex loaded = StreamIndex.readFrom(file);
+            assertEquals(streamIndex.size(), loaded.size());
+            for (int i = 0; i < ITEMS; i++) {
+                assertEquals(streamIndex.offset(i), loaded.offset(i));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_read_non_index_file()
+            throws IOException {
+
+        Path file = Files.createTempFile("borabora", ".idx");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            StreamIndex.readFrom(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void test_parallel_indexed_input() {
+        Input input = numbers();
+        Input indexedInput = Input.withStreamIndex(input, StreamIndex.build(input));
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        parser.readParallel(indexedInput, parser.newQueryBuilder().multiStream().build(), values::add, true);
+
+        assertEquals(ITEMS, values.size());
+        for (int i = 0; i < ITEMS; i++) {
+            assertEqualsNumber(i, values.get(i).number());
+        }
+    }
+
+    private static Input numbers() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer));
+        for (int i = 0; i < ITEMS; i++) {
+            graphBuilder.putNumber(i);
+        }
+        graphBuilder.finishStream();
+        return Input.fromByteArray(compositeBuffer.toByteArray());
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingOutputTestCase {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_outputstream_buffersize_zero() {
+        Output.toOutputStream(new ByteArrayOutputStream(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_channel_buffersize_negative() {
+        Output.toChannel(Channels.newChannel(new ByteArrayOutputStream()), -1, false);
+    }
+
+    @Test
+    public void test_outputstream_buffered_until_flush() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        StreamingOutput output = Output.toOutputStream(baos, 16);
+        long offset = output.write(0, (byte) 0x1);
+        offset = output.writeShort(offset, (short) 0x0203);
+        offset = output.writeInt(offset, 0x04050607);
+        assertEquals(7, offset);
+        assertEquals(0, baos.size());
+
+        output.flush();
+        assertArrayEquals(new byte[]{0x1, 0x2, 0x3, 0x4, 0x5, 0x6, 0x7}, baos.toByteArray());
+    }
+
+    @Test
+    public void test_outputstream_drains_full_buffer() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        // Buffer sizes below a long value are rounded up
+        StreamingOutput output = Output.toOutputStream(baos, 4);
+        long offset = output.writeInt(0, 0x01020304);
+        offset = output.writeLong(offset, 0x05060708090a0b0cL);
+        assertEquals(12, offset);
+        assertEquals(4, baos.size());
+
+        output.close();
+        assertArrayEquals(new byte[]{0x1, 0x2, 0x3, 0x4, 0x5, 0x6, 0x7, 0x8, 0x9, 0xa, 0xb, 0xc}, baos.toByteArray());
+    }
+
+    @Test
+    public void test_outputstream_large_payload_written_through() {
+        RecordingOutputStream out = new RecordingOutputStream();
+        StreamingOutput output = Output.toOutputStream(out, 8);
+        byte[] payload = new byte[]{0x2, 0x3, 0x4, 0x5, 0x6, 0x7, 0x8, 0x9, 0xa};
+        output.write(0, (byte) 0x1);
+        assertEquals(payload.length, output.write(payload, 1, payload.length));
+
+        // Staged byte drained first, payload passed without copying
+        assertEquals(2, out.arrays.size());
+        assertSame(payload, out.arrays.get(1));
+        output.close();
+        assertArrayEquals(new byte[]{0x1, 0x2, 0x3, 0x4, 0x5, 0x6, 0x7, 0x8, 0x9, 0xa}, out.toByteArray());
+    }
+
+    @Test
+    public void test_outputstream_close_flushes_and_closes() {
+        RecordingOutputStream out = new RecordingOutputStream();
+        StreamingOutput output = Output.toOutputStream(out, 16);
+        output.write(0, (byte) 0x1);
+        output.close();
+        output.close();
+        assertTrue(out.closed);
+        assertArrayEquals(new byte[]{0x1}, out.toByteArray());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_write_after_close() {
+        StreamingOutput output = Output.toOutputStream(new ByteArrayOutputStream(), 16);
+        output.close();
+        output.write(0, (byte) 0x1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_outputstream_flush_exception() {
+        StreamingOutput output = Output.toOutputStream(new ExceptionalOutputStream(), 16);
+        output.write(0, (byte) 0x1);
+        output.flush();
+    }
+
+    @Test
+    public void test_channel_heap_buffer() {
+        test_channel(false);
+    }
+
+    @Test
+    public void test_channel_direct_buffer() {
+        test_channel(true);
+    }
+
+    @Test
+    public void test_graphbuilder_streaming() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (StreamingOutput output = Output.toOutputStream(baos, 8)) {
+            GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(output);
+            graphBuilder.putString("a long string exceeding the buffer").putNumber(1000000L).finishStream();
+        }
+
+        Parser parser = Parser.newParser();
+        Input input = Input.fromByteArray(baos.toByteArray());
+        assertEquals("a long string exceeding the buffer", parser.read(input, parser.newQueryBuilder().build()).string());
+        assertEquals(1000000L, parser.read(input, parser.newQueryBuilder().stream(1).build()).number().longValue());
+    }
+
+    private void test_channel(boolean directBuffer) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(baos);
+        StreamingOutput output = Output.toChannel(channel, 4, directBuffer);
+        long offset = output.writeShort(0, (short) 0x0102);
+        offset = output.write(new byte[]{0x3, 0x4, 0x5, 0x6, 0x7, 0x8, 0x9, 0xa, 0xb}, offset, 9) + offset;
+        offset = output.writeInt(offset, 0x0c0d0e0f);
+        assertEquals(15, offset);
+
+        output.close();
+        byte[] expected = {0x1, 0x2, 0x3, 0x4, 0x5, 0x6, 0x7, 0x8, 0x9, 0xa, 0xb, 0xc, 0xd, 0xe, 0xf};
+        assertArrayEquals(expected, baos.toByteArray());
+        assertTrue(!channel.isOpen());
+    }
+
+    private static class RecordingOutputStream
+            extends ByteArrayOutputStream {
+
+        private final List<byte[]> arrays = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            arrays.add(b);
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close()
+                throws IOException {
+
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static class ExceptionalOutputStream
+            extends OutputStream {
+
+        @Override
+        public void write(int b)
+                throws IOException {
+
+            throw new IOException();
+        }
+    }
+
+}
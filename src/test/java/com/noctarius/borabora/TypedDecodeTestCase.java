@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TypedDecodeTestCase
+        extends AbstractTestCase {
+
+    private final Parser parser = Parser.newParser();
+    private final ObjectMapper objectMapper = ObjectMapper.newObjectMapper(Writer.newWriter(), parser);
+
+    @Test
+    public void test_decode_primitives() {
+        Message message = new Message();
+        message.id = 123456789012L;
+        message.flag = true;
+        message.small = -5;
+        message.medium = 30000;
+        message.count = -70000;
+        message.ratio = 0.5f;
+        message.value = 1.0E300;
+        message.grade = 'A';
+        message.name = "message";
+        message.values = new int[]{1, -1, 65536};
+        message.weights = new double[]{0.25, 4};
+        message.labels = Arrays.asList("a", "ä");
+
+        Message result = parser.decode(encodeInput(message), 0, Message.class);
+        assertEquals(message.id, result.id);
+        assertEquals(message.flag, result.flag);
+        assertEquals(message.small, result.small);
+        assertEquals(message.medium, result.medium);
+        assertEquals(message.count, result.count);
+        assertEquals(message.ratio, result.ratio, 0f);
+        assertEquals(message.value, result.value, 0d);
+        assertEquals(message.grade, result.grade);
+        assertEquals(message.name, result.name);
+        assertArrayEquals(message.values, result.values);
+        assertArrayEquals(message.weights, result.weights, 0d);
+        assertEquals(message.labels, result.labels);
+    }
+
+    @Test
+    public void test_decode_at_offset() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toOutputStream(baos));
+        graphBuilder.putString("first");
+        objectMapper.write(new Inner(7, "seven"), graphBuilder);
+        graphBuilder.finishStream();
+
+        Input input = Input.fromByteArray(baos.toByteArray());
+        long offset = parser.read(input, "#1").offset();
+        Inner inner = parser.decode(input, offset, Inner.class);
+        assertEquals(7, inner.number);
+        assertEquals("seven", inner.text);
+    }
+
+    @Test
+    public void test_decode_indefinite_and_tagged_keys() {
+        Input input = build((graphBuilder) -> graphBuilder //
+                .putDictionary() //
+                .putEntry().putString("number").putNumber(42).endEntry() //
+                .putEntry().putIndefiniteTextString().putString("te").putString("xt").endIndefiniteString() //
+                .putString("value").endEntry() //
+                .putEntry().putTextString("nested").putSequence() //
+                .putDictionary(1).putEntry().putTextString("number").putNumber(1).endEntry().endDictionary() //
+                .putValue(null) //
+                .endSequence().endEntry() //
+                .endDictionary());
+
+        Outer outer = parser.decode(input, 0, Outer.class);
+        assertEquals(42, outer.number);
+        assertEquals("value", outer.text);
+        assertEquals(2, outer.nested.size());
+        assertEquals(1, outer.nested.get(0).number);
+        assertNull(outer.nested.get(1));
+    }
+
+    @Test
+    public void test_decode_null_keeps_primitive_default() {
+        Input input = build((graphBuilder) -> graphBuilder //
+                .putDictionary(2) //
+                .putEntry().putTextString("number").putValue(null).endEntry() //
+                .putEntry().putTextString("text").putValue(null).endEntry() //
+                .endDictionary());
+
+        Inner inner = parser.decode(input, 0, Inner.class);
+        assertEquals(0, inner.number);
+        assertNull(inner.text);
+        assertNull(parser.decode(encodeInput(null), 0, Inner.class));
+    }
+
+    @Test
+    public void test_decode_primitive_array_from_indefinite_sequence() {
+        Input input = build((graphBuilder) -> graphBuilder //
+                .putSequence().putNumber(1).putNumber(2).putNumber(3).endSequence());
+
+        assertArrayEquals(new long[]{1, 2, 3}, parser.decode(input, 0, long[].class));
+    }
+
+    @Test
+    public void test_decode_equals_value_read() {
+        Outer outer = new Outer();
+        outer.number = 3;
+        outer.text = "text";
+        outer.nested = Arrays.asList(new Outer(), null);
+        outer.mapping = Collections.singletonMap("key", new Inner(1, "one"));
+
+        Input input = encodeInput(outer);
+        Outer decoded = parser.decode(input, 0, Outer.class);
+        Outer read = objectMapper.read(parser.read(input, 0), Outer.class);
+        assertEquals(read.number, decoded.number);
+        assertEquals(read.text, decoded.text);
+        assertEquals(read.nested.size(), decoded.nested.size());
+        assertEquals(read.mapping.get("key").text, decoded.mapping.get("key").text);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_decode_out_of_range_primitive() {
+        Input input = build((graphBuilder) -> graphBuilder //
+                .putDictionary(1) //
+                .putEntry().putTextString("small").putNumber(1000).endEntry() //
+                .endDictionary());
+
+        parser.decode(input, 0, Message.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_decode_uint64_out_of_long_range_into_int() {
+        // {"count": 0xffffffffffffffff}
+        parser.decode(Input.fromByteArray(hexToBytes("a165636f756e741bffffffffffffffff")), 0, Message.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_decode_uint64_out_of_long_range_into_long() {
+        // {"id": 0xffffffffffffffff}
+        parser.decode(Input.fromByteArray(hexToBytes("a16269641bffffffffffffffff")), 0, Message.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_decode_nint64_out_of_long_range_into_long() {
+        // {"id": -0x10000000000000000}
+        parser.decode(Input.fromByteArray(hexToBytes("a16269643bffffffffffffffff")), 0, Message.class);
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_decode_uint64_out_of_long_range_boxed() {
+        parser.decode(Input.fromByteArray(hexToBytes("1bffffffffffffffff")), 0, Integer.class);
+    }
+
+    @Test
+    public void test_decode_uint64_in_long_range() {
+        // {"id": 0x7fffffffffffffff}
+        Message message = parser.decode(Input.fromByteArray(hexToBytes("a16269641b7fffffffffffffff")), 0, Message.class);
+        assertEquals(Long.MAX_VALUE, message.id);
+    }
+
+    private Input encodeInput(Object value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        objectMapper.write(value, Output.toOutputStream(baos));
+        return Input.fromByteArray(baos.toByteArray());
+    }
+
+    private static Input build(Consumer<GraphBuilder> consumer) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toOutputStream(baos));
+        consumer.accept(graphBuilder);
+        graphBuilder.finishStream();
+        return Input.fromByteArray(baos.toByteArray());
+    }
+
+    public static class Message {
+        private long id;
+        private boolean flag;
+        private byte small;
+        private short medium;
+        private int count;
+        private float ratio;
+        private double value;
+        private char grade;
+        private String name;
+        private int[] values;
+        private double[] weights;
+        private List<String> labels;
+    }
+
+    public static class Inner {
+        private int number;
+        private String text;
+
+        Inner() {
+        }
+
+        Inner(int number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+    }
+
+    public static class Outer {
+        private int number;
+        private String text;
+        private List<Outer> nested;
+        private Map<String, Inner> mapping;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class Utf8ViewTestCase
+        extends AbstractTestCase {
+
+    private static final String ASCII = "foobar";
+    private static final String UMLAUTS = "Grüße aus Köln";
+    private static final String SUPPLEMENTARY = "smile 😀!";
+
+    @Test
+    public void test_length_ascii() {
+        Utf8View view = Utf8View.of(ASCII);
+        assertEquals(6, view.length());
+        assertEquals(6, view.byteLength());
+    }
+
+    @Test
+    public void test_length_non_ascii() {
+        assertEquals(UMLAUTS.length(), Utf8View.of(UMLAUTS).length());
+        assertEquals(SUPPLEMENTARY.length(), Utf8View.of(SUPPLEMENTARY).length());
+        assertEquals(11, Utf8View.of(SUPPLEMENTARY).byteLength());
+    }
+
+    @Test
+    public void test_charat() {
+        assertEquals('b', view(ASCII).charAt(3));
+        assertEquals('ü', view(UMLAUTS).charAt(2));
+        assertEquals('\uDE00', view(SUPPLEMENTARY).charAt(7));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fail_charat_out_of_bounds() {
+        view(ASCII).charAt(6);
+    }
+
+    @Test
+    public void test_subsequence() {
+        CharSequence ascii = view(ASCII).subSequence(3, 6);
+        assertTrue(ascii instanceof Utf8View);
+        assertEquals("bar", ascii.toString());
+        assertEquals("Köln", view(UMLAUTS).subSequence(10, 14).toString());
+    }
+
+    @Test
+    public void test_tostring() {
+        assertEquals(ASCII, view(ASCII).toString());
+        assertEquals(UMLAUTS, view(UMLAUTS).toString());
+        assertEquals(SUPPLEMENTARY, view(SUPPLEMENTARY).toString());
+        assertEquals("", view("").toString());
+    }
+
+    @Test
+    public void test_hashcode_same_as_string() {
+        assertEquals(ASCII.hashCode(), view(ASCII).hashCode());
+        assertEquals(UMLAUTS.hashCode(), view(UMLAUTS).hashCode());
+        assertEquals(SUPPLEMENTARY.hashCode(), view(SUPPLEMENTARY).hashCode());
+        assertEquals(0, view("").hashCode());
+    }
+
+    @Test
+    public void test_equals() {
+        assertEquals(view(UMLAUTS), Utf8View.of(UMLAUTS));
+        assertNotEquals(view(UMLAUTS), view(ASCII));
+        assertNotEquals(view("foo"), view("fop"));
+        assertFalse(view(ASCII).equals(ASCII));
+    }
+
+    @Test
+    public void test_content_equals() {
+        assertTrue(view(ASCII).contentEquals(ASCII));
+        assertTrue(view(UMLAUTS).contentEquals(new StringBuilder(UMLAUTS)));
+        assertTrue(view(SUPPLEMENTARY).contentEquals(SUPPLEMENTARY));
+        assertFalse(view(ASCII).contentEquals("fooba"));
+        assertFalse(view(ASCII).contentEquals("foobarr"));
+        assertFalse(view(SUPPLEMENTARY).contentEquals("smile \uD83D"));
+    }
+
+    @Test
+    public void test_equals_ignore_case() {
+        assertTrue(view(ASCII).equalsIgnoreCase("FooBAR"));
+        assertTrue(view(UMLAUTS).equalsIgnoreCase("GRÜßE AUS KÖLN"));
+        assertTrue(view("ÄÖÜ").equalsIgnoreCase("äöü"));
+        assertTrue(view(SUPPLEMENTARY).equalsIgnoreCase("SMILE 😀!"));
+        assertFalse(view(ASCII).equalsIgnoreCase("FooBA"));
+    }
+
+    @Test
+    public void test_starts_with() {
+        assertTrue(view(ASCII).startsWith("foo"));
+        assertTrue(view(ASCII).startsWith(""));
+        assertTrue(view(UMLAUTS).startsWith("Grü"));
+        assertFalse(view(UMLAUTS).startsWith("Gru"));
+        assertFalse(view(ASCII).startsWith("foobarfoo"));
+    }
+
+    @Test
+    public void test_ends_with() {
+        assertTrue(view(ASCII).endsWith("bar"));
+        assertTrue(view(UMLAUTS).endsWith("Köln"));
+        assertTrue(view(SUPPLEMENTARY).endsWith("😀!"));
+        assertFalse(view(UMLAUTS).endsWith("Koln"));
+        assertFalse(view(ASCII).endsWith("barfoobar"));
+    }
+
+    @Test
+    public void test_compareto() {
+        assertEquals(0, view(ASCII).compareTo(view(ASCII)));
+        assertTrue(view("abc").compareTo(view("abd")) < 0);
+        assertTrue(view("abc").compareTo(view("ab")) > 0);
+        assertTrue(view("z").compareTo(view("ä")) < 0);
+    }
+
+    @Test
+    public void test_stream_value_string_view() {
+        // "Grüße"
+        Value value = read("674772c3bcc39f65");
+        Utf8View view = value.stringView();
+        assertTrue(view.contentEquals("Grüße"));
+        assertEquals("Grüße".hashCode(), view.hashCode());
+    }
+
+    @Test
+    public void test_stream_value_string_view_indefinite() {
+        // (_ "ab", "cd")
+        Value value = read("7f626162626364ff");
+        assertEquals("abcd", value.stringView().toString());
+    }
+
+    @Test
+    public void test_stream_value_string_view_bytestring() {
+        Value value = read("43666f6f");
+        assertTrue(value.stringView().contentEquals("foo"));
+    }
+
+    @Test
+    public void test_null_value_string_view() {
+        assertNull(Value.NULL_VALUE.stringView());
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_stream_value_string_view_wrong_type() {
+        read("01").stringView();
+    }
+
+    @Test
+    public void test_dictionary_lookup_ignore_case() {
+        Parser parser = Parser.newParser();
+        // {"Foo": 1, "bar": 2}
+        Input input = Input.fromByteArray(hexToBytes("a263466f6f016362617202"));
+        Query query = parser.newQueryBuilder().stream(0).dictionary(Predicates.matchStringIgnoreCase("foo")).build();
+        assertEqualsNumber(1, parser.read(input, query).number());
+    }
+
+    private static Utf8View view(String value) {
+        // Views backed by a stream input, not initialized with the string
+        Value stringValue = read(textString(value));
+        return stringValue.stringView();
+    }
+
+    private static String textString(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(String.format("78%02x", data.length));
+        for (byte b : data) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static Value read(String hex) {
+        Parser parser = Parser.newParser();
+        return parser.read(Input.fromByteArray(hexToBytes(hex)), parser.newQueryBuilder().build());
+    }
+
+}
@@ -83,6 +83,65 @@ public class DictionaryTestCase
         assertEquals("E", dictionary.get(Predicates.matchString("e")).string());
     }
 
+    @Test
+    public void test_key_index_string_lookup()
+            throws Exception {
+
+        SimplifiedTestParser parser = buildParser("0xa56161614161626142616361436164614461656145");
+        Value value = parser.read(parser.newQueryBuilder().build());
+
+        Dictionary dictionary = value.dictionary();
+        assertEquals("A", dictionary.get("a").string());
+        assertEquals("C", dictionary.get("c").string());
+        assertEquals("E", dictionary.get("e").string());
+        assertNull(dictionary.get("f"));
+        assertNull(dictionary.get(1));
+        assertNull(dictionary.get(1.5));
+    }
+
+    @Test
+    public void test_key_index_mixed_key_types()
+            throws Exception {
+
+        // {1: "A", -2: "B", 1.5: "C", "key": "D", (_ "x"): "E"}
+        SimplifiedTestParser parser = buildParser("0xa5016141216142f93e006143636b657961447f6178ff6145");
+        Value value = parser.read(parser.newQueryBuilder().build());
+
+        Dictionary dictionary = value.dictionary();
+        assertEquals("A", dictionary.get(1).string());
+        assertEquals("B", dictionary.get(-2).string());
+        assertEquals("C", dictionary.get(1.5).string());
+        assertEquals("D", dictionary.get("key").string());
+        assertNull(dictionary.get(2));
+        assertNull(dictionary.get(-1));
+        assertNull(dictionary.get(2.5));
+        assertNull(dictionary.get("ke"));
+    }
+
+    @Test
+    public void test_key_index_empty_dictionary()
+            throws Exception {
+
+        SimplifiedTestParser parser = buildParser("0xa0");
+        Value value = parser.read(parser.newQueryBuilder().build());
+
+        Dictionary dictionary = value.dictionary();
+        assertNull(dictionary.get("a"));
+        assertNull(dictionary.get(1));
+    }
+
+    @Test
+    public void test_key_index_duplicate_keys_first_wins()
+            throws Exception {
+
+        // {"a": "A", "a": "B"}
+        SimplifiedTestParser parser = buildParser("0xa26161614161616142");
+        Value value = parser.read(parser.newQueryBuilder().build());
+
+        Dictionary dictionary = value.dictionary();
+        assertEquals("A", dictionary.get("a").string());
+    }
+
     @Test
     public void test_stream_multi_element_dictionary_foreach()
             throws Exception {
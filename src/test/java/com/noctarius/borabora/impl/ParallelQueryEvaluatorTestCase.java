@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.AbstractTestCase;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.Output;
+import com.noctarius.borabora.Parser;
+import com.noctarius.borabora.Query;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.Writer;
+import com.noctarius.borabora.WrongTypeException;
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.spi.query.TypeSpecs;
+import com.noctarius.borabora.spi.io.CompositeBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelQueryEvaluatorTestCase
+        extends AbstractTestCase {
+
+    private static final int ITEMS = 5000;
+
+    @Test
+    public void test_parallel_ordered() {
+        Input input = numbers(ITEMS);
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        parser.readParallel(input, parser.newQueryBuilder().multiStream().build(), values::add, true);
+
+        assertEquals(ITEMS, values.size());
+        for (int i = 0; i < ITEMS; i++) {
+            assertEqualsNumber(i, values.get(i).number());
+        }
+    }
+
+    @Test
+    public void test_parallel_unordered_executor() {
+        Input input = numbers(ITEMS);
+        Parser parser = Parser.newParser();
+        boolean[] seen = new boolean[ITEMS];
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            parser.readParallel(input, parser.newQueryBuilder().multiStream().build(), (value) -> {
+                seen[value.number().intValue()] = true;
+                count.incrementAndGet();
+            }, false, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(ITEMS, count.get());
+        for (boolean s : seen) {
+            assertTrue(s);
+        }
+    }
+
+    @Test
+    public void test_parallel_segments_in_flight_bounded() {
+        Input input = numbers(ITEMS * 10);
+        Parser parser = Parser.newParser();
+        AtomicInteger submitted = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                submitted.incrementAndGet();
+                super.execute(command);
+            }
+        };
+        int[] maxAhead = new int[1];
+        try {
+            parser.readParallel(input, parser.newQueryBuilder().multiStream().build(), (value) -> {
+                int segment = value.number().intValue() / 1024;
+                maxAhead[0] = Math.max(maxAhead[0], submitted.get() - segment);
+            }, true, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Single worker thread allows 4 segments in flight, including the one currently drained
+        assertEquals(49, submitted.get());
+        assertTrue(maxAhead[0] <= 4);
+    }
+
+    @Test
+    public void test_parallel_single_stream_query_sequential() {
+        Input input = numbers(ITEMS);
+        Parser parser = Parser.newParser();
+        List<Value> values = new ArrayList<>();
+        parser.readParallel(input, parser.newQueryBuilder().stream(4321).build(), values::add, true);
+
+        assertEquals(1, values.size());
+        assertEqualsNumber(4321, values.get(0).number());
+    }
+
+    @Test(expected = WrongTypeException.class)
+    public void fail_parallel_segment_exception_rethrown() {
+        Input input = numbers(ITEMS);
+        Parser parser = Parser.newParser();
+        parser.readParallel(input, parser.newQueryBuilder().multiStream().sequence(0).build(), (v) -> {
+        }, true);
+    }
+
+    @Test
+    public void test_parallel_unordered_no_delivery_after_failure()
+            throws Exception {
+
+        // First item is not a number and fails the first segment, the others deliver slowly
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer));
+        graphBuilder.putString("fail");
+        for (int i = 1; i < ITEMS; i++) {
+            graphBuilder.putNumber(i);
+        }
+        graphBuilder.finishStream();
+        Input input = Input.fromCompositeBuffer(compositeBuffer);
+
+        Parser parser = Parser.newParser();
+        Query query = parser.newQueryBuilder().multiStream().requireType(TypeSpecs.Number).build();
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicInteger lateValues = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            parser.readParallel(input, query, (value) -> {
+                if (failed.get()) {
+                    lateValues.incrementAndGet();
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }, false, executor);
+            fail("WrongTypeException expected");
+        } catch (WrongTypeException e) {
+            failed.set(true);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, lateValues.get());
+    }
+
+    @Test
+    public void test_isparallelizable() {
+        Parser parser = Parser.newParser();
+        Query multiStream = parser.newQueryBuilder().multiStream().build();
+        Query singleStream = parser.newQueryBuilder().stream(0).build();
+        assertTrue(ParallelQueryEvaluator.isParallelizable(multiStream.newQueryPipeline()));
+        assertFalse(ParallelQueryEvaluator.isParallelizable(singleStream.newQueryPipeline()));
+    }
+
+    private static Input numbers(int count) {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer();
+        GraphBuilder graphBuilder = Writer.newWriter().newGraphBuilder(Output.toCompositeBuffer(compositeBuffer));
+        for (int i = 0; i < count; i++) {
+            graphBuilder.putNumber(i);
+        }
+        graphBuilder.finishStream();
+        return Input.fromCompositeBuffer(compositeBuffer);
+    }
+
+}
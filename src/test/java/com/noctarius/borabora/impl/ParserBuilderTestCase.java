@@ -37,6 +37,7 @@ import com.noctarius.borabora.spi.query.pipeline.QueryStage;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -46,7 +47,10 @@ import static com.noctarius.borabora.impl.WriterBuilderTestCase.TBF_1;
 import static com.noctarius.borabora.impl.WriterBuilderTestCase.TBF_2;
 import static com.noctarius.borabora.impl.WriterBuilderTestCase.TBF_3;
 import static com.noctarius.borabora.impl.WriterBuilderTestCase.TBF_4;
+import static com.noctarius.borabora.spi.io.Constants.EMPTY_QUERY_CONSUMER;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class ParserBuilderTestCase {
@@ -70,6 +74,45 @@ public class ParserBuilderTestCase {
         assertEquals(PIPELINE_STAGE_FACTORY, extractPipelineStageFactory(parser));
     }
 
+    @Test
+    public void test_withquerycache() {
+        ParserBuilder parserBuilder = new ParserBuilderImpl();
+        parserBuilder.withQueryCache(100);
+        Parser parser = parserBuilder.build();
+        assertEquals(100, parser.queryCacheStatistics().maxSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_withquerycache_not_positive() {
+        new ParserBuilderImpl().withQueryCache(0);
+    }
+
+    @Test
+    public void test_withstringcache() {
+        ParserBuilder parserBuilder = new ParserBuilderImpl();
+        parserBuilder.withStringCache(100, 16);
+        Parser parser = parserBuilder.build();
+        QueryContextFactory queryContextFactory = extractQueryContextFactory(parser);
+        assertNotEquals(DefaultQueryContextFactory.INSTANCE, queryContextFactory);
+        assertNotNull(queryContextFactory.newQueryContext(Input.fromByteArray(new byte[0]), EMPTY_QUERY_CONSUMER, //
+                Collections.emptyList(), BinaryProjectionStrategy.INSTANCE).stringCache());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_withstringcache_capacity_not_positive() {
+        new ParserBuilderImpl().withStringCache(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_withstringcache_maxstringlength_not_positive() {
+        new ParserBuilderImpl().withStringCache(16, 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_withstringcache_custom_querycontextfactory() {
+        new ParserBuilderImpl().withStringCache(16).withQueryContextFactory(QUERY_CONTEXT_FACTORY).build();
+    }
+
     @Test
     public void test_withquerycontextfactory() {
         ParserBuilder parserBuilder = new ParserBuilderImpl();
@@ -20,6 +20,7 @@ import com.noctarius.borabora.AbstractTestCase;
 import com.noctarius.borabora.Input;
 import com.noctarius.borabora.Parser;
 import com.noctarius.borabora.Query;
+import com.noctarius.borabora.QueryCacheStatistics;
 import com.noctarius.borabora.QueryParserException;
 import com.noctarius.borabora.Value;
 import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
@@ -31,6 +32,8 @@ import java.util.List;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -151,4 +154,82 @@ public class ParserImplTestCase
         assertArrayEquals(expected2, actual2);
     }
 
+    @Test
+    public void test_query_cache_disabled() {
+        Parser parser = Parser.newParser();
+        Query query1 = parser.prepareQuery("#");
+        Query query2 = parser.prepareQuery("#");
+        assertNotSame(query1, query2);
+
+        QueryCacheStatistics statistics = parser.queryCacheStatistics();
+        assertEquals(0, statistics.hits());
+        assertEquals(0, statistics.misses());
+        assertEquals(0, statistics.evictions());
+        assertEquals(0, statistics.size());
+        assertEquals(0, statistics.maxSize());
+    }
+
+    @Test
+    public void test_query_cache_hit() {
+        Parser parser = Parser.newBuilder().withQueryCache(10).build();
+        Query query1 = parser.prepareQuery("#");
+        Query query2 = parser.prepareQuery("#");
+        assertSame(query1, query2);
+
+        QueryCacheStatistics statistics = parser.queryCacheStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(0, statistics.evictions());
+        assertEquals(1, statistics.size());
+        assertEquals(10, statistics.maxSize());
+    }
+
+    @Test
+    public void test_query_cache_read_extract() {
+        Input input = Input.fromByteArray(new byte[]{(byte) 0x1});
+        Parser parser = Parser.newBuilder().withQueryCache(10).build();
+        parser.read(input, "#");
+        parser.read(input, "#", (value) -> {
+        });
+        parser.extract(input, "#");
+
+        QueryCacheStatistics statistics = parser.queryCacheStatistics();
+        assertEquals(2, statistics.hits());
+        assertEquals(1, statistics.misses());
+    }
+
+    @Test
+    public void test_query_cache_eviction_lru() {
+        Parser parser = Parser.newBuilder().withQueryCache(2).build();
+        Query query0 = parser.prepareQuery("#0");
+        parser.prepareQuery("#1");
+        // Touch #0 to make #1 the least recently used query
+        parser.prepareQuery("#0");
+        parser.prepareQuery("#2");
+
+        QueryCacheStatistics statistics = parser.queryCacheStatistics();
+        assertEquals(1, statistics.evictions());
+        assertEquals(2, statistics.size());
+
+        assertSame(query0, parser.prepareQuery("#0"));
+        assertEquals(2, statistics.hits());
+        parser.prepareQuery("#1");
+        assertEquals(4, statistics.misses());
+    }
+
+    @Test
+    public void test_query_cache_failure_not_cached() {
+        Parser parser = Parser.newBuilder().withQueryCache(2).build();
+        for (int i = 0; i < 2; i++) {
+            try {
+                parser.prepareQuery("1");
+            } catch (QueryParserException e) {
+                // expected
+            }
+        }
+        QueryCacheStatistics statistics = parser.queryCacheStatistics();
+        assertEquals(2, statistics.misses());
+        assertEquals(0, statistics.size());
+    }
+
 }
@@ -28,6 +28,7 @@ import com.noctarius.borabora.Value;
 import com.noctarius.borabora.ValueTypes;
 import com.noctarius.borabora.Writer;
 import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.builder.encoder.SequenceBuilder;
 import com.noctarius.borabora.spi.query.ObjectProjectionStrategy;
 import org.junit.Assert;
 import org.junit.Test;
@@ -250,7 +251,7 @@ public class SequenceTestCase
     public void sequence_to_array_size_to_large()
             throws Exception {
 
-        Sequence sequence = new SequenceImpl(Long.MAX_VALUE, new long[0][0], //
+        Sequence sequence = new SequenceImpl(Long.MAX_VALUE, 0, //
                 newQueryContext(Input.fromByteArray(new byte[0]), Collections.emptyList(), ObjectProjectionStrategy.INSTANCE));
 
         sequence.toArray();
@@ -441,6 +442,39 @@ public class SequenceTestCase
         assertTrue(entry2.valueType().matches(ValueTypes.Dictionary));
     }
 
+    @Test
+    public void test_sequence_lazy_random_access()
+            throws Exception {
+
+        int size = 5000;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        Writer writer = Writer.newWriter();
+        SequenceBuilder<GraphBuilder> sequenceBuilder = writer.newGraphBuilder(Output.toOutputStream(baos)).putSequence(size);
+        for (int i = 0; i < size; i++) {
+            sequenceBuilder.putNumber(i);
+        }
+        sequenceBuilder.endSequence().finishStream();
+
+        Input input = Input.fromByteArray(baos.toByteArray());
+        Parser parser = Parser.newParser();
+        Sequence sequence = parser.read(input, parser.newQueryBuilder().build()).sequence();
+
+        assertEqualsNumber(0, sequence.get(0).number());
+        assertEqualsNumber(4999, sequence.get(4999).number());
+        assertEqualsNumber(1500, sequence.get(1500).number());
+        for (int i = size - 1; i >= 0; i--) {
+            assertEqualsNumber(i, sequence.get(i).number());
+        }
+        assertNull(sequence.get(size));
+
+        int index = 0;
+        for (Value value : sequence) {
+            assertEqualsNumber(index++, value.number());
+        }
+        assertEquals(size, index);
+    }
+
     @Test
     public void test_sequence_dictionary_indexes()
             throws Exception {
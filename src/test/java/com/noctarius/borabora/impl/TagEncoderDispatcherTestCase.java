@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl;
+
+import com.noctarius.borabora.spi.codec.TagStrategies;
+import com.noctarius.borabora.spi.codec.TagStrategy;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TagEncoderDispatcherTestCase {
+
+    private final TagEncoderDispatcher dispatcher = new TagEncoderDispatcher(Arrays.<TagStrategy>asList(TagStrategies.values()));
+
+    @Test
+    public void test_value_dependent_candidates() {
+        assertSame(TagStrategies.UBigNum, dispatcher.find(BigInteger.ONE));
+        assertSame(TagStrategies.NBigNum, dispatcher.find(BigInteger.valueOf(-1)));
+        assertSame(TagStrategies.UBigNum, dispatcher.find(BigInteger.TEN));
+    }
+
+    @Test
+    public void test_ascii_and_non_ascii_string() {
+        assertSame(TagStrategies.ASCII, dispatcher.find("foo"));
+        assertNull(dispatcher.find("ä"));
+    }
+
+    @Test
+    public void test_subclass_resolution() {
+        assertSame(TagStrategies.DateTime, dispatcher.find(new Date()));
+        assertSame(TagStrategies.DateTime, dispatcher.find(new java.sql.Date(123)));
+        assertSame(TagStrategies.Timestamp, dispatcher.find(new Timestamp(123)));
+        assertSame(TagStrategies.UBigNum, dispatcher.find(new BigInteger("1") {
+        }));
+    }
+
+    @Test
+    public void test_unknown_type_negative_cached() {
+        Object value = new Object();
+        assertNull(dispatcher.find(value));
+        assertNull(dispatcher.find(value));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.impl.query;
+
+import com.noctarius.borabora.AbstractTestCase;
+import com.noctarius.borabora.impl.query.stages.PathQueryStage;
+import com.noctarius.borabora.spi.query.QueryContext;
+import com.noctarius.borabora.spi.query.pipeline.PipelineStage;
+import com.noctarius.borabora.spi.query.pipeline.PipelineStageFactory;
+import com.noctarius.borabora.spi.query.pipeline.QueryPipeline;
+import com.noctarius.borabora.spi.query.pipeline.QueryStage;
+import com.noctarius.borabora.spi.query.pipeline.VisitResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.noctarius.borabora.spi.io.Constants.OFFSET_CODE_NULL;
+import static com.noctarius.borabora.spi.query.pipeline.PipelineStage.NIL;
+import static com.noctarius.borabora.spi.query.pipeline.QueryStage.QUERY_BASE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FlatQueryPipelineTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_printquerygraph() {
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage ps = pipelineStageFactory.newPipelineStage(NIL, NIL, QUERY_BASE);
+        QueryPipeline qp = new FlatQueryPipeline(ps);
+        assertEquals("QUERY_BASE\n", qp.printQueryGraph());
+        assertSame(ps, qp.rootPipelineStage());
+    }
+
+    @Test
+    public void test_equals() {
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage ps1 = pipelineStageFactory.newPipelineStage(NIL, NIL, QUERY_BASE);
+        PipelineStage ps2 = pipelineStageFactory.newPipelineStage(NIL, NIL, null);
+        PipelineStage ps3 = pipelineStageFactory.newPipelineStage(NIL, NIL, QUERY_BASE);
+
+        QueryPipeline qp1 = new FlatQueryPipeline(ps1);
+        QueryPipeline qp2 = new FlatQueryPipeline(ps2);
+        QueryPipeline qp3 = new FlatQueryPipeline(ps3);
+
+        assertTrue(qp1.equals(qp1));
+        assertFalse(qp1.equals(new Object()));
+        assertFalse(qp1.equals(qp2));
+        assertTrue(qp1.equals(qp3));
+        assertEquals(qp1.hashCode(), qp3.hashCode());
+    }
+
+    @Test
+    public void test_evaluation_order_same_as_btree() {
+        List<String> btreeOrder = new ArrayList<>();
+        List<String> flatOrder = new ArrayList<>();
+
+        new QueryPipelineImpl(tree(btreeOrder)).evaluate(null);
+        new FlatQueryPipeline(tree(flatOrder)).evaluate(null);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), btreeOrder);
+        assertEquals(btreeOrder, flatOrder);
+    }
+
+    @Test
+    public void test_exit_stops_siblings() {
+        List<String> order = new ArrayList<>();
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage sibling = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("b", order, VisitResult.Continue));
+        PipelineStage root = pipelineStageFactory.newPipelineStage(NIL, sibling, stage("a", order, VisitResult.Exit));
+
+        new FlatQueryPipeline(root).evaluate(null);
+        assertEquals(Arrays.asList("a"), order);
+    }
+
+    @Test
+    public void test_path_stages_folded() {
+        List<String> order = new ArrayList<>();
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage leaf = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("c", order, VisitResult.Continue));
+        PipelineStage b = pipelineStageFactory.newPipelineStage(leaf, NIL, pathStage("b", order, 2));
+        PipelineStage a = pipelineStageFactory.newPipelineStage(b, NIL, pathStage("a", order, 1));
+
+        QueryContext queryContext = newQueryContext();
+        new FlatQueryPipeline(a).evaluate(queryContext);
+        assertEquals(Arrays.asList("a@0", "b@1", "c"), order);
+        assertEquals(2, queryContext.offset());
+    }
+
+    @Test
+    public void test_path_stages_folded_not_found() {
+        List<String> order = new ArrayList<>();
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage leaf = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("c", order, VisitResult.Continue));
+        PipelineStage b = pipelineStageFactory.newPipelineStage(leaf, NIL, pathStage("b", order, OFFSET_CODE_NULL));
+        PipelineStage sibling = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("d", order, VisitResult.Continue));
+        PipelineStage a = pipelineStageFactory.newPipelineStage(b, sibling, pathStage("a", order, 1));
+
+        QueryContext queryContext = newQueryContext();
+        new FlatQueryPipeline(a).evaluate(queryContext);
+        assertEquals(Arrays.asList("a@0", "b@1", "d"), order);
+    }
+
+    private PipelineStage tree(List<String> order) {
+        // a -> (b -> (c), d), e
+        PipelineStageFactory pipelineStageFactory = BTreeFactories.newPipelineStageFactory();
+        PipelineStage c = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("c", order, VisitResult.Continue));
+        PipelineStage d = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("d", order, VisitResult.Continue));
+        PipelineStage b = pipelineStageFactory.newPipelineStage(c, d, stage("b", order, VisitResult.Continue));
+        PipelineStage e = pipelineStageFactory.newPipelineStage(NIL, NIL, stage("e", order, VisitResult.Continue));
+        return pipelineStageFactory.newPipelineStage(b, e, stage("a", order, VisitResult.Continue));
+    }
+
+    private PathQueryStage pathStage(String name, List<String> order, long resolvedOffset) {
+        return new PathQueryStage() {
+            @Override
+            public long resolveOffset(long offset, QueryContext queryContext) {
+                order.add(name + "@" + offset);
+                return resolvedOffset;
+            }
+
+            @Override
+            public VisitResult evaluate(PipelineStage previousPipelineStage, PipelineStage pipelineStage,
+                                        QueryContext queryContext) {
+
+                throw new AssertionError("Folded path stages must not be evaluated");
+            }
+        };
+    }
+
+    private QueryStage stage(String name, List<String> order, VisitResult visitResult) {
+        return (previousPipelineStage, pipelineStage, queryContext) -> {
+            order.add(name);
+            pipelineStage.visitChildren(queryContext);
+            return visitResult;
+        };
+    }
+
+}
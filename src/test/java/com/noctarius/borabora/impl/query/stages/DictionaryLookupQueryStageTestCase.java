@@ -47,6 +47,14 @@ public class DictionaryLookupQueryStageTestCase
         assertEquals("DIC_LOOKUP[ VALUE_PREDICATE ]", queryStage.toString());
     }
 
+    @Test
+    public void test_equals_constant_keys() {
+        assertEquals(DictionaryLookupQueryStage.stringMatcher("foo"), DictionaryLookupQueryStage.stringMatcher("foo"));
+        assertEquals(DictionaryLookupQueryStage.intMatcher(1).hashCode(), DictionaryLookupQueryStage.intMatcher(1).hashCode());
+        assertNotEquals(DictionaryLookupQueryStage.stringMatcher("foo"), DictionaryLookupQueryStage.stringMatcher("bar"));
+        assertNotEquals(DictionaryLookupQueryStage.intMatcher(1), DictionaryLookupQueryStage.floatMatcher(1));
+    }
+
     @Test(expected = NullPointerException.class)
     public void fail_create_dictionarylookupquerystage() {
         new DictionaryLookupQueryStage(null);
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.spi.builder;
+
+import com.noctarius.borabora.AbstractTestCase;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Output;
+import com.noctarius.borabora.Parser;
+import com.noctarius.borabora.Value;
+import com.noctarius.borabora.Writer;
+import com.noctarius.borabora.builder.encoder.DictionaryBuilder;
+import com.noctarius.borabora.builder.encoder.DictionaryEntryBuilder;
+import com.noctarius.borabora.builder.encoder.GraphBuilder;
+import com.noctarius.borabora.builder.encoder.SequenceBuilder;
+import com.noctarius.borabora.impl.EncoderContextImpl;
+import com.noctarius.borabora.spi.codec.TagStrategy;
+import com.noctarius.borabora.spi.io.Constants;
+import com.noctarius.borabora.spi.io.Encoder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.noctarius.borabora.Predicates.matchString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EncoderContextTestCase
+        extends AbstractTestCase {
+
+    @Test
+    public void test_typed_methods() {
+        assertTyped(ec -> ec.putLong(-1000), (offset, output) -> Encoder.putNumber(-1000, offset, output));
+        assertTyped(ec -> ec.putLong(Long.MAX_VALUE), (offset, output) -> Encoder.putNumber(Long.MAX_VALUE, offset, output));
+        assertTyped(ec -> ec.putFloat(1.5f), (offset, output) -> Encoder.putFloat(1.5f, offset, output));
+        assertTyped(ec -> ec.putDouble(1.1), (offset, output) -> Encoder.putDouble(1.1, offset, output));
+        assertTyped(ec -> ec.putHalfPrecision(1.5f), (offset, output) -> Encoder.putHalfPrecision(1.5f, offset, output));
+        assertTyped(ec -> ec.putBoolean(true), (offset, output) -> Encoder.putBoolean(true, offset, output));
+        assertTyped(ec -> ec.putString("äöü"), (offset, output) -> Encoder.putString("äöü", offset, output));
+        assertTyped(ec -> ec.putAsciiString("foo"), (offset, output) -> Encoder.putAsciiString("foo", offset, output));
+        assertTyped(ec -> ec.putTextString("foo"), (offset, output) -> Encoder.putTextString("foo", offset, output));
+        assertTyped(ec -> ec.putByteString(new byte[]{1, 2}), //
+                (offset, output) -> Encoder.putByteString(new byte[]{1, 2}, offset, output));
+        assertTyped(ec -> ec.putHead(MajorType.Sequence, 3), //
+                (offset, output) -> Encoder.encodeLengthAndValue(MajorType.Sequence, 3, offset, output));
+        assertTyped(ec -> ec.putHead(MajorType.Dictionary, -1), //
+                (offset, output) -> Encoder.encodeLengthAndValue(MajorType.Dictionary, -1, offset, output));
+        assertTyped(ec -> ec.putSemanticTag(32), (offset, output) -> Encoder.putSemanticTag(32, offset, output));
+        assertTyped(EncoderContext::putBreak, (offset, output) -> output.write(offset, (byte) Constants.OPCODE_BREAK_MASK));
+        assertTyped(EncoderContext::encodeNull, Encoder::putNull);
+    }
+
+    @Test
+    public void test_nested_builders_reused() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GraphBuilder graphBuilder = newGraphBuilder(baos);
+
+        SequenceBuilder<GraphBuilder> sequence1 = graphBuilder.putSequence(2);
+        DictionaryBuilder<SequenceBuilder<GraphBuilder>> dictionary1 = sequence1.putDictionary();
+        DictionaryEntryBuilder<SequenceBuilder<GraphBuilder>> entry1 = dictionary1.putEntry();
+        entry1.putString("a").putNumber(1).endEntry();
+        DictionaryEntryBuilder<SequenceBuilder<GraphBuilder>> entry2 = dictionary1.putEntry();
+        entry2.putString("b").putNumber(2).endEntry();
+        dictionary1.endDictionary();
+
+        DictionaryBuilder<SequenceBuilder<GraphBuilder>> dictionary2 = sequence1.putDictionary(1);
+        dictionary2.putEntry().putString("c").putNumber(3).endEntry().endDictionary();
+        sequence1.endSequence();
+
+        SequenceBuilder<GraphBuilder> sequence2 = graphBuilder.putSequence();
+        sequence2.putNumber(4).endSequence();
+        graphBuilder.finishStream();
+
+        assertSame(sequence1, sequence2);
+        assertSame(dictionary1, dictionary2);
+        assertSame(entry1, entry2);
+
+        Parser parser = Parser.newParser();
+        Input input = Input.fromByteArray(baos.toByteArray());
+        Value value = parser.read(input, parser.newQueryBuilder().stream(0).build());
+        assertEquals(2, value.sequence().size());
+        assertEqualsNumber(2, value.sequence().get(0).dictionary().get(matchString("b")).number());
+        assertEqualsNumber(3, value.sequence().get(1).dictionary().get(matchString("c")).number());
+        assertEqualsNumber(4, parser.read(input, parser.newQueryBuilder().stream(1).sequence(0).build()).number());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_reused_sequence_builder_element_count_reset() {
+        GraphBuilder graphBuilder = newGraphBuilder(new ByteArrayOutputStream());
+        graphBuilder.putSequence(1).putNumber(1).endSequence();
+        graphBuilder.putSequence(1).putNumber(1).putNumber(2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fail_reused_entry_builder_state_reset() {
+        GraphBuilder graphBuilder = newGraphBuilder(new ByteArrayOutputStream());
+        DictionaryBuilder<GraphBuilder> dictionary = graphBuilder.putDictionary();
+        dictionary.putEntry().putString("a").putNumber(1).endEntry();
+        dictionary.putEntry().putString("b").endEntry();
+    }
+
+    private static GraphBuilder newGraphBuilder(ByteArrayOutputStream baos) {
+        return Writer.newWriter().newGraphBuilder(Output.toOutputStream(baos));
+    }
+
+    private static void assertTyped(Consumer<EncoderContext> typed, EncoderContext.EncoderFunction expected) {
+        byte[] expectedBytes = encode(output -> {
+            EncoderContext encoderContext = new EncoderContextImpl(output, Collections.<Class<?>, TagStrategy>emptyMap());
+            encoderContext.encode(expected);
+            return encoderContext;
+        });
+        byte[] implBytes = encode(output -> {
+            EncoderContext encoderContext = new EncoderContextImpl(output, Collections.<Class<?>, TagStrategy>emptyMap());
+            typed.accept(encoderContext);
+            return encoderContext;
+        });
+        byte[] defaultBytes = encode(output -> {
+            EncoderContext encoderContext = new DefaultMethodsEncoderContext(output);
+            typed.accept(encoderContext);
+            return encoderContext;
+        });
+        assertArrayEquals(expectedBytes, implBytes);
+        assertArrayEquals(expectedBytes, defaultBytes);
+    }
+
+    private static byte[] encode(Function<Output, EncoderContext> function) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        EncoderContext encoderContext = function.apply(Output.toOutputStream(baos));
+        byte[] result = baos.toByteArray();
+        assertEquals(result.length, encoderContext.offset());
+        return result;
+    }
+
+    private static class DefaultMethodsEncoderContext
+            implements EncoderContext {
+
+        private final Output output;
+        private long offset;
+
+        private DefaultMethodsEncoderContext(Output output) {
+            this.output = output;
+        }
+
+        @Override
+        public Output output() {
+            return output;
+        }
+
+        @Override
+        public long offset() {
+            return offset;
+        }
+
+        @Override
+        public void offset(long offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public long applyEncoder(Object value, long offset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <S> TagStrategy findTagStrategy(Class<S> type) {
+            return null;
+        }
+    }
+
+}
@@ -92,4 +92,25 @@ public class TypeMatchersTestCase {
         assertFalse(TypeMatchers.EncCBOR.test(new Object()));
     }
 
+    @Test
+    public void test_type_ascii() {
+        assertTrue(TypeMatchers.ASCII.testType(String.class));
+        assertFalse(TypeMatchers.ASCII.testType(Object.class));
+        assertFalse(TypeMatchers.ASCII.test("\u00e4"));
+    }
+
+    @Test
+    public void test_type_bignum() {
+        assertTrue(TypeMatchers.UBigNum.testType(BigInteger.class));
+        assertTrue(TypeMatchers.NBigNum.testType(BigInteger.class));
+        assertFalse(TypeMatchers.UBigNum.testType(Long.class));
+    }
+
+    @Test
+    public void test_type_datetime_timestamp() {
+        assertFalse(TypeMatchers.DateTime.testType(Timestamp.class));
+        assertTrue(TypeMatchers.DateTime.testType(java.sql.Date.class));
+        assertTrue(TypeMatchers.Timestamp.testType(Timestamp.class));
+    }
+
 }
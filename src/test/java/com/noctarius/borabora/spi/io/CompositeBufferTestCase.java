@@ -15,6 +15,7 @@
  */
 package com.noctarius.borabora.spi.io;
 
+import com.noctarius.borabora.NoSuchByteException;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
@@ -42,6 +43,52 @@ public class CompositeBufferTestCase {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    public void test_read_random_access() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(16);
+        byte[] expected = randomByteArray(4096);
+        compositeBuffer.write(expected, 0, expected.length);
+
+        Random random = new Random();
+        for (int i = 0; i < 10000; i++) {
+            int offset = random.nextInt(expected.length);
+            assertEquals(expected[offset], compositeBuffer.read(offset));
+        }
+    }
+
+    @Test
+    public void test_chunksize_not_power_of_two() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(10);
+        byte[] expected = randomByteArray(1000);
+        compositeBuffer.write(expected, 0, expected.length);
+        byte[] actual = new byte[expected.length];
+        compositeBuffer.read(actual, 0, actual.length);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void test_write_bytearray_overwrite_existing_chunks() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(16);
+        byte[] expected = randomByteArray(128);
+        compositeBuffer.write(new byte[128], 0, 128);
+        compositeBuffer.write(expected, 0, 64);
+        compositeBuffer.write(expected, 64, 64);
+        // Second write is applied to offsets 64..127 of the buffer
+        System.arraycopy(expected, 0, expected, 64, 64);
+        assertArrayEquals(expected, compositeBuffer.toByteArray());
+    }
+
+    @Test(expected = NoSuchByteException.class)
+    public void fail_read_offset_outside_chunks() {
+        CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(16);
+        compositeBuffer.read(16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_chunksize_not_positive() {
+        CompositeBuffer.newCompositeBuffer(0);
+    }
+
     @Test
     public void test_write_verify_returned_offset() {
         CompositeBuffer compositeBuffer = CompositeBuffer.newCompositeBuffer(16);
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.spi.io;
+
+import com.noctarius.borabora.Dictionary;
+import com.noctarius.borabora.Input;
+import com.noctarius.borabora.Parser;
+import com.noctarius.borabora.Value;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.noctarius.borabora.AbstractTestCase.hexToBytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class StringCacheTestCase {
+
+    @Test
+    public void test_capacity_rounded_to_power_of_two() {
+        assertEquals(256, new StringCache(200).capacity());
+        assertEquals(1, new StringCache(1).capacity());
+        assertEquals(StringCache.DEFAULT_MAX_STRING_LENGTH, new StringCache(16).maxStringLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_capacity_not_positive() {
+        new StringCache(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fail_max_string_length_not_positive() {
+        new StringCache(16, 0);
+    }
+
+    @Test
+    public void test_read_string_canonical() {
+        StringCache stringCache = new StringCache(16);
+        Input input = Input.fromByteArray("foobarfoo".getBytes(StandardCharsets.UTF_8));
+
+        String first = stringCache.readString(input, 0, 3, StandardCharsets.UTF_8);
+        String second = stringCache.readString(input, 6, 3, StandardCharsets.UTF_8);
+        assertEquals("foo", first);
+        assertSame(first, second);
+        assertEquals("bar", stringCache.readString(input, 3, 3, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_read_string_empty() {
+        StringCache stringCache = new StringCache(16);
+        Input input = Input.fromByteArray(new byte[0]);
+        assertEquals("", stringCache.readString(input, 0, 0, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_read_string_too_long_not_cached() {
+        StringCache stringCache = new StringCache(16, 2);
+        Input input = Input.fromByteArray("foofoo".getBytes(StandardCharsets.UTF_8));
+
+        String first = stringCache.readString(input, 0, 3, StandardCharsets.UTF_8);
+        String second = stringCache.readString(input, 3, 3, StandardCharsets.UTF_8);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void test_read_string_collisions_replace_entries() {
+        // A single slot forces all strings to collide
+        StringCache stringCache = new StringCache(1);
+        Input input = Input.fromByteArray("aabbaa".getBytes(StandardCharsets.UTF_8));
+
+        String first = stringCache.readString(input, 0, 2, StandardCharsets.UTF_8);
+        assertEquals("bb", stringCache.readString(input, 2, 2, StandardCharsets.UTF_8));
+        String third = stringCache.readString(input, 4, 2, StandardCharsets.UTF_8);
+        assertEquals(first, third);
+        assertNotSame(first, third);
+    }
+
+    @Test
+    public void test_parser_dictionary_keys_canonical() {
+        Parser parser = Parser.newBuilder().withStringCache(64).build();
+        // [{"foo": 1, "bar": 2}, {"foo": 3, "bar": 4}]
+        Input input = Input.fromByteArray(hexToBytes("82a263666f6f016362617202a263666f6f036362617204"));
+
+        List<String> keys = new ArrayList<>();
+        parser.read(input, parser.prepareQuery("#(0)")).dictionary().keys().forEach(v -> keys.add(v.string()));
+        parser.read(input, parser.prepareQuery("#(1)")).dictionary().keys().forEach(v -> keys.add(v.string()));
+
+        assertEquals(4, keys.size());
+        assertEquals("foo", keys.get(0));
+        assertSame(keys.get(0), keys.get(2));
+        assertSame(keys.get(1), keys.get(3));
+    }
+
+    @Test
+    public void test_parser_without_string_cache() {
+        Parser parser = Parser.newParser();
+        Input input = Input.fromByteArray(hexToBytes("63666f6f"));
+        Value first = parser.read(input, parser.prepareQuery("#"));
+        Value second = parser.read(input, parser.prepareQuery("#"));
+        assertEquals(first.string(), second.string());
+        assertNotSame(first.string(), second.string());
+    }
+
+    @Test
+    public void test_parser_object_projection_keys_canonical() {
+        Parser parser = Parser.newBuilder().withStringCache(64).asObjectProjectionStrategy().build();
+        // [{"foo": 1}, {"foo": 2}]
+        Input input = Input.fromByteArray(hexToBytes("82a163666f6f01a163666f6f02"));
+
+        Value value = parser.read(input, parser.prepareQuery("(a: #(0), b: #(1))"));
+        Dictionary dictionary = value.dictionary();
+        List<String> keys = new ArrayList<>();
+        for (Value entry : dictionary.values()) {
+            entry.dictionary().keys().forEach(v -> keys.add(v.string()));
+        }
+        assertEquals(2, keys.size());
+        assertSame(keys.get(0), keys.get(1));
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016, Christoph Engelbert (aka noctarius) and
+ * contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.noctarius.borabora.spi.io;
+
+import com.noctarius.borabora.MajorType;
+import com.noctarius.borabora.Output;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.noctarius.borabora.spi.io.Constants.TAG_ASCII_STRING;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class StringEncodingTestCase {
+
+    private static final int[] LENGTHS = {0, 1, 7, 8, 9, 23, 24, 255, 256, 65535, 65536};
+
+    @Test
+    public void test_put_string_ascii() {
+        for (int length : LENGTHS) {
+            String value = randomString(length, 0x7f);
+            assertArrayEquals("length " + length, expectedAscii(value), encode(value, Encoder::putString));
+        }
+    }
+
+    @Test
+    public void test_put_string_utf8() {
+        for (int length : LENGTHS) {
+            if (length == 0) {
+                continue;
+            }
+            String value = randomString(length, 0xffff);
+            assertArrayEquals("length " + length, expectedText(value), encode(value, Encoder::putString));
+        }
+    }
+
+    @Test
+    public void test_put_string_mixed() {
+        String value = "foo bar äöü € 😀 ascii tail";
+        assertArrayEquals(expectedText(value), encode(value, Encoder::putString));
+    }
+
+    @Test
+    public void test_put_text_string() {
+        for (int length : LENGTHS) {
+            String value = randomString(length, 0xffff);
+            assertArrayEquals("length " + length, expectedText(value), encode(value, Encoder::putTextString));
+        }
+        assertArrayEquals(expectedText("foo"), encode("foo", Encoder::putTextString));
+    }
+
+    @Test
+    public void test_put_text_string_malformed_surrogates() {
+        String[] values = {"\uD83D", "a\uDE00b", "\uDE00\uD83D", "x\uD83D😀"};
+        for (String value : values) {
+            assertArrayEquals(value, expectedText(value), encode(value, Encoder::putTextString));
+        }
+    }
+
+    @Test
+    public void test_put_ascii_string() {
+        for (int length : LENGTHS) {
+            String value = randomString(length, 0x7f);
+            assertArrayEquals("length " + length, expectedAscii(value), encode(value, Encoder::putAsciiString));
+        }
+    }
+
+    @Test
+    public void test_put_ascii_string_unmappable_replaced() {
+        String[] values = {"fööbar", "a😀b", "\uD83D", "abcdefghij€"};
+        for (String value : values) {
+            assertArrayEquals(value, expectedAscii(value), encode(value, Encoder::putAsciiString));
+        }
+    }
+
+    @Test
+    public void test_put_string_offsets() {
+        String value = "Grüße";
+        byte[] data = new byte[64];
+        long offset = Encoder.putString(value, 10, Output.toByteArray(data));
+        assertEquals(10 + expectedText(value).length, offset);
+    }
+
+    @Test
+    public void test_put_string_output_stream() {
+        String value = randomString(300, 0xffff);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Encoder.putString(value, 0, Output.toOutputStream(baos));
+        assertArrayEquals(expectedText(value), baos.toByteArray());
+    }
+
+    private static byte[] encode(String value, StringWriter stringWriter) {
+        byte[] data = new byte[value.length() * 4 + 16];
+        long length = stringWriter.put(value, 0, Output.toByteArray(data));
+        byte[] result = new byte[(int) length];
+        System.arraycopy(data, 0, result, 0, result.length);
+        return result;
+    }
+
+    private static byte[] expectedText(String value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Encoder.putRaw(value.getBytes(StandardCharsets.UTF_8), MajorType.TextString, 0, Output.toOutputStream(baos));
+        return baos.toByteArray();
+    }
+
+    private static byte[] expectedAscii(String value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Output output = Output.toOutputStream(baos);
+        long offset = Encoder.putSemanticTag(TAG_ASCII_STRING, 0, output);
+        Encoder.putRaw(value.getBytes(StandardCharsets.US_ASCII), MajorType.ByteString, offset, output);
+        return baos.toByteArray();
+    }
+
+    private static String randomString(int length, int maxChar) {
+        Random random = new Random(length);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            char c = (char) (1 + random.nextInt(maxChar));
+            if (Character.isSurrogate(c)) {
+                if (sb.length() + 2 > length) {
+                    continue;
+                }
+                // Only valid surrogate pairs
+                sb.appendCodePoint(0x10000 + random.nextInt(0x100000));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private interface StringWriter {
+        long put(String value, long offset, Output output);
+    }
+
+}